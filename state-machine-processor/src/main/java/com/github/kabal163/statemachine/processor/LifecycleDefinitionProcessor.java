@@ -0,0 +1,280 @@
+package com.github.kabal163.statemachine.processor;
+
+import com.github.kabal163.statemachine.annotation.LifecycleDefinition;
+import com.github.kabal163.statemachine.annotation.TransitionDefinition;
+import com.github.kabal163.statemachine.annotation.TransitionDefinitions;
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.processor.LifecycleModel.TransitionModel;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates implementations of the {@code Lifecycle} interface for the types
+ * annotated with {@link LifecycleDefinition}. The declaration is validated
+ * at compile time: unknown state or event constants, more than one transition
+ * for the same source state and event, conditions and actions of the wrong
+ * states and events are reported as compilation errors.
+ */
+public class LifecycleDefinitionProcessor extends AbstractProcessor {
+
+    private static final String IMPL_SUFFIX = "Impl";
+
+    private Types types;
+    private Elements elements;
+    private Messager messager;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(LifecycleDefinition.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        types = processingEnv.getTypeUtils();
+        elements = processingEnv.getElementUtils();
+        messager = processingEnv.getMessager();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(LifecycleDefinition.class)) {
+            TypeElement type = (TypeElement) element;
+            LifecycleModel model = toModel(type);
+            if (model != null) {
+                write(type, model);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the model of the lifecycle or {@code null} if the declaration is invalid.
+     * All the found problems are reported to the {@link Messager}.
+     */
+    private LifecycleModel toModel(TypeElement type) {
+        AnnotationMirror definition = findAnnotation(type, LifecycleDefinition.class);
+        TypeElement stateType = toEnum(type, definition, "states");
+        TypeElement eventType = toEnum(type, definition, "events");
+        if (stateType == null || eventType == null) {
+            return null;
+        }
+
+        Set<String> states = constantsOf(stateType);
+        Set<String> events = constantsOf(eventType);
+        DeclaredType conditionType = types.getDeclaredType(
+                elements.getTypeElement(Condition.class.getCanonicalName()), stateType.asType(), eventType.asType());
+        DeclaredType actionType = types.getDeclaredType(
+                elements.getTypeElement(Action.class.getCanonicalName()), stateType.asType(), eventType.asType());
+
+        boolean valid = true;
+        Map<String, Integer> beanIndexes = new LinkedHashMap<>();
+        Map<String, Set<String>> declaredEvents = new HashMap<>();
+        List<TransitionModel> transitions = new ArrayList<>();
+        for (AnnotationMirror transition : transitionDefinitions(type)) {
+            String source = stringValue(transition, "source");
+            String target = stringValue(transition, "target");
+            String event = stringValue(transition, "event");
+
+            valid &= checkConstant(type, transition, states, stateType, source);
+            valid &= checkConstant(type, transition, states, stateType, target);
+            valid &= checkConstant(type, transition, events, eventType, event);
+            if (!declaredEvents.computeIfAbsent(source, s -> new HashSet<>()).add(event)) {
+                error(type, transition, "There is more then one transition match! Source state: "
+                        + source + ", event: " + event);
+                valid = false;
+            }
+
+            List<Integer> conditions = new ArrayList<>();
+            for (TypeMirror condition : classValues(transition, "conditions")) {
+                valid &= checkBean(type, transition, condition, conditionType);
+                conditions.add(beanIndexes.computeIfAbsent(condition.toString(), name -> beanIndexes.size()));
+            }
+            List<Integer> actions = new ArrayList<>();
+            for (TypeMirror action : classValues(transition, "actions")) {
+                valid &= checkBean(type, transition, action, actionType);
+                actions.add(beanIndexes.computeIfAbsent(action.toString(), name -> beanIndexes.size()));
+            }
+            transitions.add(new TransitionModel(source, target, event, conditions, actions));
+        }
+        if (!valid) {
+            return null;
+        }
+
+        String name = stringValue(definition, "name");
+        return new LifecycleModel(
+                elements.getPackageOf(type).getQualifiedName().toString(),
+                generatedClassName(type),
+                name.isEmpty() ? type.getQualifiedName().toString() : name,
+                stateType.getQualifiedName().toString(),
+                eventType.getQualifiedName().toString(),
+                new ArrayList<>(beanIndexes.keySet()),
+                beanIndexes.keySet().stream().allMatch(this::isInstantiable),
+                transitions);
+    }
+
+    private List<AnnotationMirror> transitionDefinitions(TypeElement type) {
+        List<AnnotationMirror> result = new ArrayList<>();
+        AnnotationMirror single = findAnnotation(type, TransitionDefinition.class);
+        if (single != null) {
+            result.add(single);
+        }
+        AnnotationMirror container = findAnnotation(type, TransitionDefinitions.class);
+        if (container != null) {
+            for (AnnotationValue value : listValue(container, "value")) {
+                result.add((AnnotationMirror) value.getValue());
+            }
+        }
+        return result;
+    }
+
+    private TypeElement toEnum(TypeElement type, AnnotationMirror definition, String attribute) {
+        TypeMirror value = (TypeMirror) value(definition, attribute).getValue();
+        Element element = types.asElement(value);
+        if (element == null || element.getKind() != ElementKind.ENUM) {
+            error(type, definition, "The " + attribute + " must be an enum: " + value);
+            return null;
+        }
+        return (TypeElement) element;
+    }
+
+    private static Set<String> constantsOf(TypeElement enumType) {
+        return enumType.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(element -> element.getSimpleName().toString())
+                .collect(Collectors.toSet());
+    }
+
+    private boolean checkConstant(TypeElement type,
+                                  AnnotationMirror transition,
+                                  Set<String> constants,
+                                  TypeElement enumType,
+                                  String constant) {
+        if (constants.contains(constant)) {
+            return true;
+        }
+        error(type, transition, "There is no such constant " + constant + " in " + enumType.getQualifiedName());
+        return false;
+    }
+
+    private boolean checkBean(TypeElement type, AnnotationMirror transition, TypeMirror bean, DeclaredType expected) {
+        if (types.isAssignable(bean, expected)) {
+            return true;
+        }
+        error(type, transition, bean + " is not a " + expected);
+        return false;
+    }
+
+    private boolean isInstantiable(String beanType) {
+        TypeElement element = elements.getTypeElement(beanType);
+        if (element.getModifiers().contains(Modifier.ABSTRACT)
+                || element.getKind() != ElementKind.CLASS
+                || !element.getModifiers().contains(Modifier.PUBLIC)
+                || element.getNestingKind().isNested() && !element.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the binary name of the annotated type without the package
+     * where enclosing types are separated by {@code _} and the {@code Impl} suffix.
+     */
+    private String generatedClassName(TypeElement type) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String qualifiedName = type.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return simpleName.replace('.', '_') + IMPL_SUFFIX;
+    }
+
+    private void write(TypeElement type, LifecycleModel model) {
+        String qualifiedName = model.getPackageName().isEmpty()
+                ? model.getClassName()
+                : model.getPackageName() + "." + model.getClassName();
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new LifecycleSourceWriter(model).write());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to generate " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private AnnotationMirror findAnnotation(Element element, Class<?> annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationType.getCanonicalName())) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue value(AnnotationMirror annotation, String attribute) {
+        return elements.getElementValuesWithDefaults(annotation).entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals(attribute))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("There is no attribute " + attribute));
+    }
+
+    private String stringValue(AnnotationMirror annotation, String attribute) {
+        return (String) value(annotation, attribute).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> listValue(AnnotationMirror annotation, String attribute) {
+        return (List<? extends AnnotationValue>) value(annotation, attribute).getValue();
+    }
+
+    private List<TypeMirror> classValues(AnnotationMirror annotation, String attribute) {
+        List<TypeMirror> result = new ArrayList<>();
+        for (AnnotationValue value : listValue(annotation, attribute)) {
+            TypeMirror type = (TypeMirror) value.getValue();
+            if (type.getKind() == TypeKind.DECLARED) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    private void error(Element element, AnnotationMirror annotation, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element, annotation);
+    }
+}
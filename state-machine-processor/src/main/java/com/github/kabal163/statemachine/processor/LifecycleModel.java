@@ -0,0 +1,130 @@
+package com.github.kabal163.statemachine.processor;
+
+import java.util.List;
+
+/**
+ * Lifecycle declared by the {@code LifecycleDefinition} annotation
+ * which is validated and ready to be generated.
+ */
+final class LifecycleModel {
+
+    private final String packageName;
+    private final String className;
+    private final String lifecycleName;
+    private final String stateType;
+    private final String eventType;
+    private final List<String> beanTypes;
+    private final boolean instantiable;
+    private final List<TransitionModel> transitions;
+
+    LifecycleModel(String packageName,
+                   String className,
+                   String lifecycleName,
+                   String stateType,
+                   String eventType,
+                   List<String> beanTypes,
+                   boolean instantiable,
+                   List<TransitionModel> transitions) {
+        this.packageName = packageName;
+        this.className = className;
+        this.lifecycleName = lifecycleName;
+        this.stateType = stateType;
+        this.eventType = eventType;
+        this.beanTypes = beanTypes;
+        this.instantiable = instantiable;
+        this.transitions = transitions;
+    }
+
+    /**
+     * @return package of the generated class, empty string for the default package
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return simple name of the generated class
+     */
+    String getClassName() {
+        return className;
+    }
+
+    String getLifecycleName() {
+        return lifecycleName;
+    }
+
+    /**
+     * @return canonical name of the states enum
+     */
+    String getStateType() {
+        return stateType;
+    }
+
+    /**
+     * @return canonical name of the events enum
+     */
+    String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * @return canonical names of the distinct condition and action classes
+     * in the order of their first declaration
+     */
+    List<String> getBeanTypes() {
+        return beanTypes;
+    }
+
+    /**
+     * @return {@code true} if all condition and action classes
+     * can be created with a public no-args constructor
+     */
+    boolean isInstantiable() {
+        return instantiable;
+    }
+
+    List<TransitionModel> getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Transition declared by the {@code TransitionDefinition} annotation.
+     * Conditions and actions are referenced by indexes of {@link #getBeanTypes()}.
+     */
+    static final class TransitionModel {
+
+        private final String source;
+        private final String target;
+        private final String event;
+        private final List<Integer> conditions;
+        private final List<Integer> actions;
+
+        TransitionModel(String source, String target, String event, List<Integer> conditions, List<Integer> actions) {
+            this.source = source;
+            this.target = target;
+            this.event = event;
+            this.conditions = conditions;
+            this.actions = actions;
+        }
+
+        String getSource() {
+            return source;
+        }
+
+        String getTarget() {
+            return target;
+        }
+
+        String getEvent() {
+            return event;
+        }
+
+        List<Integer> getConditions() {
+            return conditions;
+        }
+
+        List<Integer> getActions() {
+            return actions;
+        }
+    }
+}
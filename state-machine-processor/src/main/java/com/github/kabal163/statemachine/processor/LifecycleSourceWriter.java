@@ -0,0 +1,192 @@
+package com.github.kabal163.statemachine.processor;
+
+import com.github.kabal163.statemachine.processor.LifecycleModel.TransitionModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Writes the source code of the lifecycle described by the {@link LifecycleModel}.
+ * The generated class implements {@code Lifecycle} and creates all the transitions
+ * in its constructor. Transitions are resolved by nested {@code switch} statements
+ * over the source state and the event.
+ */
+final class LifecycleSourceWriter {
+
+    private static final String LIFECYCLE = "com.github.kabal163.statemachine.Lifecycle";
+    private static final String TRANSITION = "com.github.kabal163.statemachine.Transition";
+    private static final String CONDITION = "com.github.kabal163.statemachine.api.Condition";
+    private static final String ACTION = "com.github.kabal163.statemachine.api.Action";
+
+    private final LifecycleModel model;
+    private final String typeArguments;
+    private final StringBuilder out = new StringBuilder();
+
+    LifecycleSourceWriter(LifecycleModel model) {
+        this.model = model;
+        this.typeArguments = "<" + model.getStateType() + ", " + model.getEventType() + ">";
+    }
+
+    String write() {
+        if (!model.getPackageName().isEmpty()) {
+            line(0, "package " + model.getPackageName() + ";");
+            line(0, "");
+        }
+        line(0, "@javax.annotation.processing.Generated(\"" + LifecycleDefinitionProcessor.class.getName() + "\")");
+        line(0, "public final class " + model.getClassName() + " implements " + LIFECYCLE + typeArguments + " {");
+        line(0, "");
+        line(1, "public static final String NAME = \"" + escape(model.getLifecycleName()) + "\";");
+        line(0, "");
+        for (int i = 0; i < model.getTransitions().size(); i++) {
+            line(1, "private final " + TRANSITION + typeArguments + " transition" + i + ";");
+        }
+        line(1, "private final java.util.Set<" + TRANSITION + typeArguments + "> transitions;");
+        line(0, "");
+        writeConstructors();
+        writeGetName();
+        writeGetTransitions();
+        writeGetTransition();
+        line(0, "}");
+
+        return out.toString();
+    }
+
+    private void writeConstructors() {
+        List<String> beanTypes = model.getBeanTypes();
+        String factory = "java.util.function.Function<Class<?>, ?> beans";
+
+        if (beanTypes.isEmpty()) {
+            line(1, "public " + model.getClassName() + "() {");
+            writeInitialization();
+            line(1, "}");
+            line(0, "");
+            line(1, "public " + model.getClassName() + "(" + factory + ") {");
+            line(2, "this();");
+            line(1, "}");
+            line(0, "");
+            return;
+        }
+
+        if (model.isInstantiable()) {
+            line(1, "public " + model.getClassName() + "() {");
+            line(2, "this(" + beanTypes.stream().map(type -> "new " + type + "()").collect(joining(", ")) + ");");
+            line(1, "}");
+            line(0, "");
+        }
+
+        line(1, "public " + model.getClassName() + "(" + factory + ") {");
+        line(2, "this(" + beanTypes.stream().map(type -> "(" + type + ") beans.apply(" + type + ".class)").collect(joining(", ")) + ");");
+        line(1, "}");
+        line(0, "");
+
+        List<String> parameters = new ArrayList<>();
+        for (int i = 0; i < beanTypes.size(); i++) {
+            parameters.add(beanTypes.get(i) + " bean" + i);
+        }
+        line(1, "private " + model.getClassName() + "(" + String.join(", ", parameters) + ") {");
+        writeInitialization();
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeInitialization() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < model.getTransitions().size(); i++) {
+            TransitionModel transition = model.getTransitions().get(i);
+            line(2, "transition" + i + " = new " + TRANSITION + typeArguments + "(");
+            line(4, model.getStateType() + "." + transition.getSource() + ",");
+            line(4, model.getStateType() + "." + transition.getTarget() + ",");
+            line(4, model.getEventType() + "." + transition.getEvent() + ",");
+            line(4, conditions(transition.getConditions()) + ",");
+            line(4, actions(transition.getActions()) + ");");
+            names.add("transition" + i);
+        }
+        String type = TRANSITION + typeArguments;
+        line(2, "transitions = java.util.Collections.unmodifiableSet(new java.util.LinkedHashSet<" + type + ">(java.util.Arrays.<"
+                + type + ">asList(" + String.join(", ", names) + ")));");
+    }
+
+    private String conditions(List<Integer> beans) {
+        String type = CONDITION + typeArguments;
+        if (beans.isEmpty()) {
+            return "java.util.Collections.<" + type + ">emptySet()";
+        }
+        return "new java.util.LinkedHashSet<" + type + ">(java.util.Arrays.<" + type + ">asList(" + beanNames(beans) + "))";
+    }
+
+    private String actions(List<Integer> beans) {
+        String type = ACTION + typeArguments;
+        if (beans.isEmpty()) {
+            return "java.util.Collections.<" + type + ">emptyList()";
+        }
+        return "java.util.Arrays.<" + type + ">asList(" + beanNames(beans) + ")";
+    }
+
+    private static String beanNames(List<Integer> beans) {
+        return beans.stream().map(i -> "bean" + i).collect(joining(", "));
+    }
+
+    private void writeGetName() {
+        line(1, "@Override");
+        line(1, "public String getName() {");
+        line(2, "return NAME;");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeGetTransitions() {
+        line(1, "@Override");
+        line(1, "public java.util.Set<" + TRANSITION + typeArguments + "> getTransitions() {");
+        line(2, "return transitions;");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeGetTransition() {
+        Map<String, Map<String, Integer>> transitionsBySource = new LinkedHashMap<>();
+        for (int i = 0; i < model.getTransitions().size(); i++) {
+            TransitionModel transition = model.getTransitions().get(i);
+            transitionsBySource
+                    .computeIfAbsent(transition.getSource(), source -> new LinkedHashMap<>())
+                    .put(transition.getEvent(), i);
+        }
+
+        line(1, "@Override");
+        line(1, "public " + TRANSITION + typeArguments + " getTransition("
+                + model.getStateType() + " sourceState, " + model.getEventType() + " event) {");
+        line(2, "if (sourceState == null || event == null) {");
+        line(3, "return null;");
+        line(2, "}");
+        line(2, "switch (sourceState) {");
+        for (Map.Entry<String, Map<String, Integer>> source : transitionsBySource.entrySet()) {
+            line(3, "case " + source.getKey() + ":");
+            line(4, "switch (event) {");
+            for (Map.Entry<String, Integer> event : source.getValue().entrySet()) {
+                line(5, "case " + event.getKey() + ":");
+                line(6, "return transition" + event.getValue() + ";");
+            }
+            line(5, "default:");
+            line(6, "return null;");
+            line(4, "}");
+        }
+        line(3, "default:");
+        line(4, "return null;");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void line(int indent, String text) {
+        if (!text.isEmpty()) {
+            out.append("    ".repeat(indent)).append(text);
+        }
+        out.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.kabal163.statemachine.processor;
+
+import com.github.kabal163.statemachine.Lifecycle;
+import com.github.kabal163.statemachine.LifecycleManagerImpl;
+import com.github.kabal163.statemachine.Transition;
+import com.github.kabal163.statemachine.TransitionProviderImpl;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.github.kabal163.statemachine.processor.TestEvent.PAY;
+import static com.github.kabal163.statemachine.processor.TestEvent.SHIP;
+import static com.github.kabal163.statemachine.processor.TestState.NEW;
+import static com.github.kabal163.statemachine.processor.TestState.PAID;
+import static com.github.kabal163.statemachine.processor.TestState.SHIPPED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneratedLifecycleTest {
+
+    @Test
+    @DisplayName("When call generated Lifecycle.getName " +
+            "Then returns the name from LifecycleDefinition")
+    void whenGetName_thenReturnsNameFromDefinition() {
+        assertThat(new TestLifecycleImpl().getName()).isEqualTo(TestLifecycle.NAME);
+    }
+
+    @Test
+    @DisplayName("When call generated Lifecycle.getTransitions " +
+            "Then returns all declared transitions")
+    void whenGetTransitions_thenReturnsAllDeclaredTransitions() {
+        assertThat(new TestLifecycleImpl().getTransitions()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Given declared source state and event " +
+            "When call generated Lifecycle.getTransition " +
+            "Then returns the transition with declared conditions and actions")
+    void givenDeclaredSourceStateAndEvent_whenGetTransition_thenReturnsTransition() {
+        Transition<TestState, TestEvent> actual = new TestLifecycleImpl().getTransition(PAID, SHIP);
+
+        assertThat(actual).isNotNull();
+        assertThat(actual.getSourceState()).isEqualTo(PAID);
+        assertThat(actual.getTargetState()).isEqualTo(SHIPPED);
+        assertThat(actual.getEvent()).isEqualTo(SHIP);
+        assertThat(actual.getConditions()).isEmpty();
+        assertThat(actual.getActions()).hasSize(2);
+        assertThat(actual.getActions().get(0)).isInstanceOf(TestLifecycle.Charge.class);
+        assertThat(actual.getActions().get(1)).isInstanceOf(TestLifecycle.Ship.class);
+    }
+
+    @Test
+    @DisplayName("Given undeclared source state and event " +
+            "When call generated Lifecycle.getTransition " +
+            "Then returns null")
+    void givenUndeclaredSourceStateAndEvent_whenGetTransition_thenReturnsNull() {
+        Lifecycle<TestState, TestEvent> lifecycle = new TestLifecycleImpl();
+
+        assertThat(lifecycle.getTransition(NEW, SHIP)).isNull();
+        assertThat(lifecycle.getTransition(SHIPPED, PAY)).isNull();
+        assertThat(lifecycle.getTransition(null, PAY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given generated lifecycle created by the bean factory " +
+            "When call generated Lifecycle.getTransition " +
+            "Then transitions share the beans returned by the factory")
+    void givenBeanFactory_whenGetTransition_thenTransitionsShareBeans() {
+        TestLifecycle.Charge charge = new TestLifecycle.Charge();
+        Map<Class<?>, Object> beans = Map.of(
+                TestLifecycle.IsPayable.class, new TestLifecycle.IsPayable(),
+                TestLifecycle.Charge.class, charge,
+                TestLifecycle.Ship.class, new TestLifecycle.Ship());
+
+        Lifecycle<TestState, TestEvent> lifecycle = new TestLifecycleImpl(beans::get);
+
+        assertThat(lifecycle.getTransition(NEW, PAY).getActions()).containsExactly(charge);
+        assertThat(lifecycle.getTransition(PAID, SHIP).getActions().get(0)).isSameAs(charge);
+    }
+
+    @Test
+    @DisplayName("Given generated lifecycle registered in TransitionProviderImpl " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then evaluates conditions, executes actions and changes the state")
+    void givenGeneratedLifecycle_whenExecute_thenChangesState() {
+        LifecycleManagerImpl<TestState, TestEvent> lifecycleManager = new LifecycleManagerImpl<>(
+                new TransitionProviderImpl<>(Map.of(TestLifecycleImpl.NAME, new TestLifecycleImpl())));
+        Order order = new Order();
+
+        TransitionResult<TestState, TestEvent> rejected = lifecycleManager.execute(order, PAY, Map.of(TestLifecycle.PAYABLE, false));
+        TransitionResult<TestState, TestEvent> succeeded = lifecycleManager.execute(order, PAY, Map.of(TestLifecycle.PAYABLE, true));
+
+        assertThat(rejected.isSucceeded()).isFalse();
+        assertThat(succeeded.isSucceeded()).isTrue();
+        assertThat(succeeded.getStateContext().getVariable(TestLifecycle.CHARGED, Boolean.class)).isTrue();
+        assertThat(order.getState()).isEqualTo(PAID);
+    }
+
+    static class Order implements StatefulObject<TestState> {
+
+        TestState state = NEW;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String getId() {
+            return "order";
+        }
+
+        @Override
+        public TestState getState() {
+            return state;
+        }
+
+        @Override
+        public void setState(TestState state) {
+            this.state = state;
+        }
+
+        @Override
+        public String getLifecycleName() {
+            return TestLifecycle.NAME;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.kabal163.statemachine.processor;
+
+import com.github.kabal163.statemachine.Lifecycle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LifecycleDefinitionProcessorTest {
+
+    static final String STATES_AND_EVENTS =
+            "enum State { NEW, PAID }\n" +
+            "enum Event { PAY }\n";
+
+    @Test
+    @DisplayName("Given valid lifecycle definition " +
+            "When compile with LifecycleDefinitionProcessor " +
+            "Then generates lifecycle without errors")
+    void givenValidDefinition_whenCompile_thenGeneratesLifecycle() throws IOException {
+        List<String> errors = compile(
+                "@LifecycleDefinition(states = State.class, events = Event.class)\n" +
+                "@TransitionDefinition(source = \"NEW\", target = \"PAID\", event = \"PAY\")\n" +
+                "interface Order {}\n");
+
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given transition with unknown state " +
+            "When compile with LifecycleDefinitionProcessor " +
+            "Then reports compilation error")
+    void givenUnknownState_whenCompile_thenReportsError() throws IOException {
+        List<String> errors = compile(
+                "@LifecycleDefinition(states = State.class, events = Event.class)\n" +
+                "@TransitionDefinition(source = \"NEW\", target = \"SHIPPED\", event = \"PAY\")\n" +
+                "interface Order {}\n");
+
+        assertThat(errors).anyMatch(error -> error.contains("There is no such constant SHIPPED"));
+    }
+
+    @Test
+    @DisplayName("Given two transitions with same source state and event " +
+            "When compile with LifecycleDefinitionProcessor " +
+            "Then reports compilation error")
+    void givenAmbiguousTransitions_whenCompile_thenReportsError() throws IOException {
+        List<String> errors = compile(
+                "@LifecycleDefinition(states = State.class, events = Event.class)\n" +
+                "@TransitionDefinition(source = \"NEW\", target = \"PAID\", event = \"PAY\")\n" +
+                "@TransitionDefinition(source = \"NEW\", target = \"NEW\", event = \"PAY\")\n" +
+                "interface Order {}\n");
+
+        assertThat(errors).anyMatch(error -> error.contains("more then one transition"));
+    }
+
+    @Test
+    @DisplayName("Given condition of another states and events " +
+            "When compile with LifecycleDefinitionProcessor " +
+            "Then reports compilation error")
+    void givenConditionOfAnotherTypes_whenCompile_thenReportsError() throws IOException {
+        List<String> errors = compile(
+                "@LifecycleDefinition(states = State.class, events = Event.class)\n" +
+                "@TransitionDefinition(source = \"NEW\", target = \"PAID\", event = \"PAY\", conditions = Order.Wrong.class)\n" +
+                "interface Order {\n" +
+                "    class Wrong implements Condition<String, String> {\n" +
+                "        public boolean evaluate(StateContext<String, String> context) { return true; }\n" +
+                "    }\n" +
+                "}\n");
+
+        assertThat(errors).anyMatch(error -> error.contains("is not a"));
+    }
+
+    private List<String> compile(String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path output = Files.createTempDirectory("processor-test");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(
+                    locationOf(Lifecycle.class),
+                    locationOf(Nullable.class)));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null,
+                    List.of(new Source("test/Order.java",
+                            "package test;\n" +
+                            "import com.github.kabal163.statemachine.annotation.*;\n" +
+                            "import com.github.kabal163.statemachine.api.*;\n" +
+                            STATES_AND_EVENTS +
+                            source)));
+            task.setProcessors(List.of(new LifecycleDefinitionProcessor()));
+            task.call();
+        }
+
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    private static File locationOf(Class<?> type) {
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Source extends SimpleJavaFileObject {
+
+        final String code;
+
+        Source(String name, String code) {
+            super(URI.create("string:///" + name), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.github.kabal163.statemachine.processor;
+
+public enum TestEvent {
+    PAY,
+    SHIP
+}
@@ -0,0 +1,44 @@
+package com.github.kabal163.statemachine.processor;
+
+import com.github.kabal163.statemachine.annotation.LifecycleDefinition;
+import com.github.kabal163.statemachine.annotation.TransitionDefinition;
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.StateContext;
+
+@LifecycleDefinition(name = TestLifecycle.NAME, states = TestState.class, events = TestEvent.class)
+@TransitionDefinition(source = "NEW", target = "PAID", event = "PAY",
+        conditions = TestLifecycle.IsPayable.class, actions = TestLifecycle.Charge.class)
+@TransitionDefinition(source = "PAID", target = "SHIPPED", event = "SHIP",
+        actions = {TestLifecycle.Charge.class, TestLifecycle.Ship.class})
+public interface TestLifecycle {
+
+    String NAME = "order";
+    String PAYABLE = "payable";
+    String CHARGED = "charged";
+    String SHIPPED = "shipped";
+
+    class IsPayable implements Condition<TestState, TestEvent> {
+
+        @Override
+        public boolean evaluate(StateContext<TestState, TestEvent> context) {
+            return context.getVariable(PAYABLE, Boolean.class);
+        }
+    }
+
+    class Charge implements Action<TestState, TestEvent> {
+
+        @Override
+        public void execute(StateContext<TestState, TestEvent> context) {
+            context.putVariable(CHARGED, true);
+        }
+    }
+
+    class Ship implements Action<TestState, TestEvent> {
+
+        @Override
+        public void execute(StateContext<TestState, TestEvent> context) {
+            context.putVariable(SHIPPED, true);
+        }
+    }
+}
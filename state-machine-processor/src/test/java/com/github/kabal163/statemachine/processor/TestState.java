@@ -0,0 +1,7 @@
+package com.github.kabal163.statemachine.processor;
+
+public enum TestState {
+    NEW,
+    PAID,
+    SHIPPED
+}
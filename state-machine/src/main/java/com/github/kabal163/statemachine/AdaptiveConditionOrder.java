@@ -0,0 +1,121 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.StateContext;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Evaluates conditions of a transition in the order which is adjusted at runtime.
+ * A sample of evaluations is measured: how long each condition takes and how often
+ * it rejects the transition. Periodically the conditions are sorted by the expected
+ * cost of a rejection ({@code average time / rejection probability}), so the cheapest
+ * and the most selective condition short-circuits first.
+ * <p>
+ * Statistics are approximate by design: counters are updated without locks
+ * and halved after each reordering in order to follow the changes of the workload.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
+final class AdaptiveConditionOrder<S, E> {
+
+    /**
+     * One of {@code SAMPLE_RATE} evaluations is measured.
+     */
+    static final int SAMPLE_RATE = 16;
+
+    /**
+     * Conditions are reordered each {@code REORDER_PERIOD} measured evaluations.
+     */
+    static final int REORDER_PERIOD = 256;
+
+    private final Condition<S, E>[] conditions;
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray rejections;
+    private final AtomicLongArray nanos;
+    private final AtomicLong samples = new AtomicLong();
+
+    private volatile Condition<S, E>[] order;
+
+    AdaptiveConditionOrder(Condition<S, E>[] conditions) {
+        this.conditions = conditions;
+        this.order = conditions;
+        this.evaluations = new AtomicLongArray(conditions.length);
+        this.rejections = new AtomicLongArray(conditions.length);
+        this.nanos = new AtomicLongArray(conditions.length);
+    }
+
+    /**
+     * @return true if all conditions are met
+     */
+    boolean evaluate(StateContext<S, E> context) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            for (Condition<S, E> condition : order) {
+                if (!condition.evaluate(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return evaluateSampled(context);
+    }
+
+    /**
+     * @return conditions in the current order of evaluation
+     */
+    Condition<S, E>[] getOrder() {
+        return order.clone();
+    }
+
+    private boolean evaluateSampled(StateContext<S, E> context) {
+        boolean result = true;
+        for (Condition<S, E> condition : order) {
+            int index = indexOf(condition);
+            long start = System.nanoTime();
+            boolean met = condition.evaluate(context);
+            nanos.addAndGet(index, System.nanoTime() - start);
+            evaluations.incrementAndGet(index);
+            if (!met) {
+                rejections.incrementAndGet(index);
+                result = false;
+                break;
+            }
+        }
+        if (samples.incrementAndGet() % REORDER_PERIOD == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    private synchronized void reorder() {
+        double[] scores = new double[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            long evaluated = evaluations.get(i);
+            double averageNanos = (nanos.get(i) + 1.0) / (evaluated + 1.0);
+            double rejectionProbability = (rejections.get(i) + 1.0) / (evaluated + 2.0);
+            scores[i] = averageNanos / rejectionProbability;
+
+            evaluations.set(i, evaluated / 2);
+            rejections.set(i, rejections.get(i) / 2);
+            nanos.set(i, nanos.get(i) / 2);
+        }
+
+        Condition<S, E>[] reordered = conditions.clone();
+        Arrays.sort(reordered, Comparator.comparingDouble(condition -> scores[indexOf(condition)]));
+        order = reordered;
+    }
+
+    private int indexOf(Condition<S, E> condition) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i] == condition) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unknown condition: " + condition);
+    }
+}
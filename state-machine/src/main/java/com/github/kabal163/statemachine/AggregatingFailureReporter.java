@@ -0,0 +1,283 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FailureReporter} which aggregates identical failures over a window and
+ * logs a summary with their counts at the end of each window. Failures are identical
+ * if they have the same kind, lifecycle, source state, event and exception type.
+ * The first occurrence of each failure in a window is logged immediately with the stack trace,
+ * the next ones are only counted, so a failure storm produces a bounded number of log lines.
+ * <p>
+ * The counters are dropped after each summary, so the failures which stopped happening
+ * don't occupy memory. The number of distinct failures counted in a window is limited,
+ * the failures which don't fit are counted together and are not logged one by one.
+ * The keys of the failures are looked up with a per-thread probe, so a repeated failure
+ * doesn't allocate.
+ * <p>
+ * The summaries are logged by a daemon thread which is stopped by {@link #close()}.
+ * The remaining counts are logged on close.
+ */
+public class AggregatingFailureReporter implements FailureReporter, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregatingFailureReporter.class);
+
+    /**
+     * The default limit of distinct failures counted in a window
+     */
+    public static final int DEFAULT_MAX_FAILURES = 1024;
+
+    private static final ThreadLocal<FailureKey> PROBE = ThreadLocal.withInitial(FailureKey::new);
+
+    private final int maxFailures;
+    private final LongAdder overflow = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+    private volatile Map<FailureKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counts up to {@link #DEFAULT_MAX_FAILURES} distinct failures in a window.
+     *
+     * @param window the period of the summaries
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public AggregatingFailureReporter(Duration window) {
+        this(window, DEFAULT_MAX_FAILURES);
+    }
+
+    /**
+     * @param window      the period of the summaries
+     * @param maxFailures the limit of distinct failures counted in a window
+     * @throws IllegalArgumentException if the window or the limit is not positive
+     */
+    public AggregatingFailureReporter(Duration window, int maxFailures) {
+        Objects.requireNonNull(window, "window must not be null!");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive!");
+        }
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("maxFailures must be positive!");
+        }
+        this.maxFailures = maxFailures;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "state-machine-failure-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowNanos = window.toNanos();
+        scheduler.scheduleAtFixedRate(this::logSummary, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void transitionFailed(@Nullable String lifecycleName,
+                                 Transition<?, ?> transition,
+                                 Object event,
+                                 @Nullable Object id,
+                                 Exception exception) {
+        if (increment("Transition failed", lifecycleName, transition.getSourceState(), event, exception.getClass())) {
+            log.error("Error while transition from {} to {} with event {}; id: {}. " +
+                            "Next identical failures are reported in summaries",
+                    transition.getSourceState(),
+                    transition.getTargetState(),
+                    event,
+                    id,
+                    exception);
+        }
+    }
+
+    @Override
+    public void transitionNotFound(@Nullable String lifecycleName,
+                                   @Nullable Object sourceState,
+                                   Object event,
+                                   @Nullable Object id) {
+        increment("Transition not found", lifecycleName, sourceState, event, null);
+    }
+
+    @Override
+    public void transitionAmbiguous(@Nullable String lifecycleName,
+                                    @Nullable Object sourceState,
+                                    Object event,
+                                    @Nullable Object id,
+                                    AmbiguousTransitionException exception) {
+        if (increment("Transition ambiguous", lifecycleName, sourceState, event, exception.getClass())) {
+            log.error("There are more than one matching transitions for source state: {} and event: {}, id: {}. " +
+                            "Next identical failures are reported in summaries",
+                    sourceState,
+                    event,
+                    id,
+                    exception);
+        }
+    }
+
+    @Override
+    public void lifecycleNotFound(@Nullable String lifecycleName) {
+        increment("Lifecycle not found", lifecycleName, null, null, null);
+    }
+
+    @Override
+    public void eventChainTruncated(@Nullable String lifecycleName, @Nullable Object id, int limit, int discarded) {
+        increment("Event chain truncated", lifecycleName, null, null, null);
+    }
+
+    @Override
+    public void eventFailed(@Nullable String lifecycleName, Object event, @Nullable Object id, Exception exception) {
+        if (increment("Event failed", lifecycleName, null, event, exception.getClass())) {
+            log.error("Unable to process the event {}; id: {}. " +
+                            "Next identical failures are reported in summaries",
+                    event,
+                    id,
+                    exception);
+        }
+    }
+
+    /**
+     * Stops the summaries and logs the remaining counts.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        logSummary();
+    }
+
+    /**
+     * Replaces the counters with the empty ones.
+     *
+     * @return the summary lines of the failures which happened since the previous call
+     */
+    List<String> summarize() {
+        Map<FailureKey, LongAdder> window = counters;
+        counters = new ConcurrentHashMap<>();
+
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<FailureKey, LongAdder> entry : window.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                lines.add(entry.getKey() + ": " + count + " times");
+            }
+        }
+        long overflowCount = overflow.sumThenReset();
+        if (overflowCount > 0) {
+            lines.add("Failures over the limit of " + maxFailures + " distinct failures: " + overflowCount + " times");
+        }
+        return lines;
+    }
+
+    /**
+     * @return true if the failure happened for the first time in the window
+     */
+    private boolean increment(String kind,
+                              @Nullable String lifecycleName,
+                              @Nullable Object sourceState,
+                              @Nullable Object event,
+                              @Nullable Class<?> exceptionType) {
+        Map<FailureKey, LongAdder> window = counters;
+        FailureKey probe = PROBE.get().set(kind, lifecycleName, sourceState, event, exceptionType);
+        LongAdder counter = window.get(probe);
+        if (counter == null) {
+            if (window.size() >= maxFailures) {
+                overflow.increment();
+                return false;
+            }
+            LongAdder created = new LongAdder();
+            counter = window.putIfAbsent(probe.copy(), created);
+            if (counter == null) {
+                created.increment();
+                return true;
+            }
+        }
+        counter.increment();
+        return false;
+    }
+
+    private void logSummary() {
+        try {
+            for (String line : summarize()) {
+                log.error(line);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to log the summary of failures", e);
+        }
+    }
+
+    /**
+     * The keys stored in the counters are never changed,
+     * only the per-thread probes are reused for the lookups.
+     */
+    private static final class FailureKey {
+        private String kind;
+        @Nullable
+        private String lifecycleName;
+        @Nullable
+        private Object sourceState;
+        @Nullable
+        private Object event;
+        @Nullable
+        private Class<?> exceptionType;
+
+        FailureKey set(String kind,
+                       @Nullable String lifecycleName,
+                       @Nullable Object sourceState,
+                       @Nullable Object event,
+                       @Nullable Class<?> exceptionType) {
+            this.kind = kind;
+            this.lifecycleName = lifecycleName;
+            this.sourceState = sourceState;
+            this.event = event;
+            this.exceptionType = exceptionType;
+            return this;
+        }
+
+        FailureKey copy() {
+            return new FailureKey().set(kind, lifecycleName, sourceState, event, exceptionType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FailureKey)) {
+                return false;
+            }
+            FailureKey that = (FailureKey) o;
+            return kind.equals(that.kind)
+                    && Objects.equals(lifecycleName, that.lifecycleName)
+                    && Objects.equals(sourceState, that.sourceState)
+                    && Objects.equals(event, that.event)
+                    && exceptionType == that.exceptionType;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = kind.hashCode();
+            result = 31 * result + Objects.hashCode(lifecycleName);
+            result = 31 * result + Objects.hashCode(sourceState);
+            result = 31 * result + Objects.hashCode(event);
+            result = 31 * result + Objects.hashCode(exceptionType);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " {lifecycle=" + lifecycleName
+                    + ", state=" + sourceState
+                    + ", event=" + event
+                    + (exceptionType == null ? "" : ", exception=" + exceptionType.getName())
+                    + "}";
+        }
+    }
+}
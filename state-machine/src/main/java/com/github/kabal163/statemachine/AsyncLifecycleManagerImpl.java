@@ -0,0 +1,77 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.AsyncLifecycleManager;
+import com.github.kabal163.statemachine.api.LifecycleManager;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Executes transitions by the {@link LifecycleManager lifecycle manager} on the executor.
+ * In order to have many in-flight transitions with blocking actions use
+ * the {@link VirtualThreadExecutors#newVirtualThreadPerTaskExecutor() virtual thread per task executor}
+ * when running on Java 21 or later. If the lifecycle manager is {@link LifecycleManagerImpl}
+ * then the {@link com.github.kabal163.statemachine.api.AsyncAction async actions} are not
+ * waited for by the executor's threads, see {@link LifecycleManagerImpl#executeAsync}
+ * and {@link LifecycleManagerImpl#tryExecuteAsync}.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public class AsyncLifecycleManagerImpl<S, E> implements AsyncLifecycleManager<S, E> {
+
+    private final LifecycleManager<S, E> lifecycleManager;
+    private final Executor executor;
+
+    public AsyncLifecycleManagerImpl(LifecycleManager<S, E> lifecycleManager, Executor executor) {
+        Objects.requireNonNull(lifecycleManager, "lifecycleManager must not be null!");
+        Objects.requireNonNull(executor, "executor must not be null!");
+
+        this.lifecycleManager = lifecycleManager;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject, E event) {
+        return execute(statefulObject, event, emptyMap());
+    }
+
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject,
+                                                             E event,
+                                                             Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        if (lifecycleManager instanceof LifecycleManagerImpl) {
+            LifecycleManagerImpl<S, E> lifecycleManagerImpl = (LifecycleManagerImpl<S, E>) lifecycleManager;
+            return CompletableFuture.supplyAsync(() -> lifecycleManagerImpl.executeAsync(statefulObject, event, variables), executor)
+                    .thenCompose(Function.identity());
+        }
+        return CompletableFuture.supplyAsync(() -> lifecycleManager.execute(statefulObject, event, variables), executor);
+    }
+
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> tryExecute(StatefulObject<S> statefulObject,
+                                                                E event,
+                                                                Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        if (lifecycleManager instanceof LifecycleManagerImpl) {
+            LifecycleManagerImpl<S, E> lifecycleManagerImpl = (LifecycleManagerImpl<S, E>) lifecycleManager;
+            return CompletableFuture.supplyAsync(() -> lifecycleManagerImpl.tryExecuteAsync(statefulObject, event, variables), executor)
+                    .thenCompose(Function.identity());
+        }
+        return CompletableFuture.supplyAsync(() -> lifecycleManager.tryExecute(statefulObject, event, variables), executor);
+    }
+}
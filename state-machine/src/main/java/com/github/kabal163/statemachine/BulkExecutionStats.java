@@ -0,0 +1,74 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+
+/**
+ * Statistics of a {@link LifecycleManagerImpl#executeAllParallel bulk execution}.
+ * Each chunk of the bulk execution counts its own results, and the statistics
+ * of the chunks are merged when they are joined, so the counting is not contended.
+ */
+public final class BulkExecutionStats {
+
+    private long succeeded;
+    private long rejected;
+    private long failed;
+
+    BulkExecutionStats() {
+    }
+
+    void record(TransitionResult<?, ?> result) {
+        TransitionStatus status = result.getStatus();
+        if (status == TransitionStatus.OK) {
+            succeeded++;
+        } else if (status == TransitionStatus.GUARD_REJECTED) {
+            rejected++;
+        } else {
+            failed++;
+        }
+    }
+
+    BulkExecutionStats merge(BulkExecutionStats other) {
+        succeeded += other.succeeded;
+        rejected += other.rejected;
+        failed += other.failed;
+        return this;
+    }
+
+    /**
+     * @return the number of the executed transitions
+     */
+    public long getTotal() {
+        return succeeded + rejected + failed;
+    }
+
+    /**
+     * @return the number of the succeeded transitions
+     */
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return the number of the transitions rejected by conditions
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return the number of the transitions failed with an exception
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkExecutionStats{" +
+                "succeeded=" + succeeded +
+                ", rejected=" + rejected +
+                ", failed=" + failed +
+                '}';
+    }
+}
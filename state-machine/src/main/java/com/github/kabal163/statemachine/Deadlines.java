@@ -0,0 +1,124 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Enforces the deadlines of the {@link com.github.kabal163.statemachine.api.AsyncAction async actions}.
+ * All deadlines are tracked by a single shared daemon timer thread, so a deadline costs
+ * a scheduled task instead of a thread per call.
+ * <p>
+ * Only the asynchronous work is bounded: when the deadline expires its stage is cancelled
+ * and the caller is released, either by the timed wait or by the future racing against the timer.
+ * The synchronous work is never interrupted, because the thread executing it belongs
+ * to the caller: interrupting it would close the NIO channels it uses, wouldn't release it
+ * from the I/O which ignores interrupts and couldn't be told apart from an interrupt of the caller.
+ */
+final class Deadlines {
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "state-machine-deadline-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private Deadlines() {
+    }
+
+    /**
+     * Waits for the asynchronous work and cancels it if the deadline expires first.
+     * If the waiting thread is interrupted then the work is cancelled and the interrupt is kept.
+     *
+     * @param future           the asynchronous work
+     * @param timeoutNanos     the time left until the deadline
+     * @param timeoutException creates the exception thrown if the deadline expires
+     * @throws TransitionTimeoutException if the deadline expires
+     * @throws CompletionException        if the thread is interrupted or the work fails with a checked exception
+     */
+    static void await(CompletableFuture<?> future,
+                      long timeoutNanos,
+                      Supplier<TransitionTimeoutException> timeoutException) {
+        try {
+            future.get(timeoutNanos, NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw timeoutException.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * @param future           the asynchronous work
+     * @param timeoutNanos     the timeout of the work
+     * @param timeoutException creates the exception the returned future is completed with if the deadline expires
+     * @return the future which is completed as the given one or exceptionally if the deadline expires first
+     */
+    static <T> CompletableFuture<T> within(CompletableFuture<T> future,
+                                           long timeoutNanos,
+                                           Supplier<TransitionTimeoutException> timeoutException) {
+        if (future.isDone()) {
+            return future;
+        }
+
+        CompletableFuture<T> result = expiring(timeoutNanos, timeoutException);
+        result.whenComplete((value, exception) -> future.cancel(true));
+        complete(result, future);
+        return result;
+    }
+
+    /**
+     * Creates the future which is completed exceptionally when the deadline expires, unless it's
+     * completed before. The work bounded by the deadline should complete the future when it's done,
+     * then the timer is cancelled. The pending stages of the work should be cancelled when the future
+     * completes, and no more stages should be started once it's done.
+     *
+     * @param timeoutNanos     the timeout of the work
+     * @param timeoutException creates the exception the future is completed with if the deadline expires
+     * @return the future bounded by the deadline
+     */
+    static <T> CompletableFuture<T> expiring(long timeoutNanos, Supplier<TransitionTimeoutException> timeoutException) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timer = TIMER.schedule(() -> result.completeExceptionally(timeoutException.get()),
+                timeoutNanos, NANOSECONDS);
+        result.whenComplete((value, exception) -> timer.cancel(false));
+        return result;
+    }
+
+    /**
+     * Completes the target as the source when the source is done.
+     */
+    static <T> void complete(CompletableFuture<T> target, CompletableFuture<? extends T> source) {
+        source.whenComplete((value, exception) -> {
+            if (exception == null) {
+                target.complete(value);
+            } else {
+                target.completeExceptionally(exception);
+            }
+        });
+    }
+}
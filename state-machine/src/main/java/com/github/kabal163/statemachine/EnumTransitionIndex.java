@@ -0,0 +1,92 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+
+/**
+ * {@link TransitionIndex} for lifecycles which states and events are enums.
+ * Transitions are kept in a table addressed by the ordinals of the source
+ * state and the event, so a lookup is two array loads without any hashing.
+ * Rows are allocated only for the states which have outgoing transitions.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+final class EnumTransitionIndex<S, E> implements TransitionIndex<S, E> {
+
+    private final Class<?> stateType;
+    private final Class<?> eventType;
+    private final Transition<S, E>[][] table;
+
+    private EnumTransitionIndex(Class<?> stateType, Class<?> eventType, Transition<S, E>[][] table) {
+        this.stateType = stateType;
+        this.eventType = eventType;
+        this.table = table;
+    }
+
+    /**
+     * @param transitions transitions of a lifecycle
+     * @return {@code true} if all the source states are constants of the same enum
+     * and all the events are constants of the same enum
+     */
+    static boolean isApplicable(Set<? extends Transition<?, ?>> transitions) {
+        if (transitions.isEmpty()) {
+            return false;
+        }
+        Class<?> stateType = null;
+        Class<?> eventType = null;
+        for (Transition<?, ?> transition : transitions) {
+            if (!(transition.getSourceState() instanceof Enum) || !(transition.getEvent() instanceof Enum)) {
+                return false;
+            }
+            Class<?> currentStateType = ((Enum<?>) transition.getSourceState()).getDeclaringClass();
+            Class<?> currentEventType = ((Enum<?>) transition.getEvent()).getDeclaringClass();
+            if (stateType == null) {
+                stateType = currentStateType;
+                eventType = currentEventType;
+            } else if (stateType != currentStateType || eventType != currentEventType) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S, E> EnumTransitionIndex<S, E> of(Set<Transition<S, E>> transitions) {
+        Transition<S, E> any = transitions.iterator().next();
+        Class<?> stateType = ((Enum<?>) any.getSourceState()).getDeclaringClass();
+        Class<?> eventType = ((Enum<?>) any.getEvent()).getDeclaringClass();
+        int eventsCount = eventType.getEnumConstants().length;
+
+        Transition<S, E>[][] table = new Transition[stateType.getEnumConstants().length][];
+        for (Transition<S, E> transition : transitions) {
+            int state = ((Enum<?>) transition.getSourceState()).ordinal();
+            int event = ((Enum<?>) transition.getEvent()).ordinal();
+            if (table[state] == null) {
+                table[state] = new Transition[eventsCount];
+            }
+            if (table[state][event] != null) {
+                throw TransitionIndex.ambiguousTransition(transition);
+            }
+            table[state][event] = transition;
+        }
+
+        return new EnumTransitionIndex<>(stateType, eventType, table);
+    }
+
+    @Nullable
+    @Override
+    public Transition<S, E> get(S sourceState, E event) {
+        if (!isConstantOf(stateType, sourceState) || !isConstantOf(eventType, event)) {
+            return null;
+        }
+        Transition<S, E>[] transitionsByEvent = table[((Enum<?>) sourceState).ordinal()];
+        return transitionsByEvent == null ? null : transitionsByEvent[((Enum<?>) event).ordinal()];
+    }
+
+    private static boolean isConstantOf(Class<?> enumType, @Nullable Object value) {
+        return value instanceof Enum && ((Enum<?>) value).getDeclaringClass() == enumType;
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Reusable state context and transition result for the
+ * {@link LifecycleManagerImpl#execute(StatefulObject, Object, Map, ExecutionBuffer) allocation-free execution}.
+ * The buffer is not thread-safe, so it must be confined to a single thread, e.g.
+ * kept in a field of a consumer thread or in a {@link ThreadLocal}. The result returned
+ * by the lifecycle manager and its state context are valid only until the next execution
+ * with the same buffer, so don't keep references to them.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public final class ExecutionBuffer<S, E> {
+
+    @Nullable
+    private ManagedStateContext<S, E> context;
+    @Nullable
+    private ReusableTransitionResult<S, E> result;
+
+    ManagedStateContext<S, E> context(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        if (context == null) {
+            context = new ManagedStateContext<>(statefulObject, event, variables);
+        } else {
+            context.reset(statefulObject, event, variables);
+        }
+        return context;
+    }
+
+    TransitionResult<S, E> result(TransitionStatus status,
+                                  StateContext<S, E> context,
+                                  S sourceState,
+                                  S targetState,
+                                  @Nullable Exception exception) {
+        if (result == null) {
+            result = new ReusableTransitionResult<>(status, context, sourceState, targetState, exception);
+        } else {
+            result.reset(status, context, sourceState, targetState, exception);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reports failures which happen during transitions: failed conditions or actions,
+ * missing or ambiguous transitions and missing lifecycles. The reporter is called on the hot path,
+ * so implementations should be cheap. The default one is {@link LoggingFailureReporter}
+ * which logs each failure. Use {@link AggregatingFailureReporter} in order to log
+ * periodic summaries instead.
+ */
+public interface FailureReporter {
+
+    /**
+     * Called when a condition or an action of the transition threw an exception.
+     *
+     * @param lifecycleName the name of the stateful object's lifecycle
+     * @param transition    the failed transition
+     * @param event         the event of the transition
+     * @param id            the stateful object's id
+     * @param exception     the thrown exception
+     */
+    void transitionFailed(@Nullable String lifecycleName,
+                          Transition<?, ?> transition,
+                          Object event,
+                          @Nullable Object id,
+                          Exception exception);
+
+    /**
+     * Called when there is no transition for the stateful object's state and the event.
+     *
+     * @param lifecycleName the name of the stateful object's lifecycle
+     * @param sourceState   the stateful object's state
+     * @param event         the event
+     * @param id            the stateful object's id
+     * @see StatefulObject#getId()
+     */
+    void transitionNotFound(@Nullable String lifecycleName,
+                            @Nullable Object sourceState,
+                            Object event,
+                            @Nullable Object id);
+
+    /**
+     * Called when there is more than one transition for the stateful object's state and the event.
+     *
+     * @param lifecycleName the name of the stateful object's lifecycle
+     * @param sourceState   the stateful object's state
+     * @param event         the event
+     * @param id            the stateful object's id
+     * @param exception     the exception describing the matching transitions
+     */
+    void transitionAmbiguous(@Nullable String lifecycleName,
+                             @Nullable Object sourceState,
+                             Object event,
+                             @Nullable Object id,
+                             AmbiguousTransitionException exception);
+
+    /**
+     * Called when there is no lifecycle with the name.
+     *
+     * @param lifecycleName the name of the lifecycle
+     */
+    void lifecycleNotFound(@Nullable String lifecycleName);
+
+    /**
+     * Called when the chain of the events posted by the actions is longer than the limit,
+     * so the rest of the posted events are discarded.
+     *
+     * @param lifecycleName the name of the stateful object's lifecycle
+     * @param id            the stateful object's id
+     * @param limit         the maximum length of the chain
+     * @param discarded     the number of the discarded events
+     * @see com.github.kabal163.statemachine.api.StateContext#postEvent(Object)
+     */
+    void eventChainTruncated(@Nullable String lifecycleName, @Nullable Object id, int limit, int discarded);
+
+    /**
+     * Called when an event processed outside of the caller's thread failed not because of
+     * its transition, e.g. the handler of the transition result threw an exception.
+     * By default nothing is reported, so the reporters implemented before
+     * the method was added keep working.
+     *
+     * @param lifecycleName the name of the stateful object's lifecycle
+     * @param event         the event
+     * @param id            the stateful object's id
+     * @param exception     the thrown exception
+     * @see RingBufferEventProcessor
+     */
+    default void eventFailed(@Nullable String lifecycleName, Object event, @Nullable Object id, Exception exception) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * General purpose {@link TransitionIndex} which keeps transitions
+ * in hash maps. Suitable for any type of states and events.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+final class HashTransitionIndex<S, E> implements TransitionIndex<S, E> {
+
+    private final Map<S, Map<E, Transition<S, E>>> transitionsBySourceState;
+
+    private HashTransitionIndex(Map<S, Map<E, Transition<S, E>>> transitionsBySourceState) {
+        this.transitionsBySourceState = transitionsBySourceState;
+    }
+
+    static <S, E> HashTransitionIndex<S, E> of(Set<Transition<S, E>> transitions) {
+        Map<S, Map<E, Transition<S, E>>> transitionsBySourceState = new HashMap<>();
+        for (Transition<S, E> transition : transitions) {
+            Map<E, Transition<S, E>> transitionsByEvent = transitionsBySourceState
+                    .computeIfAbsent(transition.getSourceState(), state -> new HashMap<>());
+            if (transitionsByEvent.putIfAbsent(transition.getEvent(), transition) != null) {
+                throw TransitionIndex.ambiguousTransition(transition);
+            }
+        }
+        transitionsBySourceState.replaceAll((state, transitionsByEvent) -> unmodifiableMap(transitionsByEvent));
+
+        return new HashTransitionIndex<>(unmodifiableMap(transitionsBySourceState));
+    }
+
+    @Nullable
+    @Override
+    public Transition<S, E> get(S sourceState, E event) {
+        Map<E, Transition<S, E>> transitionsByEvent = transitionsBySourceState.get(sourceState);
+        return transitionsByEvent == null ? null : transitionsByEvent.get(event);
+    }
+}
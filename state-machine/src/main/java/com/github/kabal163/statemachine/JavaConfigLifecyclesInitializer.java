@@ -3,20 +3,38 @@ package com.github.kabal163.statemachine;
 import com.github.kabal163.statemachine.api.LifecycleConfiguration;
 import com.github.kabal163.statemachine.api.LifecyclesInitializer;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 /**
  * Builds transitions from java configurations.
  * Transitions are grouped by lifecycle name declared
- * in the configurations.
+ * in the configurations. Optionally the transitions of each lifecycle
+ * are compiled by a {@link TransitionCompiler transition compiler}.
  */
 public class JavaConfigLifecyclesInitializer implements LifecyclesInitializer {
 
+    @Nullable
+    private final TransitionCompiler transitionCompiler;
+
+    public JavaConfigLifecyclesInitializer() {
+        this.transitionCompiler = null;
+    }
+
+    /**
+     * @param transitionCompiler compiles transitions of each built lifecycle
+     * @see MethodHandleTransitionCompiler
+     */
+    public JavaConfigLifecyclesInitializer(TransitionCompiler transitionCompiler) {
+        this.transitionCompiler = Objects.requireNonNull(transitionCompiler, "transitionCompiler must not be null!");
+    }
+
     @Override
     public <S, E> Map<String, Lifecycle<S, E>> initialize(Collection<LifecycleConfiguration<S, E>> configurations) {
         Objects.requireNonNull(configurations, "Configurations must not be null!");
@@ -29,9 +47,12 @@ public class JavaConfigLifecyclesInitializer implements LifecyclesInitializer {
             String lifecycleName = isBlank(configuration.getLifecycleName())
                     ? configuration.getClass().getCanonicalName()
                     : configuration.getLifecycleName();
+            Set<Transition<S, E>> transitions = transitionCompiler == null
+                    ? configurer.buildTransitions()
+                    : transitionCompiler.compile(lifecycleName, configurer.buildTransitions());
             Lifecycle<S, E> lifecycle = LifecycleImpl.<S, E>builder()
                     .name(lifecycleName)
-                    .transitions(configurer.buildTransitions())
+                    .transitions(transitions)
                     .build();
 
             lifecyclesByName.put(lifecycleName, lifecycle);
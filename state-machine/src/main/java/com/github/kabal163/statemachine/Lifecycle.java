@@ -1,7 +1,10 @@
 package com.github.kabal163.statemachine;
 
 import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
 
+import javax.annotation.Nullable;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -26,4 +29,29 @@ public interface Lifecycle<S, E> {
      * @see Transition
      */
     Set<Transition<S, E>> getTransitions();
+
+    /**
+     * Returns the transition which matches the source state and the event.
+     * Implementations are expected to answer without scanning all the
+     * transitions of the lifecycle. By default the transitions are scanned,
+     * so the lifecycles implemented before the method was added keep working.
+     *
+     * @param sourceState the stateful object's state at the moment of start a transition
+     * @param event       a signal which helps to define the target state
+     * @return matching transition or {@code null} if there is no such transition
+     * @throws AmbiguousTransitionException if more then one matching transition is found
+     */
+    @Nullable
+    default Transition<S, E> getTransition(S sourceState, E event) {
+        Transition<S, E> match = null;
+        for (Transition<S, E> transition : getTransitions()) {
+            if (Objects.equals(transition.getSourceState(), sourceState) && Objects.equals(transition.getEvent(), event)) {
+                if (match != null) {
+                    throw new AmbiguousTransitionException("There is more then one transition match!");
+                }
+                match = transition;
+            }
+        }
+        return match;
+    }
 }
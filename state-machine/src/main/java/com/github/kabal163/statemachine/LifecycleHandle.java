@@ -0,0 +1,45 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.LifecycleHandleAware;
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+/**
+ * Interned reference to a {@link Lifecycle lifecycle} registered in a
+ * {@link TransitionProvider transition provider}. A handle lets the provider
+ * find the lifecycle by an array index instead of resolving the lifecycle's
+ * name on each transition. Handles are issued by the provider and are valid
+ * only for the provider which issued them.
+ *
+ * @see TransitionProvider#getLifecycleHandle(String)
+ * @see LifecycleHandleAware
+ * @see StatefulObject#getLifecycleName()
+ */
+public final class LifecycleHandle {
+
+    private final int id;
+    private final String name;
+
+    LifecycleHandle(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * @return the index of the lifecycle in the provider which issued the handle
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the name of the lifecycle
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "LifecycleHandle{id=" + id + ", name='" + name + "'}";
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.kabal163.statemachine;
 
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+
+import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.Set;
 
@@ -7,10 +10,12 @@ public class LifecycleImpl<S, E> implements Lifecycle<S, E> {
 
     private final String name;
     private final Set<Transition<S, E>> transitions;
+    private final TransitionIndex<S, E> transitionIndex;
 
     private LifecycleImpl(String name, Set<Transition<S, E>> transitions) {
         this.name = name;
         this.transitions = transitions;
+        this.transitionIndex = TransitionIndex.of(transitions);
     }
 
     @Override
@@ -23,6 +28,12 @@ public class LifecycleImpl<S, E> implements Lifecycle<S, E> {
         return transitions;
     }
 
+    @Nullable
+    @Override
+    public Transition<S, E> getTransition(S sourceState, E event) {
+        return transitionIndex.get(sourceState, event);
+    }
+
     public static <S, E> Builder<S, E> builder() {
         return new Builder<>();
     }
@@ -41,9 +52,15 @@ public class LifecycleImpl<S, E> implements Lifecycle<S, E> {
             return this;
         }
 
+        /**
+         * Builds the lifecycle and indexes its transitions by source state and event.
+         *
+         * @return the lifecycle
+         * @throws AmbiguousTransitionException if more then one transition has the same source state and event
+         */
         public Lifecycle<S, E> build() {
             Objects.requireNonNull(name, "Lifecycle's name must not be blank!");
-            Objects.requireNonNull(name, "transitions must not be null!");
+            Objects.requireNonNull(transitions, "transitions must not be null!");
 
             return new LifecycleImpl<>(name, transitions);
         }
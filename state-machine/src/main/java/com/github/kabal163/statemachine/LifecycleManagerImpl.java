@@ -2,62 +2,847 @@ package com.github.kabal163.statemachine;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.AtomicStatefulObject;
 import com.github.kabal163.statemachine.api.LifecycleManager;
 import com.github.kabal163.statemachine.api.StateContext;
 import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionRequest;
 import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
+import com.github.kabal163.statemachine.exception.StateConflictException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
 
-import java.util.HashMap;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyMap;
 
 public class LifecycleManagerImpl<S, E> implements LifecycleManager<S, E> {
 
     private static final Logger log = LoggerFactory.getLogger(LifecycleManagerImpl.class);
 
+    private static final int LOCK_STRIPES = 64;
+
+    public static final int DEFAULT_MAX_EVENT_CHAIN_LENGTH = 32;
+
     private final TransitionProvider<S, E> transitionProvider;
 
+    /**
+     * If true then results don't retain the state context
+     */
+    private final boolean compactResults;
+
+    private final FailureReporter failureReporter;
+
+    /**
+     * Executes the {@link #executeAllParallel parallel bulk executions}
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Serializes the {@link #executeAtomically atomic group executions}
+     */
+    private final LockStripes lockStripes = new LockStripes(LOCK_STRIPES);
+
+    /**
+     * The maximum number of the {@link StateContext#postEvent posted events}
+     * executed after a transition
+     */
+    private final int maxEventChainLength;
+
     public LifecycleManagerImpl(TransitionProvider<S, E> transitionProvider) {
+        this(transitionProvider, false, new LoggingFailureReporter(), ForkJoinPool.commonPool(), DEFAULT_MAX_EVENT_CHAIN_LENGTH);
+    }
+
+    private LifecycleManagerImpl(TransitionProvider<S, E> transitionProvider,
+                                 boolean compactResults,
+                                 FailureReporter failureReporter,
+                                 ForkJoinPool forkJoinPool,
+                                 int maxEventChainLength) {
         this.transitionProvider = transitionProvider;
+        this.compactResults = compactResults;
+        this.failureReporter = failureReporter;
+        this.forkJoinPool = forkJoinPool;
+        this.maxEventChainLength = maxEventChainLength;
     }
 
     @Override
     public TransitionResult<S, E> execute(StatefulObject<S> statefulObject, E event) {
-        return execute(statefulObject, event, new HashMap<>());
+        return execute(statefulObject, event, emptyMap());
     }
 
     @Override
     public TransitionResult<S, E> execute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        return doExecute(statefulObject, event, variables, null);
+    }
+
+    /**
+     * Executes a transition of the stateful object according the event reusing
+     * the state context and the transition result kept in the buffer. A steady-state
+     * transition without variables doesn't allocate anything, unless conditions or
+     * actions do. The returned result is owned by the buffer and is overwritten
+     * by the next execution with the same buffer.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance
+     * @param buffer         thread-confined holder of the reusable context and result
+     * @return {@link TransitionResult} transition result owned by the buffer
+     * @throws TransitionNotFoundException  if no transition was found for the corresponding
+     *                                      stateful object's source state and event
+     * @throws NullPointerException         if any of arguments is {@code null}
+     * @see ExecutionBuffer
+     */
+    public TransitionResult<S, E> execute(StatefulObject<S> statefulObject,
+                                          E event,
+                                          Map<String, Object> variables,
+                                          ExecutionBuffer<S, E> buffer) {
+        Objects.requireNonNull(buffer, "buffer must not be null!");
+
+        return doExecute(statefulObject, event, variables, buffer);
+    }
+
+    private TransitionResult<S, E> doExecute(StatefulObject<S> statefulObject,
+                                             E event,
+                                             Map<String, Object> variables,
+                                             @Nullable ExecutionBuffer<S, E> buffer) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        return transit(statefulObject, event, variables, transitionProvider.getTransition(statefulObject, event), buffer);
+    }
+
+    FailureReporter getFailureReporter() {
+        return failureReporter;
+    }
+
+    @Override
+    public TransitionResult<S, E> tryExecute(StatefulObject<S> statefulObject, E event) {
+        return tryExecute(statefulObject, event, emptyMap());
+    }
+
+    @Override
+    public TransitionResult<S, E> tryExecute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
         Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
         Objects.requireNonNull(event, "event must not be null!");
         Objects.requireNonNull(variables, "Map of variables must not be null!");
 
-        Transition<S, E> transition = transitionProvider.getTransition(statefulObject, event);
-        StateContext<S, E> context = new StateContext<>(statefulObject, event, variables);
+        Lifecycle<S, E> lifecycle = transitionProvider.findLifecycle(statefulObject);
+        if (lifecycle == null) {
+            return miss(TransitionStatus.NO_LIFECYCLE, statefulObject);
+        }
+        Transition<S, E> transition;
+        try {
+            transition = lifecycle.getTransition(statefulObject.getState(), event);
+        } catch (AmbiguousTransitionException e) {
+            // only the lifecycles which scan their transitions get here, the built ones reject ambiguity upfront
+            return miss(TransitionStatus.AMBIGUOUS, statefulObject);
+        } catch (LifecycleNotFoundException e) {
+            // the lifecycle of a provider which doesn't implement findLifecycle is resolved lazily
+            return miss(TransitionStatus.NO_LIFECYCLE, statefulObject);
+        }
+        if (transition == null) {
+            return miss(TransitionStatus.NO_TRANSITION, statefulObject);
+        }
+
+        return transit(statefulObject, event, variables, transition, null);
+    }
+
+    @Override
+    public void executeAll(Collection<? extends StatefulObject<S>> statefulObjects,
+                           E event,
+                           Map<String, Object> variables,
+                           Consumer<? super TransitionResult<S, E>> consumer) {
+        Objects.requireNonNull(statefulObjects, "StatefulObjects must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+        Objects.requireNonNull(consumer, "consumer must not be null!");
+
+        TransitionCache<S, E> transitions = new TransitionCache<>(transitionProvider, event);
+        ExecutionBuffer<S, E> buffer = new ExecutionBuffer<>();
+        for (StatefulObject<S> statefulObject : statefulObjects) {
+            consumer.accept(transit(statefulObject, event, variables, transitions.getTransition(statefulObject), buffer));
+        }
+    }
+
+    @Override
+    public Iterator<TransitionResult<S, E>> executeAllLazily(Collection<? extends StatefulObject<S>> statefulObjects,
+                                                             E event,
+                                                             Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObjects, "StatefulObjects must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        TransitionCache<S, E> transitions = new TransitionCache<>(transitionProvider, event);
+        Iterator<? extends StatefulObject<S>> statefulObjectIterator = statefulObjects.iterator();
+        return new Iterator<TransitionResult<S, E>>() {
+
+            @Override
+            public boolean hasNext() {
+                return statefulObjectIterator.hasNext();
+            }
+
+            @Override
+            public TransitionResult<S, E> next() {
+                if (!statefulObjectIterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                StatefulObject<S> statefulObject = statefulObjectIterator.next();
+                return transit(statefulObject, event, variables, transitions.getTransition(statefulObject), null);
+            }
+        };
+    }
+
+    /**
+     * Executes transitions of the stateful objects according the same event in parallel.
+     * The list is split into chunks which are executed on the fork/join pool
+     * of the lifecycle manager, idle workers steal the chunks of the busy ones.
+     * Each stateful object is executed by exactly one thread, so the list must not
+     * contain the same stateful object twice, which is checked before the execution. Each chunk resolves the transitions and
+     * counts the results on its own, so the workers don't contend with each other.
+     * <p>
+     * The results are passed to the consumer from the worker threads, so the consumer
+     * must be thread-safe. The passed result and its state context are reused by the worker
+     * thread for the next stateful object, so they must not be retained.
+     *
+     * @param statefulObjects distinct objects which state should be changed with
+     *                        corresponding actions execution
+     * @param event           a signal which helps to define the target states
+     * @param variables       any external data which is necessary during transitions performance.
+     *                        The map is shared by all transitions and must not be modified until they finish
+     * @param consumer        thread-safe consumer of the results
+     * @return statistics of the executed transitions
+     * @throws TransitionNotFoundException  if no transition was found for some
+     *                                      stateful object's source state and event. Other chunks may
+     *                                      be executed partially
+     * @throws IllegalArgumentException     if the same stateful object is in the list more than once.
+     *                                      Nothing is executed
+     * @throws NullPointerException         if any of arguments or stateful objects is {@code null}
+     * @see Builder#forkJoinPool(ForkJoinPool)
+     */
+    public BulkExecutionStats executeAllParallel(List<? extends StatefulObject<S>> statefulObjects,
+                                                 E event,
+                                                 Map<String, Object> variables,
+                                                 Consumer<? super TransitionResult<S, E>> consumer) {
+        Objects.requireNonNull(statefulObjects, "StatefulObjects must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+        Objects.requireNonNull(consumer, "consumer must not be null!");
+
+        List<? extends StatefulObject<S>> objects = statefulObjects instanceof RandomAccess
+                ? statefulObjects
+                : new ArrayList<>(statefulObjects);
+        Set<StatefulObject<S>> distinct = Collections.newSetFromMap(new IdentityHashMap<>(objects.size()));
+        for (StatefulObject<S> statefulObject : objects) {
+            Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+            if (!distinct.add(statefulObject)) {
+                throw new IllegalArgumentException("The stateful object is in the list more than once; id: " + statefulObject.getId());
+            }
+        }
+        return forkJoinPool.invoke(new BulkExecutionTask(objects, 0, objects.size(), event, variables, consumer));
+    }
+
+    /**
+     * The same as {@link #executeAllParallel(List, Object, Map, Consumer)} but
+     * the results are only counted.
+     */
+    public BulkExecutionStats executeAllParallel(List<? extends StatefulObject<S>> statefulObjects,
+                                                 E event,
+                                                 Map<String, Object> variables) {
+        return executeAllParallel(statefulObjects, event, variables, result -> {
+        });
+    }
+
+    /**
+     * Executes transitions of several stateful objects as one unit: either all
+     * target states are committed or none of them.
+     * <ol>
+     *     <li>the transitions of all requests are resolved and all conditions are evaluated.
+     *     If any condition rejects its transition then nothing is executed;</li>
+     *     <li>the locks of the stateful objects are acquired in the global order of the lock stripes
+     *     of their {@link StatefulObject#getId() ids}, so the overlapping groups don't deadlock;</li>
+     *     <li>if the state of any stateful object was changed since its transition was resolved
+     *     then nothing is executed;</li>
+     *     <li>the actions of all transitions are executed in the order of the requests.
+     *     If any action throws an exception then no state is committed, the actions which
+     *     are already executed are not compensated;</li>
+     *     <li>the target states of all stateful objects are committed in the order of the requests
+     *     the same way as by the {@link #execute(StatefulObject, Object, Map) single execution}, so the
+     *     {@link AtomicStatefulObject atomic stateful objects} are committed by compare-and-set.
+     *     If a compare-and-set fails because the state was changed by an execution outside
+     *     of the group then the already committed states are rolled back to the source states
+     *     and the failed request gets the {@link TransitionStatus#CONFLICT conflict} status.
+     *     A committed state which was changed concurrently again is not rolled back.</li>
+     * </ol>
+     * The locks serialize only the atomic group executions, the other executions
+     * of the same stateful objects are not blocked by them.
+     * <p>
+     * The {@link StateContext#postEvent(Object) posted events} are executed after all target
+     * states are committed and the locks are released, in the order of the requests.
+     * They are not a part of the atomic group.
+     * <p>
+     * The {@link Transition#getTimeout() timeout} of each transition is counted from the start
+     * of its actions and bounds its {@link com.github.kabal163.statemachine.api.AsyncAction async actions},
+     * so a hung async action doesn't hold the locks after the deadline. The conditions and
+     * the synchronous actions are not bounded. The timed-out request gets
+     * the {@link TransitionStatus#TIMED_OUT timed out} status.
+     * <p>
+     * If the group fails then the result of the failed request has the status of the failure
+     * and the results of the rest requests have the {@link TransitionStatus#ABORTED aborted} status.
+     * The results are compact if the lifecycle manager is built with the
+     * {@link Builder#compactResults(boolean) compact results}.
+     *
+     * @param requests the requests of the distinct stateful objects
+     * @return results in the order of the requests
+     * @throws TransitionNotFoundException  if no transition was found for some
+     *                                      stateful object's source state and event. Nothing is executed
+     * @throws AmbiguousTransitionException if there are more then one matching transitions
+     * @throws IllegalArgumentException     if the same stateful object is requested more than once
+     * @throws NullPointerException         if the requests, any of them or the id of any stateful object is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public List<TransitionResult<S, E>> executeAtomically(List<TransitionRequest<S, E>> requests) {
+        Objects.requireNonNull(requests, "requests must not be null!");
+
+        int size = requests.size();
+        Transition<S, E>[] transitions = new Transition[size];
+        ManagedStateContext<S, E>[] contexts = new ManagedStateContext[size];
+        Object[] ids = new Object[size];
+        Set<StatefulObject<S>> statefulObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < size; i++) {
+            TransitionRequest<S, E> request = Objects.requireNonNull(requests.get(i), "request must not be null!");
+            StatefulObject<S> statefulObject = request.getStatefulObject();
+            if (!statefulObjects.add(statefulObject)) {
+                throw new IllegalArgumentException("The stateful object is requested more than once; id: " + statefulObject.getId());
+            }
+            ids[i] = Objects.requireNonNull(statefulObject.getId(), "id of StatefulObject must not be null!");
+            transitions[i] = transitionProvider.getTransition(statefulObject, request.getEvent());
+            contexts[i] = new ManagedStateContext<>(statefulObject, request.getEvent(), request.getVariables());
+        }
+
+        for (int i = 0; i < size; i++) {
+            try {
+                if (!transitions[i].evaluateConditions(contexts[i])) {
+                    return abort(transitions, contexts, i, TransitionStatus.GUARD_REJECTED, null);
+                }
+            } catch (Exception ex) {
+                return abort(transitions, contexts, i, failureStatus(ex, false), reportFailure(transitions[i], contexts[i], ex));
+            }
+        }
+
+        int[] stripes = lockStripes.lock(ids);
+        try {
+            for (int i = 0; i < size; i++) {
+                StatefulObject<S> statefulObject = contexts[i].getStatefulObject();
+                if (!Objects.equals(statefulObject.getState(), transitions[i].getSourceState())) {
+                    return abort(transitions, contexts, i, TransitionStatus.CONFLICT, conflict(transitions[i]));
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                try {
+                    transitions[i].executeActions(contexts[i]);
+                } catch (Exception ex) {
+                    return abort(transitions, contexts, i, failureStatus(ex, true), reportFailure(transitions[i], contexts[i], ex));
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (!commit(contexts[i].getStatefulObject(), transitions[i])) {
+                    for (int committed = 0; committed < i; committed++) {
+                        rollback(contexts[committed].getStatefulObject(), transitions[committed]);
+                    }
+                    return abort(transitions, contexts, i, TransitionStatus.CONFLICT, conflict(transitions[i]));
+                }
+            }
+        } finally {
+            lockStripes.unlock(stripes);
+        }
+
+        TransitionResult<S, E>[] results = new TransitionResult[size];
+        for (int i = 0; i < size; i++) {
+            // the posted events are executed one by one after the locks are released
+            executePostedEvents(contexts[i].getStatefulObject(), contexts[i]);
+            results[i] = groupResult(TransitionStatus.OK, contexts[i], transitions[i], null);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Restores the source state of the committed transition unless the state was changed concurrently again.
+     */
+    private void rollback(StatefulObject<S> statefulObject, Transition<S, E> transition) {
+        if (statefulObject instanceof AtomicStatefulObject) {
+            ((AtomicStatefulObject<S>) statefulObject).compareAndSetState(transition.getTargetState(), transition.getSourceState());
+            return;
+        }
+        statefulObject.setState(transition.getSourceState());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransitionResult<S, E>> abort(Transition<S, E>[] transitions,
+                                               StateContext<S, E>[] contexts,
+                                               int failed,
+                                               TransitionStatus status,
+                                               @Nullable Exception exception) {
+        TransitionResult<S, E>[] results = new TransitionResult[transitions.length];
+        for (int i = 0; i < transitions.length; i++) {
+            results[i] = i == failed
+                    ? groupResult(status, contexts[i], transitions[i], exception)
+                    : groupResult(TransitionStatus.ABORTED, contexts[i], transitions[i], null);
+        }
+        return Arrays.asList(results);
+    }
+
+    private TransitionResult<S, E> groupResult(TransitionStatus status,
+                                               StateContext<S, E> context,
+                                               Transition<S, E> transition,
+                                               @Nullable Exception exception) {
+        if (compactResults) {
+            return status == TransitionStatus.OK || status == TransitionStatus.GUARD_REJECTED
+                    ? transition.compactResult(status == TransitionStatus.OK)
+                    : new TransitionResult<>(status, null, transition.getSourceState(), transition.getTargetState(), exception);
+        }
+        return new TransitionResult<>(status, context, transition.getSourceState(), transition.getTargetState(), exception);
+    }
+
+    /**
+     * @param actionsStarted whether the conditions were met and the actions were started
+     */
+    private static TransitionStatus failureStatus(Exception exception, boolean actionsStarted) {
+        if (exception instanceof TransitionTimeoutException) {
+            return TransitionStatus.TIMED_OUT;
+        }
+        if (exception instanceof StateConflictException) {
+            return TransitionStatus.CONFLICT;
+        }
+        return actionsStarted ? TransitionStatus.ACTION_FAILED : TransitionStatus.CONDITION_FAILED;
+    }
+
+    private Exception reportFailure(Transition<S, E> transition, StateContext<S, E> context, Exception exception) {
+        StatefulObject<S> statefulObject = context.getStatefulObject();
+        failureReporter.transitionFailed(statefulObject.getLifecycleName(), transition, context.getEvent(), statefulObject.getId(), exception);
+        return exception;
+    }
+
+    private TransitionResult<S, E> transit(StatefulObject<S> statefulObject,
+                                           E event,
+                                           Map<String, Object> variables,
+                                           Transition<S, E> transition,
+                                           @Nullable ExecutionBuffer<S, E> buffer) {
+        ManagedStateContext<S, E> context = buffer == null
+                ? new ManagedStateContext<>(statefulObject, event, variables)
+                : buffer.context(statefulObject, event, variables);
         boolean success = false;
         Exception exception = null;
 
         try {
             success = transition.transit(context);
         } catch (Exception ex) {
-            log.error("Error while transition from {} to {} with event {}; id: {}",
-                    transition.getSourceState(),
-                    transition.getTargetState(),
-                    event,
-                    statefulObject.getId(),
-                    ex);
+            failureReporter.transitionFailed(statefulObject.getLifecycleName(), transition, event, statefulObject.getId(), ex);
             exception = ex;
         }
 
         if (success) {
-            statefulObject.setState(transition.getTargetState());
+            if (commit(statefulObject, transition)) {
+                executePostedEvents(statefulObject, context);
+            } else {
+                success = false;
+                exception = conflict(transition);
+            }
+        }
+
+        return result(success, context, transition, exception, buffer);
+    }
+
+    /**
+     * Executes a transition of the stateful object according the event without blocking
+     * on the {@link AsyncAction async actions} of the transition. The target state is
+     * committed when the stages of all actions complete successfully. The conditions and
+     * the actions before the first async action are executed by the calling thread,
+     * the rest of them are executed by the threads completing the stages.
+     * The {@link StateContext#postEvent(Object) posted events} are executed
+     * synchronously after the commit.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @return the future of the transition result. The future is completed exceptionally
+     * with {@link TransitionNotFoundException} if no transition was found for corresponding
+     * stateful object's source state and event, or {@link AmbiguousTransitionException}
+     * if there are more then one matching transitions
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    public CompletableFuture<TransitionResult<S, E>> executeAsync(StatefulObject<S> statefulObject,
+                                                                  E event,
+                                                                  Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        Transition<S, E> transition;
+        try {
+            transition = transitionProvider.getTransition(statefulObject, event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return transitAsync(statefulObject, event, variables, transition);
+    }
+
+    /**
+     * Executes a transition of the stateful object according the event the same way
+     * as {@link #executeAsync(StatefulObject, Object, Map)}. Unlike it the future is not
+     * completed exceptionally if there is no lifecycle or transition for the stateful object
+     * and the event, the misses are reported by the status of the already completed result
+     * the same way as by {@link #tryExecute(StatefulObject, Object, Map)}.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @return the future of the transition result containing the status of the execution
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    public CompletableFuture<TransitionResult<S, E>> tryExecuteAsync(StatefulObject<S> statefulObject,
+                                                                     E event,
+                                                                     Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        Lifecycle<S, E> lifecycle = transitionProvider.findLifecycle(statefulObject);
+        if (lifecycle == null) {
+            return CompletableFuture.completedFuture(miss(TransitionStatus.NO_LIFECYCLE, statefulObject));
+        }
+        Transition<S, E> transition;
+        try {
+            transition = lifecycle.getTransition(statefulObject.getState(), event);
+        } catch (AmbiguousTransitionException e) {
+            return CompletableFuture.completedFuture(miss(TransitionStatus.AMBIGUOUS, statefulObject));
+        } catch (LifecycleNotFoundException e) {
+            return CompletableFuture.completedFuture(miss(TransitionStatus.NO_LIFECYCLE, statefulObject));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        if (transition == null) {
+            return CompletableFuture.completedFuture(miss(TransitionStatus.NO_TRANSITION, statefulObject));
+        }
+        return transitAsync(statefulObject, event, variables, transition);
+    }
+
+    private CompletableFuture<TransitionResult<S, E>> transitAsync(StatefulObject<S> statefulObject,
+                                                                   E event,
+                                                                   Map<String, Object> variables,
+                                                                   Transition<S, E> transition) {
+        ManagedStateContext<S, E> context = new ManagedStateContext<>(statefulObject, event, variables);
+
+        return transition.transitAsync(context).handle((success, throwable) -> {
+            if (throwable != null) {
+                Exception exception = unwrap(throwable);
+                failureReporter.transitionFailed(statefulObject.getLifecycleName(), transition, event, statefulObject.getId(), exception);
+                return result(false, context, transition, exception, null);
+            }
+            if (success) {
+                if (!commit(statefulObject, transition)) {
+                    return result(false, context, transition, conflict(transition), null);
+                }
+                executePostedEvents(statefulObject, context);
+            }
+            return result(success, context, transition, null, null);
+        });
+    }
+
+    private static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
 
+    private TransitionResult<S, E> result(boolean success,
+                                          ManagedStateContext<S, E> context,
+                                          Transition<S, E> transition,
+                                          @Nullable Exception exception,
+                                          @Nullable ExecutionBuffer<S, E> buffer) {
+        TransitionStatus status = success
+                ? TransitionStatus.OK
+                : exception == null ? TransitionStatus.GUARD_REJECTED : failureStatus(exception, context.isActionsStarted());
+        if (buffer != null) {
+            return buffer.result(
+                    status,
+                    context,
+                    transition.getSourceState(),
+                    transition.getTargetState(),
+                    exception);
+        }
+        if (compactResults) {
+            return exception == null
+                    ? transition.compactResult(success)
+                    : new TransitionResult<>(status, null, transition.getSourceState(), transition.getTargetState(), exception);
+        }
         return new TransitionResult<>(
-                success,
+                status,
                 context,
                 transition.getSourceState(),
                 transition.getTargetState(),
                 exception);
     }
+
+    /**
+     * Commits the target state of the transition.
+     *
+     * @return false if the state of the {@link AtomicStatefulObject atomic stateful object}
+     * was changed concurrently
+     */
+    private boolean commit(StatefulObject<S> statefulObject, Transition<S, E> transition) {
+        if (statefulObject instanceof AtomicStatefulObject) {
+            return ((AtomicStatefulObject<S>) statefulObject).compareAndSetState(transition.getSourceState(), transition.getTargetState());
+        }
+        statefulObject.setState(transition.getTargetState());
+        return true;
+    }
+
+    /**
+     * Executes the events posted by the actions of the committed transition
+     * one by one in the same context. The lifecycle is resolved once for the chain.
+     * Failures of the posted events are reported, but they don't affect
+     * the result of the committed transition. When the chain is over the context
+     * has the event of the committed transition again.
+     */
+    private void executePostedEvents(StatefulObject<S> statefulObject, ManagedStateContext<S, E> context) {
+        E committedEvent = context.getEvent();
+        try {
+            executeEventChain(statefulObject, context);
+        } finally {
+            context.restoreEvent(committedEvent);
+        }
+    }
+
+    private void executeEventChain(StatefulObject<S> statefulObject, ManagedStateContext<S, E> context) {
+        E event = context.pollPostedEvent();
+        if (event == null) {
+            return;
+        }
+        Lifecycle<S, E> lifecycle = transitionProvider.findLifecycle(statefulObject);
+        if (lifecycle == null) {
+            failureReporter.lifecycleNotFound(statefulObject.getLifecycleName());
+            context.clearPostedEvents();
+            return;
+        }
+
+        int chainLength = 0;
+        for (; event != null; event = context.pollPostedEvent()) {
+            if (++chainLength > maxEventChainLength) {
+                failureReporter.eventChainTruncated(statefulObject.getLifecycleName(), statefulObject.getId(),
+                        maxEventChainLength, 1 + context.clearPostedEvents());
+                return;
+            }
+
+            S state = statefulObject.getState();
+            Transition<S, E> transition;
+            try {
+                transition = lifecycle.getTransition(state, event);
+            } catch (AmbiguousTransitionException ex) {
+                failureReporter.transitionAmbiguous(statefulObject.getLifecycleName(), state, event, statefulObject.getId(), ex);
+                context.clearPostedEvents();
+                return;
+            } catch (LifecycleNotFoundException ex) {
+                // reported by the provider which resolves the lifecycle lazily
+                context.clearPostedEvents();
+                return;
+            }
+            if (transition == null) {
+                failureReporter.transitionNotFound(statefulObject.getLifecycleName(), state, event, statefulObject.getId());
+                continue;
+            }
+
+            boolean success;
+            try {
+                success = transition.transit(context);
+            } catch (Exception ex) {
+                failureReporter.transitionFailed(statefulObject.getLifecycleName(), transition, event, statefulObject.getId(), ex);
+                context.clearPostedEvents();
+                return;
+            }
+            if (success && !commit(statefulObject, transition)) {
+                failureReporter.transitionFailed(statefulObject.getLifecycleName(), transition, event, statefulObject.getId(), conflict(transition));
+                context.clearPostedEvents();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Conflicts are expected under contention, so the exception doesn't fill in the stack trace
+     */
+    private static StateConflictException conflict(Transition<?, ?> transition) {
+        return new StateConflictException("The state was changed concurrently, so the transition from "
+                + transition.getSourceState() + " to " + transition.getTargetState() + " is not committed", false);
+    }
+
+    private TransitionResult<S, E> miss(TransitionStatus status, StatefulObject<S> statefulObject) {
+        if (log.isDebugEnabled()) {
+            log.debug("Transition is not executed: {}; state: {}, id: {}", status, statefulObject.getState(), statefulObject.getId());
+        }
+        return TransitionResult.miss(status);
+    }
+
+    /**
+     * Executes the stateful objects of the range {@code [from, to)} or splits
+     * the range in halves if it's larger than {@code CHUNK_SIZE}.
+     */
+    private final class BulkExecutionTask extends RecursiveTask<BulkExecutionStats> {
+
+        private static final int CHUNK_SIZE = 1024;
+
+        private final List<? extends StatefulObject<S>> statefulObjects;
+        private final int from;
+        private final int to;
+        private final E event;
+        private final Map<String, Object> variables;
+        private final Consumer<? super TransitionResult<S, E>> consumer;
+
+        BulkExecutionTask(List<? extends StatefulObject<S>> statefulObjects,
+                          int from,
+                          int to,
+                          E event,
+                          Map<String, Object> variables,
+                          Consumer<? super TransitionResult<S, E>> consumer) {
+            this.statefulObjects = statefulObjects;
+            this.from = from;
+            this.to = to;
+            this.event = event;
+            this.variables = variables;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected BulkExecutionStats compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                BulkExecutionTask left = new BulkExecutionTask(statefulObjects, from, middle, event, variables, consumer);
+                BulkExecutionTask right = new BulkExecutionTask(statefulObjects, middle, to, event, variables, consumer);
+                left.fork();
+                BulkExecutionStats stats = right.compute();
+                return stats.merge(left.join());
+            }
+
+            BulkExecutionStats stats = new BulkExecutionStats();
+            TransitionCache<S, E> transitions = new TransitionCache<>(transitionProvider, event);
+            ExecutionBuffer<S, E> buffer = new ExecutionBuffer<>();
+            for (int i = from; i < to; i++) {
+                StatefulObject<S> statefulObject = statefulObjects.get(i);
+                TransitionResult<S, E> result = transit(statefulObject, event, variables, transitions.getTransition(statefulObject), buffer);
+                stats.record(result);
+                consumer.accept(result);
+            }
+            return stats;
+        }
+    }
+
+    public static <S, E> Builder<S, E> builder() {
+        return new Builder<>();
+    }
+
+    public static final class Builder<S, E> {
+        private TransitionProvider<S, E> transitionProvider;
+        private boolean compactResults;
+        private FailureReporter failureReporter = new LoggingFailureReporter();
+        private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+        private int maxEventChainLength = DEFAULT_MAX_EVENT_CHAIN_LENGTH;
+
+        public Builder<S, E> transitionProvider(TransitionProvider<S, E> transitionProvider) {
+            this.transitionProvider = transitionProvider;
+            return this;
+        }
+
+        /**
+         * If enabled then the results don't retain the state context, so the stateful
+         * object and the variables are not kept reachable by the collected results.
+         * The results of the transitions finished without exceptions are shared
+         * flyweight instances. Results of the executions with
+         * the {@link ExecutionBuffer execution buffer} are not affected.
+         *
+         * @param compactResults whether the results should be compact
+         * @return the builder instance
+         */
+        public Builder<S, E> compactResults(boolean compactResults) {
+            this.compactResults = compactResults;
+            return this;
+        }
+
+        /**
+         * Sets the reporter of the failed transitions. By default
+         * the {@link LoggingFailureReporter} is used.
+         *
+         * @param failureReporter the reporter of the failures
+         * @return the builder instance
+         * @see AggregatingFailureReporter
+         */
+        public Builder<S, E> failureReporter(FailureReporter failureReporter) {
+            this.failureReporter = failureReporter;
+            return this;
+        }
+
+        /**
+         * Sets the pool of the {@link #executeAllParallel parallel bulk executions}.
+         * By default the {@link ForkJoinPool#commonPool() common pool} is used.
+         *
+         * @param forkJoinPool the pool of the parallel bulk executions
+         * @return the builder instance
+         */
+        public Builder<S, E> forkJoinPool(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the {@link StateContext#postEvent(Object) posted events}
+         * executed after a transition, including the events posted by the posted events.
+         * The rest of the chain is discarded and reported to the {@link FailureReporter failure reporter},
+         * so the events which endlessly post each other don't hang the caller.
+         * By default {@link #DEFAULT_MAX_EVENT_CHAIN_LENGTH}.
+         *
+         * @param maxEventChainLength the maximum length of the chain
+         * @return the builder instance
+         */
+        public Builder<S, E> maxEventChainLength(int maxEventChainLength) {
+            this.maxEventChainLength = maxEventChainLength;
+            return this;
+        }
+
+        public LifecycleManagerImpl<S, E> build() {
+            Objects.requireNonNull(transitionProvider, "transitionProvider must not be null!");
+            Objects.requireNonNull(failureReporter, "failureReporter must not be null!");
+            Objects.requireNonNull(forkJoinPool, "forkJoinPool must not be null!");
+            if (maxEventChainLength < 0) {
+                throw new IllegalArgumentException("maxEventChainLength must not be negative!");
+            }
+
+            return new LifecycleManagerImpl<>(transitionProvider, compactResults, failureReporter, forkJoinPool, maxEventChainLength);
+        }
+    }
 }
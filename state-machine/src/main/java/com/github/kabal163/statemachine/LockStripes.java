@@ -0,0 +1,70 @@
+package com.github.kabal163.statemachine;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by the keys with the same hash stripe. A group of keys
+ * is always locked in the ascending order of their stripes, so the threads locking
+ * overlapping groups can't deadlock.
+ */
+final class LockStripes {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param count the number of the locks, must be a power of two
+     */
+    LockStripes(int count) {
+        if (count <= 0 || Integer.bitCount(count) != 1) {
+            throw new IllegalArgumentException("The number of lock stripes must be a power of two but was " + count);
+        }
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Locks the stripes of all keys in the ascending order.
+     *
+     * @return the distinct locked stripes which must be passed to {@link #unlock(int[])}
+     */
+    int[] lock(Object[] keys) {
+        int[] stripes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            int hash = keys[i].hashCode();
+            stripes[i] = (hash ^ (hash >>> 16)) & mask;
+        }
+        Arrays.sort(stripes);
+
+        int distinct = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (i == 0 || stripes[i] != stripes[i - 1]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+        stripes = Arrays.copyOf(stripes, distinct);
+
+        for (int i = 0; i < stripes.length; i++) {
+            try {
+                locks[stripes[i]].lock();
+            } catch (RuntimeException | Error e) {
+                unlock(Arrays.copyOf(stripes, i));
+                throw e;
+            }
+        }
+        return stripes;
+    }
+
+    /**
+     * Unlocks the stripes in the reversed order.
+     */
+    void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+}
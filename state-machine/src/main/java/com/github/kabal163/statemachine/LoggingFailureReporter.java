@@ -0,0 +1,77 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * {@link FailureReporter} which logs each failure at the error level.
+ */
+public class LoggingFailureReporter implements FailureReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingFailureReporter.class);
+
+    @Override
+    public void transitionFailed(@Nullable String lifecycleName,
+                                 Transition<?, ?> transition,
+                                 Object event,
+                                 @Nullable Object id,
+                                 Exception exception) {
+        log.error("Error while transition from {} to {} with event {}; id: {}",
+                transition.getSourceState(),
+                transition.getTargetState(),
+                event,
+                id,
+                exception);
+    }
+
+    @Override
+    public void transitionNotFound(@Nullable String lifecycleName,
+                                   @Nullable Object sourceState,
+                                   Object event,
+                                   @Nullable Object id) {
+        log.error("There is no matching transition for source state: {} and event: {}, id: {}",
+                sourceState,
+                event,
+                id);
+    }
+
+    @Override
+    public void transitionAmbiguous(@Nullable String lifecycleName,
+                                    @Nullable Object sourceState,
+                                    Object event,
+                                    @Nullable Object id,
+                                    AmbiguousTransitionException exception) {
+        log.error("There are more than one matching transitions for source state: {} and event: {}, id: {}",
+                sourceState,
+                event,
+                id,
+                exception);
+    }
+
+    @Override
+    public void lifecycleNotFound(@Nullable String lifecycleName) {
+        if (isBlank(lifecycleName)) {
+            log.error("Null or empty lifecycle names are not supported!");
+        } else {
+            log.error("There is no such lifecycle: {}", lifecycleName);
+        }
+    }
+
+    @Override
+    public void eventChainTruncated(@Nullable String lifecycleName, @Nullable Object id, int limit, int discarded) {
+        log.error("The chain of posted events exceeds the limit of {} events, {} events are discarded; id: {}",
+                limit,
+                discarded,
+                id);
+    }
+
+    @Override
+    public void eventFailed(@Nullable String lifecycleName, Object event, @Nullable Object id, Exception exception) {
+        log.error("Unable to process the event {}; id: {}", event, id, exception);
+    }
+}
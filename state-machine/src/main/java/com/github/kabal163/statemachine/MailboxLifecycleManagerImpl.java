@@ -0,0 +1,219 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.AsyncLifecycleManager;
+import com.github.kabal163.statemachine.api.LifecycleManager;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Serializes transitions of each stateful object without locks. Events are enqueued
+ * into the mailbox of the stateful object which is identified by the {@link StatefulObject#getId() id}.
+ * The events of a mailbox are executed one at a time in the order of their enqueuing,
+ * while the mailboxes of different stateful objects are drained in parallel by the executor,
+ * by default the {@link ForkJoinPool#commonPool() common work-stealing pool}.
+ * <p>
+ * A mailbox exists only while it has pending events, so the memory is bounded
+ * by the number of the stateful objects with in-flight events, not by the number of all ids.
+ * A drain executes a limited batch of events and then yields the thread,
+ * so a busy stateful object doesn't starve the others.
+ * <p>
+ * Futures are completed by the thread which drains the mailbox, so the dependent
+ * stages without an executor are executed while the mailbox is still held.
+ * Keep them short or use the async stages.
+ * <p>
+ * If a transition throws an {@link Error} then its future is completed exceptionally,
+ * the error is rethrown to the executor and the rest of the mailbox is drained by a new task.
+ * If the executor rejects the drain of a mailbox then the futures of its pending events
+ * are completed exceptionally with the {@link RejectedExecutionException}.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public class MailboxLifecycleManagerImpl<S, E> implements AsyncLifecycleManager<S, E> {
+
+    /**
+     * The maximum number of events executed by a single drain of a mailbox
+     */
+    static final int BATCH_SIZE = 64;
+
+    private final LifecycleManager<S, E> lifecycleManager;
+    private final Executor executor;
+    private final Map<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public MailboxLifecycleManagerImpl(LifecycleManager<S, E> lifecycleManager) {
+        this(lifecycleManager, ForkJoinPool.commonPool());
+    }
+
+    public MailboxLifecycleManagerImpl(LifecycleManager<S, E> lifecycleManager, Executor executor) {
+        Objects.requireNonNull(lifecycleManager, "lifecycleManager must not be null!");
+        Objects.requireNonNull(executor, "executor must not be null!");
+
+        this.lifecycleManager = lifecycleManager;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the id of the stateful object is {@code null}
+     */
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject, E event) {
+        return execute(statefulObject, event, emptyMap());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the id of the stateful object is {@code null}
+     */
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject,
+                                                             E event,
+                                                             Map<String, Object> variables) {
+        return enqueue(statefulObject, event, variables, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the id of the stateful object is {@code null}
+     */
+    @Override
+    public CompletableFuture<TransitionResult<S, E>> tryExecute(StatefulObject<S> statefulObject,
+                                                                E event,
+                                                                Map<String, Object> variables) {
+        return enqueue(statefulObject, event, variables, true);
+    }
+
+    /**
+     * @return the number of the mailboxes with pending events
+     */
+    int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    private CompletableFuture<TransitionResult<S, E>> enqueue(StatefulObject<S> statefulObject,
+                                                              E event,
+                                                              Map<String, Object> variables,
+                                                              boolean tryExecute) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+        Object id = Objects.requireNonNull(statefulObject.getId(), "id of StatefulObject must not be null!");
+
+        Task task = new Task(statefulObject, event, variables, tryExecute);
+        Mailbox mailbox = mailboxes.compute(id, (key, existing) -> {
+            Mailbox target = existing == null ? new Mailbox(key) : existing;
+            target.tasks.add(task);
+            return target;
+        });
+        schedule(mailbox);
+        return task.future;
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (mailbox.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(mailbox));
+            } catch (RejectedExecutionException e) {
+                reject(mailbox, e);
+            }
+        }
+    }
+
+    private void reject(Mailbox mailbox, RejectedExecutionException exception) {
+        // the removal is atomic with the enqueuing to the same id, so after it no event
+        // is enqueued into the mailbox and the next events get a new one
+        mailboxes.remove(mailbox.id, mailbox);
+        Task task;
+        while ((task = mailbox.tasks.poll()) != null) {
+            task.future.completeExceptionally(exception);
+        }
+        mailbox.scheduled.set(false);
+    }
+
+    private void drain(Mailbox mailbox) {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Task task = mailbox.tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                task.run();
+            }
+        } finally {
+            // an error escaping the task must not leave the mailbox held forever
+            release(mailbox);
+        }
+    }
+
+    private void release(Mailbox mailbox) {
+        mailbox.scheduled.set(false);
+
+        // an event may be enqueued after the last poll but before the flag is cleared,
+        // so the enqueuing thread might have not scheduled the drain
+        if (!mailbox.tasks.isEmpty()) {
+            schedule(mailbox);
+            return;
+        }
+        // the removal is atomic with the enqueuing to the same id,
+        // so an event is never enqueued into the removed mailbox
+        mailboxes.computeIfPresent(mailbox.id, (key, existing) ->
+                existing == mailbox && mailbox.tasks.isEmpty() && !mailbox.scheduled.get() ? null : existing);
+    }
+
+    private final class Mailbox {
+        private final Object id;
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Mailbox(Object id) {
+            this.id = id;
+        }
+    }
+
+    private final class Task {
+        private final StatefulObject<S> statefulObject;
+        private final E event;
+        private final Map<String, Object> variables;
+        private final boolean tryExecute;
+        private final CompletableFuture<TransitionResult<S, E>> future = new CompletableFuture<>();
+
+        Task(StatefulObject<S> statefulObject, E event, Map<String, Object> variables, boolean tryExecute) {
+            this.statefulObject = statefulObject;
+            this.event = event;
+            this.variables = variables;
+            this.tryExecute = tryExecute;
+        }
+
+        void run() {
+            TransitionResult<S, E> result;
+            try {
+                result = tryExecute
+                        ? lifecycleManager.tryExecute(statefulObject, event, variables)
+                        : lifecycleManager.execute(statefulObject, event, variables);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+                return;
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+            future.complete(result);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * The state context created by the lifecycle manager. Opens the protected operations
+ * of the {@link StateContext} to this package, so the lifecycle manager can reuse
+ * the context, drain the posted events and tell the failed
+ * conditions from the failed actions, while the
+ * conditions and the actions which receive the context can't.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+final class ManagedStateContext<S, E> extends StateContext<S, E> {
+
+    ManagedStateContext(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        super(statefulObject, event, variables);
+    }
+
+    /**
+     * Marks that the actions of the transition are started if the context
+     * is created by the lifecycle manager
+     */
+    static void startActions(StateContext<?, ?> context) {
+        if (context instanceof ManagedStateContext) {
+            ((ManagedStateContext<?, ?>) context).startActions();
+        }
+    }
+
+    @Override
+    protected void reset(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        super.reset(statefulObject, event, variables);
+    }
+
+    @Override
+    protected void startActions() {
+        super.startActions();
+    }
+
+    @Override
+    protected boolean isActionsStarted() {
+        return super.isActionsStarted();
+    }
+
+    @Nullable
+    @Override
+    protected E pollPostedEvent() {
+        return super.pollPostedEvent();
+    }
+
+    @Override
+    protected void restoreEvent(E event) {
+        super.restoreEvent(event);
+    }
+
+    @Override
+    protected int clearPostedEvents() {
+        return super.clearPostedEvents();
+    }
+}
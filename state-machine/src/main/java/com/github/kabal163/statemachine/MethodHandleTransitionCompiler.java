@@ -0,0 +1,186 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.StateContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.foldArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Compiles the transitions of a lifecycle into a class generated at runtime.
+ * Conditions and actions of each transition are bound into a tree of
+ * method handles which is kept in a {@code static final} field of the
+ * generated class. The JIT treats the tree as a constant, so calls of
+ * the conditions and actions become monomorphic and can be inlined
+ * instead of going through a loop over megamorphic interface calls.
+ * <p>
+ * All compiled transitions of a lifecycle are instances of the same generated class
+ * which dispatches on the slot of the transition, so the call site of {@link Transition#transit}
+ * stays monomorphic for a lifecycle and the number of the generated classes doesn't grow
+ * with the number of the transitions. Only very large lifecycles are split into several
+ * classes of {@value #MAX_TRANSITIONS_PER_CLASS} transitions, so the generated methods
+ * don't exceed the limits of the class file.
+ * <p>
+ * The generated classes of a lifecycle are defined by their own class loader,
+ * so they are unloaded together with the lifecycle. No third-party libraries are used.
+ * <p>
+ * Transitions with the {@link Transition#isAdaptiveConditionOrder() adaptive condition order}
+ * are left as is because the order of their conditions can't be fixed in the method handle.
+ * So are the transitions with the {@link Transition#getTimeout() timeout} which is enforced
+ * by {@link Transition#transit} itself.
+ * <p>
+ * Pass the compiler to {@link JavaConfigLifecyclesInitializer#JavaConfigLifecyclesInitializer(TransitionCompiler)}
+ * in order to enable it.
+ */
+public final class MethodHandleTransitionCompiler implements TransitionCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(MethodHandleTransitionCompiler.class);
+
+    private static final String GENERATED_CLASS_PREFIX = "com.github.kabal163.statemachine.generated.CompiledLifecycle$";
+
+    static final int MAX_TRANSITIONS_PER_CLASS = 1024;
+
+    private static final MethodHandle EVALUATE;
+    private static final MethodHandle EXECUTE;
+    private static final MethodHandle START_ACTIONS;
+    private static final MethodHandle ACCEPT;
+    private static final MethodHandle REJECT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            EVALUATE = lookup.findVirtual(Condition.class, "evaluate", methodType(boolean.class, StateContext.class));
+            EXECUTE = lookup.findVirtual(Action.class, "execute", methodType(void.class, StateContext.class));
+            START_ACTIONS = MethodHandles.lookup().findStatic(ManagedStateContext.class, "startActions",
+                    methodType(void.class, StateContext.class));
+            ACCEPT = dropArguments(constant(boolean.class, true), 0, StateContext.class);
+            REJECT = dropArguments(constant(boolean.class, false), 0, StateContext.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Method handles waiting for the generated classes to be initialized.
+     */
+    private static final Map<Integer, MethodHandle> pendingBodies = new ConcurrentHashMap<>();
+    private static final AtomicInteger bodyIds = new AtomicInteger();
+
+    @Override
+    public <S, E> Set<Transition<S, E>> compile(String lifecycleName, Set<Transition<S, E>> transitions) {
+        Objects.requireNonNull(lifecycleName, "lifecycleName must not be null!");
+        Objects.requireNonNull(transitions, "transitions must not be null!");
+
+        TransitionClassLoader classLoader = new TransitionClassLoader(Transition.class.getClassLoader());
+        Set<Transition<S, E>> compiled = new HashSet<>();
+        List<Transition<S, E>> compilable = new ArrayList<>();
+        for (Transition<S, E> transition : transitions) {
+            if (transition.isAdaptiveConditionOrder() || transition.getTimeout() != null) {
+                compiled.add(transition);
+            } else {
+                compilable.add(transition);
+            }
+        }
+        for (int from = 0; from < compilable.size(); from += MAX_TRANSITIONS_PER_CLASS) {
+            int to = Math.min(from + MAX_TRANSITIONS_PER_CLASS, compilable.size());
+            compiled.addAll(compile(classLoader, lifecycleName, compilable.subList(from, to)));
+        }
+        log.debug("Compiled {} transitions of the lifecycle {}", compilable.size(), lifecycleName);
+
+        return compiled;
+    }
+
+    /**
+     * Hands over the method handle to the generated class. Called once for each
+     * transition from the static initializer of the generated class.
+     * Not intended to be used directly.
+     *
+     * @param bodyId identifier of the method handle
+     * @return the method handle implementing {@link Transition#transit}
+     */
+    public static MethodHandle takeBody(int bodyId) {
+        MethodHandle body = pendingBodies.remove(bodyId);
+        if (body == null) {
+            throw new IllegalStateException("There is no compiled transition with id: " + bodyId);
+        }
+        return body;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, E> List<Transition<S, E>> compile(TransitionClassLoader classLoader,
+                                                   String lifecycleName,
+                                                   List<Transition<S, E>> transitions) {
+        int[] ids = new int[transitions.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = bodyIds.incrementAndGet();
+            pendingBodies.put(ids[i], toMethodHandle(transitions.get(i)));
+        }
+        String className = GENERATED_CLASS_PREFIX + ids[0];
+        try {
+            Class<?> type = classLoader.define(className, TransitionClassGenerator.generate(className, ids));
+            Constructor<?> constructor = type.getConstructor(Transition.class, int.class);
+            List<Transition<S, E>> compiled = new ArrayList<>(ids.length);
+            for (int slot = 0; slot < ids.length; slot++) {
+                compiled.add((Transition<S, E>) constructor.newInstance(transitions.get(slot), slot));
+            }
+            return compiled;
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to compile transitions of the lifecycle " + lifecycleName, e);
+        } finally {
+            for (int id : ids) {
+                pendingBodies.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Builds the method handle {@code (StateContext)boolean} which evaluates
+     * the conditions one by one and, if all of them are met, marks the start
+     * of the actions and executes them.
+     */
+    private static <S, E> MethodHandle toMethodHandle(Transition<S, E> transition) {
+        MethodHandle body = ACCEPT;
+        List<Action<S, E>> actions = transition.getActions();
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            body = foldArguments(body, EXECUTE.bindTo(actions.get(i)));
+        }
+        body = foldArguments(body, START_ACTIONS);
+        List<Condition<S, E>> conditions = new ArrayList<>(transition.getConditions());
+        for (int i = conditions.size() - 1; i >= 0; i--) {
+            body = guardWithTest(EVALUATE.bindTo(conditions.get(i)), body, REJECT);
+        }
+        return body;
+    }
+
+    private static final class TransitionClassLoader extends ClassLoader {
+
+        TransitionClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String className, byte[] bytecode) {
+            Class<?> type = defineClass(className, bytecode, 0, bytecode.length);
+            resolveClass(type);
+            return type;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.StateContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes independent actions concurrently by the executor as a single action
+ * of the transition. The stage of the group completes when all actions are done,
+ * so the group is a barrier for the next actions of the transition. When any action
+ * fails the stage completes with its exception at once and the other actions
+ * are cancelled: the pending ones are not started and the running ones are interrupted.
+ * <p>
+ * Being an {@link AsyncAction async action}, the group doesn't block the thread
+ * when the transition is executed asynchronously, otherwise the thread waits for the group.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
+final class ParallelActionGroup<S, E> implements AsyncAction<S, E> {
+
+    private final Executor executor;
+    private final List<Action<S, E>> actions;
+
+    ParallelActionGroup(Executor executor, List<Action<S, E>> actions) {
+        this.executor = executor;
+        this.actions = actions;
+    }
+
+    List<Action<S, E>> getActions() {
+        return actions;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletionStage<Void> executeAsync(StateContext<S, E> context) {
+        CompletableFuture<Void> group = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(actions.size());
+        Member[] members = new ParallelActionGroup.Member[actions.size()];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Member(actions.get(i), context, group, remaining);
+        }
+        // cancels the rest of the members when any of them fails or the group is cancelled by the caller
+        group.whenComplete((result, exception) -> {
+            if (exception != null) {
+                cancelAll(members);
+            }
+        });
+
+        for (Member member : members) {
+            if (group.isDone()) {
+                break;
+            }
+            try {
+                executor.execute(member);
+            } catch (RejectedExecutionException e) {
+                group.completeExceptionally(e);
+            }
+        }
+        return group;
+    }
+
+    private static void cancelAll(FutureTask<?>[] members) {
+        for (FutureTask<?> member : members) {
+            member.cancel(true);
+        }
+    }
+
+    private final class Member extends FutureTask<Void> {
+        private final CompletableFuture<Void> group;
+        private final AtomicInteger remaining;
+
+        Member(Action<S, E> action,
+               StateContext<S, E> context,
+               CompletableFuture<Void> group,
+               AtomicInteger remaining) {
+            super(() -> {
+                action.execute(context);
+                return null;
+            });
+            this.group = group;
+            this.remaining = remaining;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                // the members are cancelled by the completion of the group
+                group.completeExceptionally(e.getCause());
+                return;
+            } catch (InterruptedException e) {
+                // the task is already done, so get() doesn't wait
+                Thread.currentThread().interrupt();
+            }
+            if (remaining.decrementAndGet() == 0) {
+                group.complete(null);
+            }
+        }
+    }
+}
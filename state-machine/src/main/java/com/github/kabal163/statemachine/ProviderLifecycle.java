@@ -0,0 +1,60 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The lifecycle of a stateful object which resolves the transitions by the
+ * {@link TransitionProvider#getTransition(StatefulObject, Object) transition provider}.
+ * Used by the providers which don't implement {@link TransitionProvider#findLifecycle(StatefulObject)}.
+ * Only the transitions of the current state of the stateful object can be resolved.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+final class ProviderLifecycle<S, E> implements Lifecycle<S, E> {
+
+    private final TransitionProvider<S, E> transitionProvider;
+    private final StatefulObject<S> statefulObject;
+
+    ProviderLifecycle(TransitionProvider<S, E> transitionProvider, StatefulObject<S> statefulObject) {
+        this.transitionProvider = transitionProvider;
+        this.statefulObject = Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+    }
+
+    @Override
+    public String getName() {
+        return statefulObject.getLifecycleName();
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, the provider doesn't expose the transitions
+     */
+    @Override
+    public Set<Transition<S, E>> getTransitions() {
+        throw new UnsupportedOperationException("The transitions are not exposed by " + transitionProvider.getClass().getName());
+    }
+
+    /**
+     * @throws LifecycleNotFoundException if the provider has no lifecycle of the stateful object
+     * @throws IllegalArgumentException   if the source state is not the current state of the stateful object
+     */
+    @Nullable
+    @Override
+    public Transition<S, E> getTransition(S sourceState, E event) {
+        if (!Objects.equals(sourceState, statefulObject.getState())) {
+            throw new IllegalArgumentException("Only the transitions of the current state can be resolved; state: "
+                    + statefulObject.getState() + ", requested: " + sourceState);
+        }
+        try {
+            return transitionProvider.getTransition(statefulObject, event);
+        } catch (TransitionNotFoundException e) {
+            return null;
+        }
+    }
+}
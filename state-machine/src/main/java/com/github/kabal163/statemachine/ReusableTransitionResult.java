@@ -0,0 +1,85 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+
+import javax.annotation.Nullable;
+
+/**
+ * The transition result which is refilled by each execution with the same
+ * {@link ExecutionBuffer execution buffer}, so the buffer doesn't allocate a result
+ * per execution. Unlike the public {@link TransitionResult} it's mutable, so it's
+ * confined to the buffer and never shared as a compact result.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
+final class ReusableTransitionResult<S, E> extends TransitionResult<S, E> {
+
+    private TransitionStatus status;
+    @Nullable
+    private StateContext<S, E> stateContext;
+    private S sourceState;
+    @Nullable
+    private S targetState;
+    @Nullable
+    private Exception exception;
+
+    ReusableTransitionResult(TransitionStatus status,
+                             StateContext<S, E> stateContext,
+                             S sourceState,
+                             S targetState,
+                             @Nullable Exception exception) {
+        super(status, null, sourceState, targetState, exception);
+        reset(status, stateContext, sourceState, targetState, exception);
+    }
+
+    /**
+     * Fills the result with the outcome of the next transition
+     */
+    void reset(TransitionStatus status,
+               StateContext<S, E> stateContext,
+               S sourceState,
+               S targetState,
+               @Nullable Exception exception) {
+        this.status = status;
+        this.stateContext = stateContext;
+        this.sourceState = sourceState;
+        this.targetState = targetState;
+        this.exception = exception;
+    }
+
+    @Override
+    public boolean isSucceeded() {
+        return status == TransitionStatus.OK;
+    }
+
+    @Override
+    public TransitionStatus getStatus() {
+        return status;
+    }
+
+    @Nullable
+    @Override
+    public StateContext<S, E> getStateContext() {
+        return stateContext;
+    }
+
+    @Override
+    public S getSourceState() {
+        return sourceState;
+    }
+
+    @Nullable
+    @Override
+    public S getTargetState() {
+        return targetState;
+    }
+
+    @Nullable
+    @Override
+    public Exception getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,376 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Hands events over to a dedicated thread which executes their transitions. The events are passed
+ * through a ring of preallocated slots: the producer fills the next free slot and publishes its sequence,
+ * the processing thread executes all published events as a batch and then releases their slots.
+ * The transitions are executed with a single reusable {@link ExecutionBuffer execution buffer},
+ * so in the steady state neither the producer nor the processing thread allocate anything,
+ * unless the conditions, actions or the result handler do.
+ * <p>
+ * There must be a single producer: {@link #publish} must not be called concurrently.
+ * If the ring is full then the producer waits for a free slot. The idle processing thread
+ * and the waiting producer behave according to the {@link WaitStrategy wait strategy}.
+ * <p>
+ * The result passed to the result handler is owned by the execution buffer and is
+ * valid only until the handler returns. If the transition can't be resolved then
+ * the event is skipped, the failure is reported by the transition provider.
+ * The failures of the transitions are reported by the lifecycle manager. Any other
+ * {@link RuntimeException}, e.g. of the result handler, is reported to the
+ * {@link FailureReporter#eventFailed failure reporter} of the lifecycle manager and the event
+ * is skipped, while an {@link Error} kills the processing thread and closes the processor,
+ * so the next {@link #publish} throws {@link IllegalStateException}.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public final class RingBufferEventProcessor<S, E> implements AutoCloseable {
+
+    /**
+     * How the processing thread waits for events and the producer waits for free slots
+     */
+    public enum WaitStrategy {
+
+        /**
+         * Spins on the sequence. The lowest latency, but occupies the core all the time
+         */
+        BUSY_SPIN,
+
+        /**
+         * Yields the core between checks of the sequence. Low latency while
+         * leaving the core to other threads if they need it
+         */
+        YIELD,
+
+        /**
+         * Parks the waiting thread until it is woken up. The highest latency,
+         * but doesn't consume the core while idle
+         */
+        BLOCKING
+    }
+
+    private final LifecycleManagerImpl<S, E> lifecycleManager;
+    private final Consumer<? super TransitionResult<S, E>> resultHandler;
+    private final WaitStrategy waitStrategy;
+    private final Slot<S, E>[] slots;
+    private final int mask;
+    private final ExecutionBuffer<S, E> buffer = new ExecutionBuffer<>();
+    private final Thread thread;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * The sequence of the last published event
+     */
+    private final Sequence published = new Sequence();
+
+    /**
+     * The sequence of the last processed event
+     */
+    private final Sequence processed = new Sequence();
+
+    /**
+     * The next sequence to publish. Accessed only by the producer
+     */
+    private long next;
+
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+
+    @SuppressWarnings("unchecked")
+    private RingBufferEventProcessor(LifecycleManagerImpl<S, E> lifecycleManager,
+                                     Consumer<? super TransitionResult<S, E>> resultHandler,
+                                     WaitStrategy waitStrategy,
+                                     int bufferSize,
+                                     ThreadFactory threadFactory) {
+        this.lifecycleManager = lifecycleManager;
+        this.resultHandler = resultHandler;
+        this.waitStrategy = waitStrategy;
+        this.slots = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot<>();
+        }
+        this.mask = bufferSize - 1;
+        this.next = published.get() + 1;
+        this.thread = threadFactory.newThread(this::process);
+    }
+
+    /**
+     * Starts the processing thread.
+     *
+     * @throws IllegalStateException if the processor is already started
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("The processor is already started!");
+        }
+        thread.start();
+    }
+
+    /**
+     * @see #publish(StatefulObject, Object, Map)
+     */
+    public void publish(StatefulObject<S> statefulObject, E event) {
+        publish(statefulObject, event, emptyMap());
+    }
+
+    /**
+     * Publishes the event for the execution on the processing thread.
+     * Waits for a free slot if the ring is full.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @throws IllegalStateException if the processor is closed or the processing thread died
+     * @throws NullPointerException  if any of arguments is {@code null}
+     */
+    public void publish(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        long sequence = next;
+        while (sequence - slots.length > processed.get()) {
+            if (!running) {
+                throw new IllegalStateException("The processor is closed!");
+            }
+            waitForSlot();
+        }
+        if (!running) {
+            throw new IllegalStateException("The processor is closed!");
+        }
+
+        slots[(int) sequence & mask].set(statefulObject, event, variables);
+        published.set(sequence);
+        next = sequence + 1;
+
+        if (waitStrategy == WaitStrategy.BLOCKING && waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Stops accepting events, waits until the published events are processed
+     * and stops the processing thread. Should be called after the producer
+     * stopped publishing, the event published concurrently may be not processed.
+     * If the calling thread is interrupted while waiting then returns without waiting
+     * for the rest of the events and keeps the interrupt status of the thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (started.get()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void process() {
+        try {
+            long sequence = processed.get();
+            while (true) {
+                long available = published.get();
+                if (available > sequence) {
+                    for (long i = sequence + 1; i <= available; i++) {
+                        execute(slots[(int) i & mask]);
+                    }
+                    sequence = available;
+                    processed.set(sequence);
+                } else if (!running) {
+                    // the events published before the close are visible after the flag is read
+                    if (published.get() == sequence) {
+                        return;
+                    }
+                } else {
+                    waitForEvents(sequence);
+                }
+            }
+        } finally {
+            // the thread dying of an error closes the processor, so the producer doesn't wait forever
+            running = false;
+        }
+    }
+
+    private void execute(Slot<S, E> slot) {
+        StatefulObject<S> statefulObject = slot.statefulObject;
+        try {
+            TransitionResult<S, E> result;
+            try {
+                result = lifecycleManager.execute(statefulObject, slot.event, slot.variables, buffer);
+            } catch (LifecycleNotFoundException | TransitionNotFoundException | AmbiguousTransitionException e) {
+                // already reported by the transition provider
+                return;
+            }
+            resultHandler.accept(result);
+        } catch (RuntimeException e) {
+            lifecycleManager.getFailureReporter().eventFailed(statefulObject.getLifecycleName(), slot.event, statefulObject.getId(), e);
+        } finally {
+            slot.clear();
+        }
+    }
+
+    private void waitForEvents(long sequence) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                waiting = true;
+                // the producer checks the flag after publishing, so the event published
+                // before the flag is set is noticed by this check
+                if (published.get() == sequence && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+        }
+    }
+
+    private void waitForSlot() {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                LockSupport.parkNanos(this, 1_000);
+        }
+    }
+
+    public static <S, E> Builder<S, E> builder() {
+        return new Builder<>();
+    }
+
+    public static final class Builder<S, E> {
+        private LifecycleManagerImpl<S, E> lifecycleManager;
+        private Consumer<? super TransitionResult<S, E>> resultHandler = result -> {
+        };
+        private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+        private int bufferSize = 1024;
+        private ThreadFactory threadFactory = runnable -> new Thread(runnable, "state-machine-ring-buffer");
+
+        public Builder<S, E> lifecycleManager(LifecycleManagerImpl<S, E> lifecycleManager) {
+            this.lifecycleManager = lifecycleManager;
+            return this;
+        }
+
+        /**
+         * Sets the handler of the results which is called on the processing thread.
+         * By default the results are ignored.
+         *
+         * @param resultHandler the handler of the results
+         * @return the builder instance
+         */
+        public Builder<S, E> resultHandler(Consumer<? super TransitionResult<S, E>> resultHandler) {
+            this.resultHandler = resultHandler;
+            return this;
+        }
+
+        /**
+         * Sets the wait strategy, by default {@link WaitStrategy#BLOCKING}.
+         *
+         * @param waitStrategy the wait strategy
+         * @return the builder instance
+         */
+        public Builder<S, E> waitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the number of the slots, by default 1024.
+         *
+         * @param bufferSize the number of the slots, must be a power of two
+         * @return the builder instance
+         */
+        public Builder<S, E> bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder<S, E> threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public RingBufferEventProcessor<S, E> build() {
+            Objects.requireNonNull(lifecycleManager, "lifecycleManager must not be null!");
+            Objects.requireNonNull(resultHandler, "resultHandler must not be null!");
+            Objects.requireNonNull(waitStrategy, "waitStrategy must not be null!");
+            Objects.requireNonNull(threadFactory, "threadFactory must not be null!");
+            if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+                throw new IllegalArgumentException("bufferSize must be a power of two but was " + bufferSize);
+            }
+
+            return new RingBufferEventProcessor<>(lifecycleManager, resultHandler, waitStrategy, bufferSize, threadFactory);
+        }
+    }
+
+    private static final class Slot<S, E> {
+        @Nullable
+        private StatefulObject<S> statefulObject;
+        @Nullable
+        private E event;
+        @Nullable
+        private Map<String, Object> variables;
+
+        void set(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+            this.statefulObject = statefulObject;
+            this.event = event;
+            this.variables = variables;
+        }
+
+        /**
+         * Releases the references, so the processed events are not kept reachable by the ring
+         */
+        void clear() {
+            this.statefulObject = null;
+            this.event = null;
+            this.variables = null;
+        }
+    }
+
+    /**
+     * Volatile sequence padded in order to keep the sequences of the producer
+     * and the processing thread in different cache lines
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence {
+        private long p1, p2, p3, p4, p5, p6, p7;
+        private volatile long value = -1;
+        private long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return value;
+        }
+
+        void set(long value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Bounds the {@link AsyncAction async action} by the timeout. When the deadline expires
+ * the stage of the action is cancelled and the caller is released at once. See {@link Deadlines}.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
+final class TimeLimitedAction<S, E> implements AsyncAction<S, E> {
+
+    private final AsyncAction<S, E> action;
+    private final Duration timeout;
+    private final long timeoutNanos;
+
+    TimeLimitedAction(AsyncAction<S, E> action, Duration timeout) {
+        this.action = action;
+        this.timeout = timeout;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * @param action  the async action to limit in time
+     * @param timeout the deadline of the action
+     * @return the time limited action
+     * @throws NullPointerException     if {@code action} or {@code timeout} is {@code null}
+     * @throws IllegalArgumentException if {@code timeout} is not positive or {@code action}
+     *                                  is not an {@link AsyncAction async action}
+     */
+    static <S, E> TimeLimitedAction<S, E> of(Action<S, E> action, Duration timeout) {
+        Objects.requireNonNull(action, "Action must not be null!");
+        Objects.requireNonNull(timeout, "Timeout must not be null!");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive but was " + timeout);
+        }
+        if (!(action instanceof AsyncAction)) {
+            throw new IllegalArgumentException("Timeout is supported only for the async actions but "
+                    + action.getClass().getName() + " is synchronous");
+        }
+        return new TimeLimitedAction<>((AsyncAction<S, E>) action, timeout);
+    }
+
+    Action<S, E> getAction() {
+        return action;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public CompletionStage<Void> executeAsync(StateContext<S, E> context) {
+        try {
+            return Deadlines.within(action.executeAsync(context).toCompletableFuture(), timeoutNanos, this::timeoutException);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void execute(StateContext<S, E> context) {
+        Deadlines.await(action.executeAsync(context).toCompletableFuture(), timeoutNanos, this::timeoutException);
+    }
+
+    private TransitionTimeoutException timeoutException() {
+        return new TransitionTimeoutException("Action " + action.getClass().getName() + " exceeded the timeout of " + timeout);
+    }
+}
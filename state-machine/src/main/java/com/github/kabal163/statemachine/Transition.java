@@ -1,57 +1,317 @@
 package com.github.kabal163.statemachine;
 
 import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
 import com.github.kabal163.statemachine.api.Condition;
 import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Transition from the source state to the target state by the event.
+ * Conditions are evaluated in the order of the given set, so pass an ordered set,
+ * e.g. {@link LinkedHashSet}, if the order matters. The first condition which
+ * returns {@code false} rejects the transition and the rest of them are not evaluated.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
 public class Transition<S, E> {
 
     private final S sourceState;
     private final S targetState;
     private final E event;
 
-    private final Set<Condition<S, E>> conditions;
-    private final List<Action<S, E>> actions;
+    private final Condition<S, E>[] conditions;
+    private final Action<S, E>[] actions;
+
+    @Nullable
+    private final AdaptiveConditionOrder<S, E> adaptiveConditionOrder;
+
+    @Nullable
+    private final Duration timeout;
+    private final long timeoutNanos;
+
+    /**
+     * Shared compact results of the transition which finished without exceptions
+     */
+    private final TransitionResult<S, E> succeededResult;
+    private final TransitionResult<S, E> rejectedResult;
 
     public Transition(S sourceState,
                       S targetState,
                       E event,
                       Set<Condition<S, E>> conditions,
                       List<Action<S, E>> actions) {
+        this(sourceState, targetState, event, conditions, actions, false);
+    }
+
+    /**
+     * @param adaptiveConditionOrder if true then the order of the conditions is adjusted
+     *                               at runtime according to their observed latency and rejection rate.
+     *                               Otherwise the conditions are always evaluated in the initial order
+     */
+    public Transition(S sourceState,
+                      S targetState,
+                      E event,
+                      Set<Condition<S, E>> conditions,
+                      List<Action<S, E>> actions,
+                      boolean adaptiveConditionOrder) {
+        this(sourceState, targetState, event, conditions, actions, adaptiveConditionOrder, null);
+    }
+
+    /**
+     * @param adaptiveConditionOrder if true then the order of the conditions is adjusted
+     *                               at runtime according to their observed latency and rejection rate.
+     *                               Otherwise the conditions are always evaluated in the initial order
+     * @param timeout                the deadline of the transition which is enforced on the async actions,
+     *                               see {@link #transit(StateContext)}, or {@code null} if the transition
+     *                               is not limited in time
+     */
+    @SuppressWarnings("unchecked")
+    public Transition(S sourceState,
+                      S targetState,
+                      E event,
+                      Set<Condition<S, E>> conditions,
+                      List<Action<S, E>> actions,
+                      boolean adaptiveConditionOrder,
+                      @Nullable Duration timeout) {
         Objects.requireNonNull(sourceState, "sourceState must not be null!");
         Objects.requireNonNull(targetState, "targetState must not be null!");
         Objects.requireNonNull(event, "event must not be null!");
         Objects.requireNonNull(conditions, "conditions must not be null!");
         Objects.requireNonNull(actions, "actions must not be null!");
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout must be positive but was " + timeout);
+        }
 
         this.sourceState = sourceState;
         this.targetState = targetState;
         this.event = event;
-        this.conditions = conditions;
-        this.actions = actions;
+        this.conditions = conditions.toArray(new Condition[0]);
+        this.actions = actions.toArray(new Action[0]);
+        this.adaptiveConditionOrder = adaptiveConditionOrder && this.conditions.length > 1
+                ? new AdaptiveConditionOrder<>(this.conditions)
+                : null;
+        this.timeout = timeout;
+        this.timeoutNanos = timeout == null ? 0 : timeout.toNanos();
+        this.succeededResult = new TransitionResult<>(true, null, sourceState, targetState, null);
+        this.rejectedResult = new TransitionResult<>(false, null, sourceState, targetState, null);
+    }
+
+    /**
+     * Creates a copy of the transition. Used by the {@link TransitionCompiler}
+     * transition compilers to specialize the transition's behaviour.
+     *
+     * @param prototype the transition to copy
+     */
+    protected Transition(Transition<S, E> prototype) {
+        Objects.requireNonNull(prototype, "prototype must not be null!");
+
+        this.sourceState = prototype.sourceState;
+        this.targetState = prototype.targetState;
+        this.event = prototype.event;
+        this.conditions = prototype.conditions;
+        this.actions = prototype.actions;
+        this.adaptiveConditionOrder = prototype.adaptiveConditionOrder;
+        this.timeout = prototype.timeout;
+        this.timeoutNanos = prototype.timeoutNanos;
+        this.succeededResult = prototype.succeededResult;
+        this.rejectedResult = prototype.rejectedResult;
     }
 
+    /**
+     * Evaluates the conditions and, if all of them are met, executes the actions.
+     * If the transition has the {@link #getTimeout() timeout} then the deadline
+     * is counted from the call. The stage of an {@link AsyncAction async action} is waited
+     * only until the deadline and is cancelled when it expires, and no action is started
+     * after the deadline. The conditions and the synchronous actions are not interrupted.
+     *
+     * @return true if all conditions are met and the actions are executed
+     * @throws TransitionTimeoutException if the deadline expires
+     */
     public boolean transit(StateContext<S, E> context) {
-        if (!conditions.stream().allMatch(condition -> condition.evaluate(context))) {
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeoutNanos;
+        if (!doEvaluateConditions(context)) {
             return false;
         }
-        actions.forEach(a -> a.execute(context));
+        doExecuteActions(context, deadline);
+
+        return true;
+    }
+
+    /**
+     * Evaluates the conditions without executing the actions. Together with
+     * {@link #executeActions(StateContext)} allows to check all transitions
+     * of a group before any of them is executed. The conditions are not
+     * bounded by the {@link #getTimeout() timeout}.
+     *
+     * @return true if all conditions are met
+     */
+    public boolean evaluateConditions(StateContext<S, E> context) {
+        return doEvaluateConditions(context);
+    }
 
+    private boolean doEvaluateConditions(StateContext<S, E> context) {
+        if (adaptiveConditionOrder != null) {
+            return adaptiveConditionOrder.evaluate(context);
+        }
+        for (Condition<S, E> condition : conditions) {
+            if (!condition.evaluate(context)) {
+                return false;
+            }
+        }
         return true;
     }
 
+    /**
+     * Executes the actions without evaluating the conditions. If the transition
+     * has the {@link #getTimeout() timeout} then the deadline is counted from the call
+     * and is enforced as by {@link #transit(StateContext)}.
+     *
+     * @throws TransitionTimeoutException if the deadline expires
+     * @see #evaluateConditions(StateContext)
+     */
+    public void executeActions(StateContext<S, E> context) {
+        doExecuteActions(context, timeout == null ? 0 : System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * @param deadline the {@link System#nanoTime() time} of the deadline,
+     *                 ignored if the transition is not limited in time
+     */
+    private void doExecuteActions(StateContext<S, E> context, long deadline) {
+        ManagedStateContext.startActions(context);
+        for (Action<S, E> action : actions) {
+            if (timeout == null) {
+                action.execute(context);
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                // the transition has already timed out, the rest of the actions must not be executed
+                throw timeoutException();
+            }
+            if (action instanceof AsyncAction) {
+                CompletableFuture<Void> stage = ((AsyncAction<S, E>) action).executeAsync(context).toCompletableFuture();
+                Deadlines.await(stage, remaining, this::timeoutException);
+            } else {
+                action.execute(context);
+            }
+        }
+    }
+
+    /**
+     * Executes the transition without blocking on the {@link AsyncAction async actions}.
+     * The conditions and the actions before the first async action are executed by the calling
+     * thread. Each next action is executed when the stage of the previous async action completes.
+     * <p>
+     * If the transition has the {@link #getTimeout() timeout} then the deadline is counted
+     * from the call. The future is completed with {@link TransitionTimeoutException} when
+     * the deadline expires, the pending stage is cancelled and no more actions are started.
+     * The conditions and the synchronous actions executed by the calling thread are not
+     * interrupted, so they aren't bounded by the deadline.
+     *
+     * @return the future which is completed with true if all conditions are met and
+     * all actions are done, with false if any condition is not met, or exceptionally
+     * if any condition or action fails
+     */
+    public CompletableFuture<Boolean> transitAsync(StateContext<S, E> context) {
+        if (timeout == null) {
+            return doTransitAsync(context, null);
+        }
+        CompletableFuture<Boolean> result = Deadlines.expiring(timeoutNanos, this::timeoutException);
+        Deadlines.complete(result, doTransitAsync(context, result));
+        return result;
+    }
+
+    /**
+     * @param deadline the future completed when the deadline expires or {@code null}
+     *                 if the transition is not limited in time
+     */
+    private CompletableFuture<Boolean> doTransitAsync(StateContext<S, E> context, @Nullable CompletableFuture<?> deadline) {
+        try {
+            if (!doEvaluateConditions(context)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            ManagedStateContext.startActions(context);
+            return executeActionsAsync(context, 0, deadline).thenApply(done -> true);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> executeActionsAsync(StateContext<S, E> context,
+                                                        int from,
+                                                        @Nullable CompletableFuture<?> deadline) {
+        for (int i = from; i < actions.length; i++) {
+            if (deadline != null && deadline.isDone()) {
+                // the transition has already timed out, the rest of the actions must not be executed
+                return CompletableFuture.failedFuture(timeoutException());
+            }
+            Action<S, E> action = actions[i];
+            if (action instanceof AsyncAction) {
+                int next = i + 1;
+                CompletableFuture<Void> stage = ((AsyncAction<S, E>) action).executeAsync(context).toCompletableFuture();
+                if (deadline != null) {
+                    deadline.whenComplete((value, exception) -> stage.cancel(true));
+                }
+                return next == actions.length
+                        ? stage
+                        : stage.thenCompose(done -> executeActionsAsync(context, next, deadline));
+            }
+            action.execute(context);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private TransitionTimeoutException timeoutException() {
+        return new TransitionTimeoutException("Transition from " + sourceState + " to " + targetState
+                + " by event " + event + " exceeded the timeout of " + timeout);
+    }
+
+    /**
+     * @param succeeded whether the transition was successful or not
+     * @return the shared result without the state context and the exception
+     */
+    TransitionResult<S, E> compactResult(boolean succeeded) {
+        return succeeded ? succeededResult : rejectedResult;
+    }
+
+    /**
+     * @return conditions in the initial order of evaluation
+     */
     public Set<Condition<S, E>> getConditions() {
-        return new HashSet<>(conditions);
+        return new LinkedHashSet<>(Arrays.asList(conditions));
+    }
+
+    /**
+     * @return true if the order of the conditions is adjusted at runtime
+     */
+    public boolean isAdaptiveConditionOrder() {
+        return adaptiveConditionOrder != null;
+    }
+
+    /**
+     * @return the deadline of the transition or {@code null} if it's not limited in time
+     */
+    @Nullable
+    public Duration getTimeout() {
+        return timeout;
     }
 
     public List<Action<S, E>> getActions() {
-        return new ArrayList<>(actions);
+        return new ArrayList<>(Arrays.asList(actions));
     }
 
     public S getSourceState() {
@@ -4,12 +4,18 @@ import com.github.kabal163.statemachine.api.Action;
 import com.github.kabal163.statemachine.api.Condition;
 import com.github.kabal163.statemachine.api.StatefulObject;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.lang3.ObjectUtils.allNotNull;
 
@@ -58,10 +64,34 @@ public class TransitionBuilderImpl<S, E> implements TransitionBuilder<S, E> {
 
     @Override
     public TransitionConfigurer<S, E> condition(Condition<S, E> condition) {
+        return condition(condition, DEFAULT_CONDITION_COST);
+    }
+
+    @Override
+    public TransitionConfigurer<S, E> condition(Condition<S, E> condition, int cost) {
         Objects.requireNonNull(condition, "Condition must not be null!");
         checkConfiguredTransitionIsNotNull();
 
-        currentlyConfigured.addCondition(condition);
+        currentlyConfigured.addCondition(condition, cost);
+
+        return this;
+    }
+
+    @Override
+    public TransitionConfigurer<S, E> adaptiveConditionOrder() {
+        checkConfiguredTransitionIsNotNull();
+
+        currentlyConfigured.setAdaptiveConditionOrder(true);
+
+        return this;
+    }
+
+    @Override
+    public TransitionConfigurer<S, E> timeout(Duration timeout) {
+        checkTimeout(timeout);
+        checkConfiguredTransitionIsNotNull();
+
+        currentlyConfigured.setTimeout(timeout);
 
         return this;
     }
@@ -76,6 +106,34 @@ public class TransitionBuilderImpl<S, E> implements TransitionBuilder<S, E> {
         return this;
     }
 
+    @Override
+    public TransitionConfigurer<S, E> action(Action<S, E> action, Duration timeout) {
+        Action<S, E> timeLimitedAction = TimeLimitedAction.of(action, timeout);
+        checkConfiguredTransitionIsNotNull();
+
+        currentlyConfigured.addAction(timeLimitedAction);
+
+        return this;
+    }
+
+    @SafeVarargs
+    @Override
+    public final TransitionConfigurer<S, E> actionGroup(Executor executor, Action<S, E>... actions) {
+        Objects.requireNonNull(executor, "Executor must not be null!");
+        Objects.requireNonNull(actions, "Actions must not be null!");
+        if (actions.length == 0) {
+            throw new IllegalArgumentException("Action group must contain at least one action!");
+        }
+        for (Action<S, E> action : actions) {
+            Objects.requireNonNull(action, "Action must not be null!");
+        }
+        checkConfiguredTransitionIsNotNull();
+
+        currentlyConfigured.addAction(new ParallelActionGroup<>(executor, List.of(actions)));
+
+        return this;
+    }
+
     @Override
     public Set<Transition<S, E>> buildTransitions() {
         for (TempTransition<S, E> transition : tmpTransitions) {
@@ -94,10 +152,19 @@ public class TransitionBuilderImpl<S, E> implements TransitionBuilder<S, E> {
                         tmp.getTargetState(),
                         tmp.getEvent(),
                         tmp.getConditions(),
-                        tmp.getActions()))
+                        tmp.getActions(),
+                        tmp.isAdaptiveConditionOrder(),
+                        tmp.getTimeout()))
                 .collect(toSet());
     }
 
+    private static void checkTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "Timeout must not be null!");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive but was " + timeout);
+        }
+    }
+
     private void checkConfiguredTransitionIsNotNull() {
         if (currentlyConfigured == null) {
             throw new IllegalStateException(ERROR_MESSAGE);
@@ -114,8 +181,10 @@ public class TransitionBuilderImpl<S, E> implements TransitionBuilder<S, E> {
         private S sourceState;
         private S targetState;
         private E event;
-        private final Set<Condition<S, E>> conditions = new HashSet<>();
+        private final Map<Condition<S, E>, Integer> conditionCosts = new LinkedHashMap<>();
         private final List<Action<S, E>> actions = new LinkedList<>();
+        private boolean adaptiveConditionOrder;
+        private Duration timeout;
 
         public S getSourceState() {
             return sourceState;
@@ -141,12 +210,35 @@ public class TransitionBuilderImpl<S, E> implements TransitionBuilder<S, E> {
             this.event = event;
         }
 
+        /**
+         * @return conditions sorted by the cost, conditions with the same cost
+         * keep the order of declaration
+         */
         public Set<Condition<S, E>> getConditions() {
-            return conditions;
+            return conditionCosts.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .collect(toCollection(LinkedHashSet::new));
+        }
+
+        public void addCondition(Condition<S, E> condition, int cost) {
+            this.conditionCosts.put(condition, cost);
+        }
+
+        public boolean isAdaptiveConditionOrder() {
+            return adaptiveConditionOrder;
+        }
+
+        public void setAdaptiveConditionOrder(boolean adaptiveConditionOrder) {
+            this.adaptiveConditionOrder = adaptiveConditionOrder;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
         }
 
-        public void addCondition(Condition<S, E> condition) {
-            this.conditions.add(condition);
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
         }
 
         public List<Action<S, E>> getActions() {
@@ -0,0 +1,68 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolves transitions of a batch of stateful objects for the same event.
+ * The transition of each distinct lifecycle and source state is resolved
+ * by the transition provider once and then is reused for the rest of the batch.
+ * The last resolved transition is checked first, so a batch grouped by
+ * lifecycle and state doesn't even hash.
+ * <p>
+ * The cache is not thread-safe and lives as long as the batch.
+ *
+ * @param <S> type of the state of the stateful object
+ * @param <E> type of event
+ */
+final class TransitionCache<S, E> {
+
+    private final TransitionProvider<S, E> transitionProvider;
+    private final E event;
+    private final Map<String, Map<S, Transition<S, E>>> transitionsByLifecycle = new HashMap<>();
+
+    @Nullable
+    private String lastLifecycleName;
+    @Nullable
+    private S lastState;
+    @Nullable
+    private Transition<S, E> lastTransition;
+
+    TransitionCache(TransitionProvider<S, E> transitionProvider, E event) {
+        this.transitionProvider = transitionProvider;
+        this.event = event;
+    }
+
+    /**
+     * @throws com.github.kabal163.statemachine.exception.TransitionNotFoundException  if no matching transition is found
+     * @throws com.github.kabal163.statemachine.exception.LifecycleNotFoundException   if there is no lifecycle of the stateful object
+     * @throws com.github.kabal163.statemachine.exception.AmbiguousTransitionException if more then one matching transition is found
+     */
+    Transition<S, E> getTransition(StatefulObject<S> statefulObject) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+
+        String lifecycleName = statefulObject.getLifecycleName();
+        S state = statefulObject.getState();
+        if (lastTransition != null
+                && Objects.equals(lastState, state)
+                && Objects.equals(lastLifecycleName, lifecycleName)) {
+            return lastTransition;
+        }
+
+        Map<S, Transition<S, E>> transitionsByState = transitionsByLifecycle.computeIfAbsent(lifecycleName, name -> new HashMap<>());
+        Transition<S, E> transition = transitionsByState.get(state);
+        if (transition == null) {
+            transition = transitionProvider.getTransition(statefulObject, event);
+            transitionsByState.put(state, transition);
+        }
+
+        lastLifecycleName = lifecycleName;
+        lastState = state;
+        lastTransition = transition;
+        return transition;
+    }
+}
@@ -0,0 +1,390 @@
+package com.github.kabal163.statemachine;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates bytecode of a {@link Transition} subclass shared by the compiled transitions
+ * of a lifecycle. Each instance knows its slot and {@link Transition#transit} dispatches
+ * on the slot to a {@code static final} method handle of the transition. The method handles
+ * are JIT constants, so the whole chain of conditions and actions bound into each of them
+ * can be inlined into the generated method, while the call site of {@link Transition#transit}
+ * sees a single class for all compiled transitions of the lifecycle.
+ * <p>
+ * The generated class looks like:
+ * <pre>{@code
+ * public final class <name> extends Transition {
+ *     private static final MethodHandle BODY_0 = MethodHandleTransitionCompiler.takeBody(<bodyId0>);
+ *     private static final MethodHandle BODY_1 = MethodHandleTransitionCompiler.takeBody(<bodyId1>);
+ *     ...
+ *     private final int slot;
+ *
+ *     public <name>(Transition prototype, int slot) {
+ *         super(prototype);
+ *         this.slot = slot;
+ *     }
+ *
+ *     public boolean transit(StateContext context) {
+ *         switch (slot) {
+ *             case 0: return (boolean) BODY_0.invokeExact(context);
+ *             case 1: return (boolean) BODY_1.invokeExact(context);
+ *             ...
+ *             default: return super.transit(context);
+ *         }
+ *     }
+ * }
+ * }</pre>
+ * All branch targets of the switch have the frame of the method entry,
+ * so the stack map of the class file consists of the same frames only.
+ */
+final class TransitionClassGenerator {
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int JAVA_7_VERSION = 51;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ILOAD_2 = 0x1c;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int LDC_W = 0x13;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private static final int SAME_FRAME_MAX_OFFSET_DELTA = 63;
+    private static final int SAME_FRAME_EXTENDED = 251;
+
+    /**
+     * The size of the code of each case: getstatic, aload_1, invokevirtual, ireturn
+     */
+    private static final int CASE_SIZE = 8;
+
+    private static final String TRANSITION = internalName(Transition.class);
+    private static final String COMPILER = internalName(MethodHandleTransitionCompiler.class);
+    private static final String STATE_CONTEXT = "com/github/kabal163/statemachine/api/StateContext";
+    private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String BODY_FIELD_PREFIX = "BODY_";
+    private static final String SLOT_FIELD = "slot";
+
+    private TransitionClassGenerator() {
+    }
+
+    /**
+     * @param className binary name of the generated class
+     * @param bodyIds   identifiers of the method handles registered in the {@link MethodHandleTransitionCompiler}
+     *                  in the order of the slots
+     * @return bytecode of the generated class
+     */
+    static byte[] generate(String className, int[] bodyIds) {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(className.replace('.', '/'));
+        int superClass = pool.classRef(TRANSITION);
+        String bodyDescriptor = "L" + METHOD_HANDLE + ";";
+        int bodyFieldDescriptor = pool.utf8(bodyDescriptor);
+        int[] bodyFieldNames = new int[bodyIds.length];
+        int[] bodyFields = new int[bodyIds.length];
+        int[] bodyIdConstants = new int[bodyIds.length];
+        for (int i = 0; i < bodyIds.length; i++) {
+            bodyFieldNames[i] = pool.utf8(BODY_FIELD_PREFIX + i);
+            bodyFields[i] = pool.fieldRef(thisClass, BODY_FIELD_PREFIX + i, bodyDescriptor);
+            bodyIdConstants[i] = pool.integer(bodyIds[i]);
+        }
+        int slotFieldName = pool.utf8(SLOT_FIELD);
+        int slotFieldDescriptor = pool.utf8("I");
+        int slotField = pool.fieldRef(thisClass, SLOT_FIELD, "I");
+        int superConstructor = pool.methodRef(superClass, "<init>", "(L" + TRANSITION + ";)V");
+        int superTransit = pool.methodRef(superClass, "transit", "(L" + STATE_CONTEXT + ";)Z");
+        int invokeExact = pool.methodRef(pool.classRef(METHOD_HANDLE), "invokeExact", "(L" + STATE_CONTEXT + ";)Z");
+        int takeBody = pool.methodRef(pool.classRef(COMPILER), "takeBody", "(I)L" + METHOD_HANDLE + ";");
+        int stackMapTable = pool.utf8("StackMapTable");
+
+        List<byte[]> methods = new ArrayList<>();
+        methods.add(method(pool, ACC_PUBLIC, "<init>", "(L" + TRANSITION + ";I)V", 2, 3, code -> {
+            code.writeByte(ALOAD_0);
+            code.writeByte(ALOAD_1);
+            code.writeByte(INVOKESPECIAL);
+            code.writeShort(superConstructor);
+            code.writeByte(ALOAD_0);
+            code.writeByte(ILOAD_2);
+            code.writeByte(PUTFIELD);
+            code.writeShort(slotField);
+            code.writeByte(RETURN);
+        }));
+        methods.add(transit(pool, slotField, bodyFields, invokeExact, superTransit, stackMapTable));
+        methods.add(method(pool, ACC_STATIC, "<clinit>", "()V", 1, 0, code -> {
+            for (int i = 0; i < bodyIds.length; i++) {
+                code.writeByte(LDC_W);
+                code.writeShort(bodyIdConstants[i]);
+                code.writeByte(INVOKESTATIC);
+                code.writeShort(takeBody);
+                code.writeByte(PUTSTATIC);
+                code.writeShort(bodyFields[i]);
+            }
+            code.writeByte(RETURN);
+        }));
+
+        return write(out -> {
+            out.writeInt(CLASS_FILE_MAGIC);
+            out.writeShort(0);
+            out.writeShort(JAVA_7_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+
+            out.writeShort(bodyIds.length + 1);
+            for (int bodyFieldName : bodyFieldNames) {
+                out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+                out.writeShort(bodyFieldName);
+                out.writeShort(bodyFieldDescriptor);
+                out.writeShort(0);
+            }
+            out.writeShort(ACC_PRIVATE | ACC_FINAL);
+            out.writeShort(slotFieldName);
+            out.writeShort(slotFieldDescriptor);
+            out.writeShort(0);
+
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        });
+    }
+
+    /**
+     * Writes {@code transit} as a {@code tableswitch} over the slot. The cases follow
+     * the switch in the order of the slots and the default case follows the last of them.
+     */
+    private static byte[] transit(ConstantPool pool,
+                                  int slotField,
+                                  int[] bodyFields,
+                                  int invokeExact,
+                                  int superTransit,
+                                  int stackMapTable) {
+        int switchOffset = 4;
+        int padding = 3 - switchOffset % 4;
+        int firstCaseOffset = switchOffset + 1 + padding + 12 + 4 * bodyFields.length;
+        int defaultOffset = firstCaseOffset + CASE_SIZE * bodyFields.length;
+
+        byte[] code = write(out -> {
+            out.writeByte(ALOAD_0);
+            out.writeByte(GETFIELD);
+            out.writeShort(slotField);
+            out.writeByte(TABLESWITCH);
+            for (int i = 0; i < padding; i++) {
+                out.writeByte(0);
+            }
+            out.writeInt(defaultOffset - switchOffset);
+            out.writeInt(0);
+            out.writeInt(bodyFields.length - 1);
+            for (int i = 0; i < bodyFields.length; i++) {
+                out.writeInt(firstCaseOffset + CASE_SIZE * i - switchOffset);
+            }
+            for (int bodyField : bodyFields) {
+                out.writeByte(GETSTATIC);
+                out.writeShort(bodyField);
+                out.writeByte(ALOAD_1);
+                out.writeByte(INVOKEVIRTUAL);
+                out.writeShort(invokeExact);
+                out.writeByte(IRETURN);
+            }
+            out.writeByte(ALOAD_0);
+            out.writeByte(ALOAD_1);
+            out.writeByte(INVOKESPECIAL);
+            out.writeShort(superTransit);
+            out.writeByte(IRETURN);
+        });
+
+        byte[] frames = write(out -> {
+            out.writeShort(bodyFields.length + 1);
+            int previous = -1;
+            for (int i = 0; i <= bodyFields.length; i++) {
+                int offset = firstCaseOffset + CASE_SIZE * i;
+                int delta = offset - previous - 1;
+                if (delta <= SAME_FRAME_MAX_OFFSET_DELTA) {
+                    out.writeByte(delta);
+                } else {
+                    out.writeByte(SAME_FRAME_EXTENDED);
+                    out.writeShort(delta);
+                }
+                previous = offset;
+            }
+        });
+        byte[] attribute = write(out -> {
+            out.writeShort(stackMapTable);
+            out.writeInt(frames.length);
+            out.write(frames);
+        });
+
+        return method(pool, ACC_PUBLIC, "transit", "(L" + STATE_CONTEXT + ";)Z", 2, 2, code, attribute);
+    }
+
+    private static byte[] method(ConstantPool pool,
+                                 int access,
+                                 String name,
+                                 String descriptor,
+                                 int maxStack,
+                                 int maxLocals,
+                                 Writer body) {
+        return method(pool, access, name, descriptor, maxStack, maxLocals, write(body), null);
+    }
+
+    private static byte[] method(ConstantPool pool,
+                                 int access,
+                                 String name,
+                                 String descriptor,
+                                 int maxStack,
+                                 int maxLocals,
+                                 byte[] code,
+                                 @Nullable byte[] attribute) {
+        int nameIndex = pool.utf8(name);
+        int descriptorIndex = pool.utf8(descriptor);
+        int codeAttribute = pool.utf8("Code");
+        int attributeLength = attribute == null ? 0 : attribute.length;
+
+        return write(out -> {
+            out.writeShort(access);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + code.length + attributeLength);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);
+            if (attribute == null) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.write(attribute);
+            }
+        });
+    }
+
+    private static byte[] write(Writer writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writer.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Constant pool of the generated class. Equal entries are stored once.
+     */
+    private static final class ConstantPool {
+
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_INTEGER = 3;
+        private static final int CONSTANT_CLASS = 7;
+        private static final int CONSTANT_FIELDREF = 9;
+        private static final int CONSTANT_METHODREF = 10;
+        private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+
+        int utf8(String value) {
+            return entry("utf8:" + value, out -> {
+                out.writeByte(CONSTANT_UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int integer(int value) {
+            return entry("int:" + value, out -> {
+                out.writeByte(CONSTANT_INTEGER);
+                out.writeInt(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("class:" + internalName, out -> {
+                out.writeByte(CONSTANT_CLASS);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(int owner, String name, String descriptor) {
+            int nameAndType = nameAndType(name, descriptor);
+            return entry("field:" + owner + ":" + nameAndType, out -> {
+                out.writeByte(CONSTANT_FIELDREF);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        int methodRef(int owner, String name, String descriptor) {
+            int nameAndType = nameAndType(name, descriptor);
+            return entry("method:" + owner + ":" + nameAndType, out -> {
+                out.writeByte(CONSTANT_METHODREF);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            return entry("nameAndType:" + nameIndex + ":" + descriptorIndex, out -> {
+                out.writeByte(CONSTANT_NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+        }
+
+        private int entry(String key, Writer writer) {
+            Integer index = indexes.get(key);
+            if (index == null) {
+                entries.add(write(writer));
+                index = entries.size();
+                indexes.put(key, index);
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeShort(entries.size() + 1);
+            for (byte[] entry : entries) {
+                out.write(entry);
+            }
+        }
+    }
+}
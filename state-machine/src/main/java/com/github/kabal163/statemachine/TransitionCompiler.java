@@ -0,0 +1,28 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.LifecyclesInitializer;
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import java.util.Set;
+
+/**
+ * Turns transitions built from a lifecycle configuration into
+ * transitions optimized for execution. Used by the {@link LifecyclesInitializer}
+ * lifecycles initializer once per lifecycle. The compiled transitions
+ * must behave exactly as the original ones.
+ *
+ * @see MethodHandleTransitionCompiler
+ */
+public interface TransitionCompiler {
+
+    /**
+     * Compiles transitions of a lifecycle.
+     *
+     * @param lifecycleName the name of the lifecycle the transitions belong to
+     * @param transitions   transitions of the lifecycle
+     * @param <S>           type of the state of the {@link StatefulObject stateful object}
+     * @param <E>           type of event
+     * @return compiled transitions
+     */
+    <S, E> Set<Transition<S, E>> compile(String lifecycleName, Set<Transition<S, E>> transitions);
+}
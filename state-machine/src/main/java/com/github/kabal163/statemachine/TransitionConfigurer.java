@@ -4,6 +4,11 @@ import com.github.kabal163.statemachine.api.Action;
 import com.github.kabal163.statemachine.api.Condition;
 import com.github.kabal163.statemachine.api.StatefulObject;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
 /**
  * Convenient component which helps to configure the lifecycle effortless.
  * The important thing is the {@code with()} method must be called each time
@@ -18,6 +23,11 @@ import com.github.kabal163.statemachine.api.StatefulObject;
  */
 public interface TransitionConfigurer<S, E> {
 
+    /**
+     * The cost of the conditions defined without a cost hint
+     */
+    int DEFAULT_CONDITION_COST = 0;
+
     /**
      * Used to define the new one described transition.
      * Must be call each time before starting transition describing
@@ -80,6 +90,63 @@ public interface TransitionConfigurer<S, E> {
      */
     TransitionConfigurer<S, E> condition(Condition<S, E> condition);
 
+    /**
+     * Defines a guard with the hint of its cost. Conditions are evaluated
+     * in the ascending order of the cost, conditions with the same cost are
+     * evaluated in the order of declaration. Conditions defined by the
+     * {@link #condition(Condition)} have the {@link #DEFAULT_CONDITION_COST default cost}.
+     * Put cheap and selective conditions first, so that the expensive ones,
+     * e.g. which go to a cache or a database, are not evaluated if the transition
+     * is rejected anyway. By default the cost is ignored and the condition
+     * is defined by the {@link #condition(Condition)}.
+     *
+     * @param condition a guard which prevents transition execution
+     * @param cost      relative cost of the condition evaluation
+     * @return the configurer instance
+     * @throws NullPointerException if {@code condition} is {@code null}
+     */
+    default TransitionConfigurer<S, E> condition(Condition<S, E> condition, int cost) {
+        return condition(condition);
+    }
+
+    /**
+     * Enables reordering of the transition's conditions at runtime. The conditions
+     * start in the order defined by their cost, then the transition measures
+     * a sample of evaluations and periodically puts first the conditions which
+     * reject the transition most often at the lowest price. Use it only if
+     * the conditions don't depend on each other. This is optional attribute
+     * and can be omitted. By default the hint is ignored and the conditions
+     * keep their order.
+     *
+     * @return the configurer instance
+     */
+    default TransitionConfigurer<S, E> adaptiveConditionOrder() {
+        return this;
+    }
+
+    /**
+     * Limits the time of the transition. The deadline is counted from the start of the transition
+     * but is enforced only on the {@link com.github.kabal163.statemachine.api.AsyncAction async actions}:
+     * the caller waits for their stages until the deadline, then the pending stage is cancelled, no more
+     * actions are started and the transition fails as described in {@link #action(Action, Duration)}.
+     * The conditions and the synchronous actions are executed by the caller's thread and are never
+     * interrupted, so they are not bounded by the deadline: the transition times out only
+     * when the next action is about to start. The deadlines are tracked by a single shared
+     * timer thread. This is optional attribute and can be omitted.
+     * <p>
+     * By default throws {@link UnsupportedOperationException}, so the configurers implemented
+     * before the method was added don't silently ignore the deadline.
+     *
+     * @param timeout the deadline of the transition
+     * @return the configurer instance
+     * @throws NullPointerException          if {@code timeout} is {@code null}
+     * @throws IllegalArgumentException      if {@code timeout} is not positive
+     * @throws UnsupportedOperationException if the configurer doesn't support the deadlines
+     */
+    default TransitionConfigurer<S, E> timeout(Duration timeout) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support the transition timeout");
+    }
+
     /**
      * Defines a piece of work which must be performed in order to transit
      * the stateful object to the target state. If any action throws an
@@ -92,4 +159,64 @@ public interface TransitionConfigurer<S, E> {
      * @throws NullPointerException if {@code action} is {@code null}
      */
     TransitionConfigurer<S, E> action(Action<S, E> action);
+
+    /**
+     * Defines an {@link com.github.kabal163.statemachine.api.AsyncAction async action} which must finish
+     * within the timeout. When the deadline expires the stage of the action is cancelled, the caller
+     * is released and the transition fails with the {@link com.github.kabal163.statemachine.exception.TransitionTimeoutException
+     * timeout exception}, so its result has the {@link com.github.kabal163.statemachine.api.TransitionStatus#TIMED_OUT
+     * TIMED_OUT} status. Only the async actions can be limited in time because the synchronous ones
+     * are executed by the caller's thread, which is never interrupted.
+     * <p>
+     * By default the time limited action is defined by {@link #action(Action)}, so the configurers
+     * implemented before the method was added keep working.
+     *
+     * @param action  a piece of work which must be performed in order to transit
+     *                the stateful object to the target state
+     * @param timeout the deadline of the action
+     * @return the configurer instance
+     * @throws NullPointerException     if {@code action} or {@code timeout} is {@code null}
+     * @throws IllegalArgumentException if {@code timeout} is not positive or {@code action}
+     *                                  is not an {@link com.github.kabal163.statemachine.api.AsyncAction async action}
+     */
+    default TransitionConfigurer<S, E> action(Action<S, E> action, Duration timeout) {
+        return action(TimeLimitedAction.of(action, timeout));
+    }
+
+    /**
+     * Defines a group of independent actions which are executed concurrently
+     * by the executor. The group is ordered with the other actions and groups
+     * of the transition as a single action: it starts when the previous action
+     * is done, and the next action starts when all actions of the group are done.
+     * If any action of the group throws an exception then the other actions
+     * of the group are cancelled, running ones are interrupted, and the whole
+     * transition is treated as failed.
+     * <p>
+     * The actions of the group share the {@link com.github.kabal163.statemachine.api.StateContext state context},
+     * which is not thread-safe, so they may read the variables and the stateful object
+     * but must not modify the context.
+     * <p>
+     * By default the group is defined as a single {@link #action(Action) action}, so
+     * the configurers implemented before the method was added keep working.
+     *
+     * @param executor executes the actions of the group
+     * @param actions  independent pieces of work which must be performed
+     *                 in order to transit the stateful object to the target state
+     * @return the configurer instance
+     * @throws NullPointerException     if {@code executor} or any action is {@code null}
+     * @throws IllegalArgumentException if there are no actions
+     */
+    @SuppressWarnings("unchecked")
+    default TransitionConfigurer<S, E> actionGroup(Executor executor, Action<S, E>... actions) {
+        Objects.requireNonNull(executor, "Executor must not be null!");
+        Objects.requireNonNull(actions, "Actions must not be null!");
+        if (actions.length == 0) {
+            throw new IllegalArgumentException("Action group must contain at least one action!");
+        }
+        for (Action<S, E> action : actions) {
+            Objects.requireNonNull(action, "Action must not be null!");
+        }
+
+        return action(new ParallelActionGroup<>(executor, List.of(actions)));
+    }
 }
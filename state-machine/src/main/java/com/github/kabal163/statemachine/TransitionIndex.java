@@ -0,0 +1,61 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+
+/**
+ * Immutable index of the lifecycle's transitions keyed by source state and event.
+ * It is built once when a lifecycle is created, so looking up a transition
+ * neither scans the whole lifecycle nor allocates anything.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+interface TransitionIndex<S, E> {
+
+    /**
+     * Builds the index of the transitions. If all the source states belong to
+     * one enum and all the events belong to another one then the transitions
+     * are put into a table addressed by the ordinals. Otherwise
+     * the transitions are kept in hash maps.
+     *
+     * @param transitions transitions of a lifecycle
+     * @return the index of the transitions
+     * @throws AmbiguousTransitionException if more then one transition has the same source state and event
+     */
+    static <S, E> TransitionIndex<S, E> of(Set<Transition<S, E>> transitions) {
+        return EnumTransitionIndex.isApplicable(transitions)
+                ? EnumTransitionIndex.of(transitions)
+                : HashTransitionIndex.of(transitions);
+    }
+
+    /**
+     * Returns the transition matching the source state and the event.
+     *
+     * @param sourceState the stateful object's state at the moment of start a transition
+     * @param event       a signal which helps to define the target state
+     * @return matching transition or {@code null} if there is no such transition
+     */
+    @Nullable
+    Transition<S, E> get(S sourceState, E event);
+
+    /**
+     * Reports ambiguous transition found while building an index.
+     *
+     * @param transition the transition which has the same source state and event as another one
+     * @return the exception to be thrown
+     */
+    static AmbiguousTransitionException ambiguousTransition(Transition<?, ?> transition) {
+        Logger log = LoggerFactory.getLogger(TransitionIndex.class);
+        log.error("There is more then one transition match! Source state: {}, event: {}",
+                transition.getSourceState(),
+                transition.getEvent());
+        return new AmbiguousTransitionException("There is more then one transition match! Source state: "
+                + transition.getSourceState() + ", event: " + transition.getEvent());
+    }
+}
@@ -0,0 +1,298 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.AsyncLifecycleManager;
+import com.github.kabal163.statemachine.api.LifecycleManager;
+import com.github.kabal163.statemachine.api.TransitionRequest;
+import com.github.kabal163.statemachine.api.TransitionResult;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adapts the {@link AsyncLifecycleManager async lifecycle manager} to the {@link Flow reactive streams}
+ * of the JDK. The processor subscribes to the publisher of the transition requests, executes them
+ * and publishes the transition results to its subscriber. Only one subscriber is supported,
+ * the next ones receive {@link IllegalStateException}.
+ * <p>
+ * The requests are taken from the upstream only for the outstanding demand of the subscriber
+ * and at most {@code maxConcurrency} of them are in flight or wait for the delivery at a time,
+ * so slow actions or a slow subscriber slow down the upstream instead of piling up requests.
+ * Nothing is requested from the upstream before the subscriber requests the results,
+ * so no result is lost if the upstream is connected first. No thread is blocked
+ * while waiting for the demand. Results are published in the order of completion.
+ * <p>
+ * Requests are executed by {@link LifecycleManager#tryExecute(com.github.kabal163.statemachine.api.StatefulObject, Object, java.util.Map)
+ * tryExecute}, so the misses are published as results with the corresponding status. If the execution
+ * fails unexpectedly then the upstream subscription is cancelled and the subscriber receives the error.
+ * When the upstream completes, the subscriber is completed after the in-flight transitions finish.
+ *
+ * @param <S> type of the state of the stateful objects
+ * @param <E> type of event
+ */
+public class TransitionProcessor<S, E> implements Flow.Processor<TransitionRequest<S, E>, TransitionResult<S, E>> {
+
+    private final AsyncLifecycleManager<S, E> lifecycleManager;
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    private final Queue<TransitionResult<S, E>> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    @Nullable
+    private volatile Flow.Subscription subscription;
+    @Nullable
+    private volatile Flow.Subscriber<? super TransitionResult<S, E>> subscriber;
+    private volatile boolean upstreamDone;
+    @Nullable
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+
+    /**
+     * Confined to the drain: the number of the requests demanded
+     * from the upstream whose results aren't delivered yet
+     */
+    private long pending;
+    /**
+     * Confined to the drain
+     */
+    private boolean terminated;
+
+    /**
+     * The results are delivered to the subscriber by the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param lifecycleManager the manager executing the requests
+     * @param maxConcurrency   the maximum number of the requests which are in flight or wait for the delivery
+     */
+    public TransitionProcessor(AsyncLifecycleManager<S, E> lifecycleManager, int maxConcurrency) {
+        this(lifecycleManager, maxConcurrency, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param lifecycleManager the manager executing the requests
+     * @param maxConcurrency   the maximum number of the requests which are in flight or wait for the delivery
+     * @param executor         the executor delivering the results to the subscriber
+     */
+    public TransitionProcessor(AsyncLifecycleManager<S, E> lifecycleManager,
+                               int maxConcurrency,
+                               Executor executor) {
+        Objects.requireNonNull(lifecycleManager, "lifecycleManager must not be null!");
+        Objects.requireNonNull(executor, "executor must not be null!");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive!");
+        }
+
+        this.lifecycleManager = lifecycleManager;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TransitionResult<S, E>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber must not be null!");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("TransitionProcessor supports only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new ResultSubscription());
+        // the results are delivered only after onSubscribe returns
+        this.subscriber = subscriber;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription must not be null!");
+
+        if (this.subscription != null || upstreamDone || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(TransitionRequest<S, E> request) {
+        Objects.requireNonNull(request, "request must not be null!");
+
+        if (upstreamDone || cancelled) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        CompletableFuture<TransitionResult<S, E>> future;
+        try {
+            future = lifecycleManager.tryExecute(request.getStatefulObject(), request.getEvent(), request.getVariables());
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, exception) -> {
+            try {
+                if (exception != null) {
+                    fail(exception);
+                } else {
+                    results.offer(result);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+                drain();
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable must not be null!");
+
+        upstreamError = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void fail(Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        if (failure.compareAndSet(null, exception)) {
+            upstreamDone = true;
+            cancelUpstream();
+        }
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * Schedules the drain unless it's already running, in which case
+     * the running drain makes one more pass.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super TransitionResult<S, E>> current = subscriber;
+            if (!terminated) {
+                if (cancelled) {
+                    terminated = true;
+                    results.clear();
+                } else if (current != null) {
+                    deliver(current);
+                }
+                if (!terminated) {
+                    requestUpstream();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver(Flow.Subscriber<? super TransitionResult<S, E>> current) {
+        Throwable error = failure.get();
+        if (error != null) {
+            terminate(current, error);
+            return;
+        }
+        long demand = requested.get();
+        long delivered = 0;
+        while (delivered != demand && !cancelled) {
+            TransitionResult<S, E> result = results.poll();
+            if (result == null) {
+                break;
+            }
+            current.onNext(result);
+            delivered++;
+        }
+        if (delivered != 0) {
+            pending -= delivered;
+            if (demand != Long.MAX_VALUE) {
+                requested.addAndGet(-delivered);
+            }
+        }
+        // the results are offered before the in-flight counter is decremented
+        if (upstreamDone && inFlight.get() == 0 && results.isEmpty()) {
+            error = failure.get();
+            terminate(current, error == null ? upstreamError : error);
+        }
+    }
+
+    private void terminate(Flow.Subscriber<? super TransitionResult<S, E>> current, @Nullable Throwable error) {
+        terminated = true;
+        results.clear();
+        if (error == null) {
+            current.onComplete();
+        } else {
+            current.onError(error);
+        }
+    }
+
+    private void requestUpstream() {
+        Flow.Subscription current = subscription;
+        if (current == null || upstreamDone) {
+            return;
+        }
+        long wanted = Math.min(maxConcurrency, requested.get()) - pending;
+        if (wanted > 0) {
+            pending += wanted;
+            current.request(wanted);
+        }
+    }
+
+    private final class ResultSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested results must be positive: " + n));
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelUpstream();
+            drain();
+        }
+    }
+}
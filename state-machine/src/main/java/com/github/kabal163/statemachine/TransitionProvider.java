@@ -1,11 +1,14 @@
 package com.github.kabal163.statemachine;
 
 import com.github.kabal163.statemachine.api.LifecycleConfiguration;
+import com.github.kabal163.statemachine.api.LifecycleHandleAware;
 import com.github.kabal163.statemachine.api.StatefulObject;
 import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
 import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
 import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
 
+import javax.annotation.Nullable;
+
 /**
  * Provides with transitions built from configurations.
  * Configurations can be specified by java config or json (not implemented yet)
@@ -34,4 +37,42 @@ public interface TransitionProvider<S, E> {
      *                                      or {@link StatefulObject#getLifecycleName()} returns {@code null} or empty string
      */
     Transition<S, E> getTransition(StatefulObject<S> statefulObject, E event);
+
+    /**
+     * Returns the handle of the lifecycle with the specified name.
+     * The handle can be cached by a {@link LifecycleHandleAware stateful object}
+     * in order to skip resolving the lifecycle by its name on each transition.
+     * By default the handles are not supported, so the providers implemented
+     * before the method was added keep resolving the lifecycles by their names.
+     *
+     * @param lifecycleName the name of the lifecycle
+     * @return the handle of the lifecycle
+     * @throws LifecycleNotFoundException    if there is no lifecycle with such name
+     *                                       or the name is {@code null} or empty string
+     * @throws UnsupportedOperationException if the provider doesn't issue the handles
+     */
+    default LifecycleHandle getLifecycleHandle(String lifecycleName) {
+        throw new UnsupportedOperationException("Lifecycle handles are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns the lifecycle of the stateful object. Unlike {@link #getTransition(StatefulObject, Object)}
+     * doesn't throw an exception if there is no such lifecycle, so it's suitable
+     * for the cases when the absence of the lifecycle is expected.
+     * <p>
+     * By default returns a lifecycle which resolves the transitions of the current state
+     * of the stateful object by {@link #getTransition(StatefulObject, Object)}, so the providers
+     * implemented before the method was added keep working. Such lifecycle throws
+     * {@link LifecycleNotFoundException} when a transition is requested, if there is no lifecycle,
+     * and the missing transitions cost the exceptions thrown by the provider.
+     *
+     * @param statefulObject an object which lifecycle should be found
+     * @return the lifecycle or {@code null} if there is no lifecycle with the name
+     * specified by the {@link StatefulObject#getLifecycleName()} stateful object
+     * @throws NullPointerException if {@code statefulObject} is {@code null}
+     */
+    @Nullable
+    default Lifecycle<S, E> findLifecycle(StatefulObject<S> statefulObject) {
+        return new ProviderLifecycle<>(this, statefulObject);
+    }
 }
@@ -1,71 +1,182 @@
 package com.github.kabal163.statemachine;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.github.kabal163.statemachine.api.LifecycleHandleAware;
 import com.github.kabal163.statemachine.api.StatefulObject;
-import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
 import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
 import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
 
+import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 public class TransitionProviderImpl<S, E> implements TransitionProvider<S, E> {
 
-    private static final Logger log = LoggerFactory.getLogger(TransitionProviderImpl.class);
+    private final Map<String, LifecycleHandle> handlesByName;
+    private final LifecycleHandle[] handles;
+    private final Lifecycle<S, E>[] lifecycles;
 
-    private final Map<String, Lifecycle<S, E>> lifecyclesByName;
+    /**
+     * If true then the thrown exceptions don't fill in the stack trace
+     */
+    private final boolean stacklessExceptions;
+
+    private final FailureReporter failureReporter;
 
     public TransitionProviderImpl(Map<String, Lifecycle<S, E>> lifecyclesByName) {
-        this.lifecyclesByName = lifecyclesByName;
+        this(lifecyclesByName, false, new LoggingFailureReporter());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransitionProviderImpl(Map<String, Lifecycle<S, E>> lifecyclesByName,
+                                   boolean stacklessExceptions,
+                                   FailureReporter failureReporter) {
+        Objects.requireNonNull(lifecyclesByName, "Lifecycles must not be null!");
+        Objects.requireNonNull(failureReporter, "failureReporter must not be null!");
+
+        this.stacklessExceptions = stacklessExceptions;
+        this.failureReporter = failureReporter;
+
+        this.handlesByName = new HashMap<>();
+        this.handles = new LifecycleHandle[lifecyclesByName.size()];
+        this.lifecycles = new Lifecycle[lifecyclesByName.size()];
+
+        int id = 0;
+        for (Map.Entry<String, Lifecycle<S, E>> entry : lifecyclesByName.entrySet()) {
+            LifecycleHandle handle = new LifecycleHandle(id, entry.getKey());
+            handlesByName.put(entry.getKey(), handle);
+            handles[id] = handle;
+            lifecycles[id] = entry.getValue();
+            id++;
+        }
     }
 
     @Override
     public Transition<S, E> getTransition(StatefulObject<S> statefulObject, E event) {
         Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
         Objects.requireNonNull(event, "event must not be null!");
-        assertLifecycleIsSupported(statefulObject);
 
         S sourceState = statefulObject.getState();
-        Set<Transition<S, E>> matchTransitions = lifecyclesByName
-                .get(statefulObject.getLifecycleName())
-                .getTransitions()
-                .stream()
-                .filter(t -> Objects.equals(t.getSourceState(), sourceState))
-                .filter(t -> Objects.equals(t.getEvent(), event))
-                .collect(Collectors.toSet());
-
-        if (matchTransitions.size() > 1) {
-            log.error("There is more then one transition match! Matching transitions: {}",
-                    matchTransitions.stream()
-                            .map(t -> t.getClass().getName())
-                            .toArray());
-            throw new AmbiguousTransitionException("There is more then one transition match!");
+        Transition<S, E> transition = getLifecycle(statefulObject).getTransition(sourceState, event);
+
+        if (transition == null) {
+            failureReporter.transitionNotFound(statefulObject.getLifecycleName(), sourceState, event, statefulObject.getId());
+            throw new TransitionNotFoundException("There is no matching transition!", !stacklessExceptions);
+        }
+
+        return transition;
+    }
+
+    @Override
+    public LifecycleHandle getLifecycleHandle(String lifecycleName) {
+        LifecycleHandle handle = handlesByName.get(lifecycleName);
+        if (handle == null) {
+            throw lifecycleNotFound(lifecycleName);
         }
+        return handle;
+    }
+
+    @Nullable
+    @Override
+    public Lifecycle<S, E> findLifecycle(StatefulObject<S> statefulObject) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
 
-        return matchTransitions.stream()
-                .findFirst()
-                .orElseThrow(() -> {
-                    log.error("There is no matching transition for source state: {} and event: {}, id: {}",
-                            sourceState,
-                            event,
-                            statefulObject.getId());
-                    return new TransitionNotFoundException("There is no matching transition!");
-                });
+        LifecycleHandle handle = findLifecycleHandle(statefulObject);
+        return handle == null ? null : lifecycles[handle.getId()];
+    }
+
+    private Lifecycle<S, E> getLifecycle(StatefulObject<S> statefulObject) {
+        LifecycleHandle handle = findLifecycleHandle(statefulObject);
+        if (handle == null) {
+            throw lifecycleNotFound(statefulObject.getLifecycleName());
+        }
+        return lifecycles[handle.getId()];
     }
 
-    private void assertLifecycleIsSupported(StatefulObject<S> statefulObject) {
-        if (isBlank(statefulObject.getLifecycleName())) {
-            log.error("Null or empty lifecycle names are not supported!");
-            throw new LifecycleNotFoundException("Null or empty lifecycle names are not supported!");
+    /**
+     * Resolves the lifecycle handle of the stateful object. If the stateful object caches
+     * the lifecycle handle then the lifecycle's name is resolved only once.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private LifecycleHandle findLifecycleHandle(StatefulObject<S> statefulObject) {
+        if (statefulObject instanceof LifecycleHandleAware) {
+            LifecycleHandleAware<S> handleAware = (LifecycleHandleAware<S>) statefulObject;
+            LifecycleHandle handle = handleAware.getLifecycleHandle();
+            if (!isIssuedByThisProvider(handle)) {
+                handle = findLifecycleHandle(statefulObject.getLifecycleName());
+                if (handle != null) {
+                    handleAware.setLifecycleHandle(handle);
+                }
+            }
+            return handle;
         }
-        if (!lifecyclesByName.containsKey(statefulObject.getLifecycleName())) {
-            log.error("There is no such lifecycle: {}", statefulObject.getLifecycleName());
-            throw new LifecycleNotFoundException("There is no such lifecycle: " + statefulObject.getLifecycleName());
+
+        return findLifecycleHandle(statefulObject.getLifecycleName());
+    }
+
+    @Nullable
+    private LifecycleHandle findLifecycleHandle(@Nullable String lifecycleName) {
+        return lifecycleName == null ? null : handlesByName.get(lifecycleName);
+    }
+
+    private boolean isIssuedByThisProvider(@Nullable LifecycleHandle handle) {
+        return handle != null
+                && handle.getId() < handles.length
+                && handles[handle.getId()] == handle;
+    }
+
+    private LifecycleNotFoundException lifecycleNotFound(@Nullable String lifecycleName) {
+        failureReporter.lifecycleNotFound(lifecycleName);
+        if (isBlank(lifecycleName)) {
+            return new LifecycleNotFoundException("Null or empty lifecycle names are not supported!", !stacklessExceptions);
+        }
+        return new LifecycleNotFoundException("There is no such lifecycle: " + lifecycleName, !stacklessExceptions);
+    }
+
+    public static <S, E> Builder<S, E> builder() {
+        return new Builder<>();
+    }
+
+    public static final class Builder<S, E> {
+        private Map<String, Lifecycle<S, E>> lifecyclesByName;
+        private boolean stacklessExceptions;
+        private FailureReporter failureReporter = new LoggingFailureReporter();
+
+        public Builder<S, E> lifecycles(Map<String, Lifecycle<S, E>> lifecyclesByName) {
+            this.lifecyclesByName = lifecyclesByName;
+            return this;
+        }
+
+        /**
+         * If enabled then {@link TransitionNotFoundException} and {@link LifecycleNotFoundException}
+         * are thrown without the stack trace. Use it if such exceptions are expected and frequent.
+         *
+         * @param stacklessExceptions whether the exceptions should be stackless
+         * @return the builder instance
+         */
+        public Builder<S, E> stacklessExceptions(boolean stacklessExceptions) {
+            this.stacklessExceptions = stacklessExceptions;
+            return this;
+        }
+
+        /**
+         * Sets the reporter of the missing transitions and lifecycles. By default
+         * the {@link LoggingFailureReporter} is used.
+         *
+         * @param failureReporter the reporter of the failures
+         * @return the builder instance
+         * @see AggregatingFailureReporter
+         */
+        public Builder<S, E> failureReporter(FailureReporter failureReporter) {
+            this.failureReporter = failureReporter;
+            return this;
+        }
+
+        public TransitionProviderImpl<S, E> build() {
+            return new TransitionProviderImpl<>(lifecyclesByName, stacklessExceptions, failureReporter);
         }
     }
 }
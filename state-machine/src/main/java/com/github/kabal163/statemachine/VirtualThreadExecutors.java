@@ -0,0 +1,60 @@
+package com.github.kabal163.statemachine;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides with the executor of virtual threads which are available since Java 21.
+ * The library is compiled for older versions of Java, so the executor is created reflectively.
+ */
+public final class VirtualThreadExecutors {
+
+    @Nullable
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findNewVirtualThreadPerTaskExecutor();
+
+    private VirtualThreadExecutors() {
+    }
+
+    /**
+     * @return true if the current runtime supports virtual threads
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates the executor which starts a new virtual thread for each task.
+     * See {@code Executors.newVirtualThreadPerTaskExecutor()}.
+     *
+     * @return the executor which should be shut down when it's not needed anymore
+     * @throws UnsupportedOperationException if the current runtime doesn't support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, but the current version is "
+                    + Runtime.version());
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create the virtual thread per task executor", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Unable to create the virtual thread per task executor", e.getCause());
+        }
+    }
+
+    @Nullable
+    private static Method findNewVirtualThreadPerTaskExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
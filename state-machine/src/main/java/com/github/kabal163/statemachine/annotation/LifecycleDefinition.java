@@ -0,0 +1,55 @@
+package com.github.kabal163.statemachine.annotation;
+
+import com.github.kabal163.statemachine.Lifecycle;
+import com.github.kabal163.statemachine.api.LifecycleConfiguration;
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a lifecycle which is generated at compile time by the
+ * {@code state-machine-processor} annotation processor. It is an alternative
+ * to the {@link LifecycleConfiguration lifecycle configuration} which doesn't
+ * build anything at startup. The transitions are declared by the
+ * {@link TransitionDefinition} annotations on the same type.
+ * <p>
+ * The processor generates the {@code <SimpleName>Impl} class in the same package.
+ * The class implements {@link Lifecycle} and resolves transitions with plain
+ * {@code switch} statements over the states and the events, so both of them must be enums.
+ * E.x.
+ * <pre>{@code
+ * @LifecycleDefinition(name = "order", states = OrderState.class, events = OrderEvent.class)
+ * @TransitionDefinition(source = "NEW", target = "PAID", event = "PAY", conditions = IsPayable.class, actions = Charge.class)
+ * @TransitionDefinition(source = "PAID", target = "SHIPPED", event = "SHIP", actions = Ship.class)
+ * interface OrderLifecycle {}
+ * }</pre>
+ * generates {@code OrderLifecycleImpl}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface LifecycleDefinition {
+
+    /**
+     * The name of the lifecycle. If it's empty then lifecycle's name will be
+     * the same as the canonical name of the annotated type.
+     *
+     * @return lifecycle's name
+     * @see StatefulObject#getLifecycleName()
+     */
+    String name() default "";
+
+    /**
+     * @return enum of the states of the {@link StatefulObject stateful object}
+     */
+    Class<? extends Enum<?>> states();
+
+    /**
+     * @return enum of the events
+     */
+    Class<? extends Enum<?>> events();
+}
@@ -0,0 +1,58 @@
+package com.github.kabal163.statemachine.annotation;
+
+import com.github.kabal163.statemachine.TransitionConfigurer;
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a transition of the lifecycle described by the {@link LifecycleDefinition}.
+ * States and event are the names of the enum constants. The attributes have the same
+ * meaning as in the {@link TransitionConfigurer transition configurer}.
+ * <p>
+ * Conditions and actions are declared by their classes. The generated lifecycle
+ * creates one instance per class either with the public no-args constructor or
+ * with the factory passed to its constructor, e.x. {@code applicationContext::getBean}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(TransitionDefinitions.class)
+public @interface TransitionDefinition {
+
+    /**
+     * @return the name of the source state constant
+     * @see TransitionConfigurer#sourceState(Object)
+     */
+    String source();
+
+    /**
+     * @return the name of the target state constant
+     * @see TransitionConfigurer#targetState(Object)
+     */
+    String target();
+
+    /**
+     * @return the name of the event constant
+     * @see TransitionConfigurer#event(Object)
+     */
+    String event();
+
+    /**
+     * @return conditions in the order of evaluation
+     * @see TransitionConfigurer#condition(Condition)
+     */
+    Class<? extends Condition>[] conditions() default {};
+
+    /**
+     * @return actions in the order of execution
+     * @see TransitionConfigurer#action(Action)
+     */
+    Class<? extends Action>[] actions() default {};
+}
@@ -0,0 +1,18 @@
+package com.github.kabal163.statemachine.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of the repeatable {@link TransitionDefinition} annotation.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface TransitionDefinitions {
+
+    TransitionDefinition[] value();
+}
@@ -0,0 +1,9 @@
+/**
+ * Contains annotations which declare lifecycles generated at compile time.
+ *
+ * @see com.github.kabal163.statemachine.annotation.LifecycleDefinition
+ */
+@ParametersAreNonnullByDefault
+package com.github.kabal163.statemachine.annotation;
+
+import javax.annotation.ParametersAreNonnullByDefault;
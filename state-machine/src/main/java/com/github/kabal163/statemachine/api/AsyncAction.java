@@ -0,0 +1,60 @@
+package com.github.kabal163.statemachine.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The action which performs its work, e.x. I/O, asynchronously. The asynchronous
+ * execution of the transition continues with the next action when the returned stage
+ * completes, and the target state is committed only if the stages of all actions
+ * complete successfully, so no thread is blocked while the work is in progress.
+ * See {@code LifecycleManagerImpl#executeAsync}.
+ * <p>
+ * When the transition is executed synchronously the action is still
+ * supported: {@link #execute(StateContext)} waits for the stage.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public interface AsyncAction<S, E> extends Action<S, E> {
+
+    /**
+     * Starts a unit of work to execute transition from source to target.
+     * The next actions are executed by the thread which completes the stage.
+     *
+     * @param context contains information about the current transition
+     * @return the stage which completes when the work is done. It must support
+     * {@link CompletionStage#toCompletableFuture()}
+     */
+    CompletionStage<Void> executeAsync(StateContext<S, E> context);
+
+    /**
+     * Starts the work and waits until it's done. If the waiting thread is interrupted
+     * then the stage is cancelled.
+     *
+     * @param context contains information about the current transition
+     * @throws CompletionException if the thread is interrupted or the stage fails with a checked exception
+     */
+    @Override
+    default void execute(StateContext<S, E> context) {
+        CompletableFuture<Void> stage = executeAsync(context).toCompletableFuture();
+        try {
+            stage.get();
+        } catch (InterruptedException e) {
+            stage.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.kabal163.statemachine.api;
+
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of the {@link LifecycleManager lifecycle manager}.
+ * Transitions are executed by an executor, so the calling thread is not blocked
+ * by the conditions and actions of the transition. With the executor which starts
+ * a virtual thread per task a blocking action doesn't tie up a platform thread.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public interface AsyncLifecycleManager<S, E> {
+
+    /**
+     * Executes a transition of the stateful object according the event asynchronously.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @return the future of the transition result. The future is completed exceptionally
+     * with {@link TransitionNotFoundException} if no transition was found for corresponding
+     * stateful object's source state and event, or {@link AmbiguousTransitionException}
+     * if there are more then one matching transitions
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject, E event);
+
+    /**
+     * Executes a transition of the stateful object according the event asynchronously.
+     * The method contains an additional map of variables which is
+     * used in the actions and conditions during a transition.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @return the future of the transition result. The future is completed exceptionally
+     * with {@link TransitionNotFoundException} if no transition was found for corresponding
+     * stateful object's source state and event, or {@link AmbiguousTransitionException}
+     * if there are more then one matching transitions
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    CompletableFuture<TransitionResult<S, E>> execute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables);
+
+    /**
+     * Executes a transition of the stateful object according the event asynchronously.
+     * Unlike {@link #execute(StatefulObject, Object, Map)} the future is not completed
+     * exceptionally if there is no lifecycle or transition for the stateful object and the event,
+     * see {@link LifecycleManager#tryExecute(StatefulObject, Object, Map)}.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @return the future of the transition result containing the status of the execution
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    CompletableFuture<TransitionResult<S, E>> tryExecute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables);
+}
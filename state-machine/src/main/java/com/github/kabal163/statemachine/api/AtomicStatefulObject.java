@@ -0,0 +1,32 @@
+package com.github.kabal163.statemachine.api;
+
+/**
+ * Optional extension of the {@link StatefulObject stateful object} which
+ * is able to change its state atomically, e.x. by keeping the state
+ * in an {@link java.util.concurrent.atomic.AtomicReference AtomicReference}.
+ * The lifecycle manager commits the target state of a transition by
+ * {@link #compareAndSetState(Object, Object)} instead of {@link #setState(Object)},
+ * so the target state is committed only if nobody changed the state since the
+ * transition was resolved. Otherwise the result of the transition has
+ * the {@link TransitionStatus#CONFLICT conflict} status. The transition is not
+ * retried because its actions are already executed, it's up to the caller
+ * to retry the event against the new state.
+ * <p>
+ * This allows concurrent callers to execute transitions on the same
+ * stateful object without locks. The actions of the concurrent transitions
+ * are executed concurrently, so they must tolerate it.
+ *
+ * @param <S> type of the state
+ */
+public interface AtomicStatefulObject<S> extends StatefulObject<S> {
+
+    /**
+     * Atomically sets the state to the next one if the current state is the expected one.
+     * States are compared by identity, so enums are the natural choice for states.
+     *
+     * @param expected the state the transition was resolved against
+     * @param next     the target state of the transition
+     * @return true if the state is changed, false if the current state is not the expected one
+     */
+    boolean compareAndSetState(S expected, S next);
+}
@@ -0,0 +1,97 @@
+package com.github.kabal163.statemachine.api;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typed key of a {@link StateContext state context} variable. Each key is registered
+ * once and gets its own slot, so the variable is stored in an array of the context
+ * and is read without hashing and casts. Keep the keys in constants, e.x.
+ * <pre>{@code
+ * static final ContextKey<Order> ORDER = ContextKey.of("order", Order.class);
+ * ...
+ * Order order = context.get(ORDER);
+ * }</pre>
+ * The variable is also visible through the String-keyed methods of the
+ * state context by the name of the key, and the variable passed to
+ * the {@link LifecycleManager lifecycle manager} in the map of variables
+ * is visible through the key.
+ *
+ * @param <T> type of the variable
+ */
+public final class ContextKey<T> {
+
+    private static final Map<String, ContextKey<?>> keysByName = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    private ContextKey(String name, Class<T> type, int slot) {
+        this.name = name;
+        this.type = type;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns the key registered with the name or registers the new one.
+     *
+     * @param name the name of the variable
+     * @param type the type of the variable
+     * @param <T>  type of the variable
+     * @return the key which is the same for the same name
+     * @throws IllegalArgumentException if the key with the same name is registered with another type
+     * @throws NullPointerException     if any of arguments is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ContextKey<T> of(String name, Class<T> type) {
+        Objects.requireNonNull(name, "name must not be null!");
+        Objects.requireNonNull(type, "type must not be null!");
+
+        ContextKey<?> key = keysByName.get(name);
+        if (key == null) {
+            synchronized (keysByName) {
+                key = keysByName.computeIfAbsent(name, n -> new ContextKey<>(n, type, keysByName.size()));
+            }
+        }
+        if (key.type != type) {
+            throw new IllegalArgumentException("The key '" + name + "' is already registered with the type ["
+                    + key.type + "] but the type [" + type + "] is specified");
+        }
+        return (ContextKey<T>) key;
+    }
+
+    /**
+     * @return the key registered with the name or {@code null} if there is no such key
+     */
+    @Nullable
+    static ContextKey<?> find(String name) {
+        return keysByName.get(name);
+    }
+
+    /**
+     * @return the number of the registered keys
+     */
+    static int count() {
+        return keysByName.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey{name='" + name + "', type=" + type.getName() + "}";
+    }
+}
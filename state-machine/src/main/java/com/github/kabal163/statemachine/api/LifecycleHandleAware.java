@@ -0,0 +1,38 @@
+package com.github.kabal163.statemachine.api;
+
+import com.github.kabal163.statemachine.LifecycleHandle;
+import com.github.kabal163.statemachine.TransitionProvider;
+
+import javax.annotation.Nullable;
+
+/**
+ * Optional extension of the {@link StatefulObject stateful object} which
+ * is able to cache the {@link LifecycleHandle lifecycle handle}. The lifecycle's
+ * name is resolved only once, then the transition provider puts the handle into
+ * the stateful object and uses it on the next transitions. The handle can also
+ * be obtained in advance via {@link TransitionProvider#getLifecycleHandle(String)}
+ * and assigned when the stateful object is created.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ */
+public interface LifecycleHandleAware<S> extends StatefulObject<S> {
+
+    /**
+     * Returns the cached lifecycle handle. The handle must correspond
+     * to the lifecycle returned by {@link #getLifecycleName()}
+     *
+     * @return the cached lifecycle handle or {@code null} if the handle
+     * has not been resolved yet
+     */
+    @Nullable
+    LifecycleHandle getLifecycleHandle();
+
+    /**
+     * Caches the lifecycle handle. Should not be used outside of the
+     * {@link TransitionProvider} transition provider, except for the handles
+     * obtained from the {@link TransitionProvider#getLifecycleHandle(String)}
+     *
+     * @param lifecycleHandle resolved lifecycle handle
+     */
+    void setLifecycleHandle(LifecycleHandle lifecycleHandle);
+}
@@ -1,9 +1,17 @@
 package com.github.kabal163.statemachine.api;
 
 import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
 import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyMap;
 
 /**
  * Provides lifecycle functionality for a project. This is the entry point
@@ -40,7 +48,8 @@ public interface LifecycleManager<S, E> {
      * @param statefulObject an object which state should be changed with
      *                       corresponding actions execution
      * @param event          a signal which helps to define the target state
-     * @param variables      any external data which is necessary during transition performance
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
      * @return {@link TransitionResult} transition result containing information
      * about executed transition
      * @throws TransitionNotFoundException  if no transition was found for the corresponding
@@ -49,4 +58,141 @@ public interface LifecycleManager<S, E> {
      * @throws NullPointerException         if any of arguments is {@code null}
      */
     TransitionResult<S, E> execute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables);
+
+    /**
+     * Executes a transition of the stateful object according the event.
+     * Unlike {@link #execute(StatefulObject, Object)} doesn't throw an exception
+     * if there is no lifecycle or transition for the stateful object and the event.
+     * Such expected misses are reported by the {@link TransitionResult#getStatus() status}
+     * of the result and no exceptions are created for them.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @return {@link TransitionResult} transition result containing the status
+     * of the execution
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    default TransitionResult<S, E> tryExecute(StatefulObject<S> statefulObject, E event) {
+        return tryExecute(statefulObject, event, emptyMap());
+    }
+
+    /**
+     * Executes a transition of the stateful object according the event.
+     * Unlike {@link #execute(StatefulObject, Object, Map)} doesn't throw an exception
+     * if there is no lifecycle or transition for the stateful object and the event.
+     * Such expected misses are reported by the {@link TransitionResult#getStatus() status}
+     * of the result and no exceptions are created for them.
+     * <p>
+     * By default the exceptions thrown by {@link #execute(StatefulObject, Object, Map)}
+     * are turned into the statuses, so the lifecycle managers implemented before
+     * the method was added keep working, but their misses still cost the exceptions.
+     *
+     * @param statefulObject an object which state should be changed with
+     *                       corresponding actions execution
+     * @param event          a signal which helps to define the target state
+     * @param variables      any external data which is necessary during transition performance.
+     *                       The map is not copied, so it must not be modified until the transition finishes
+     * @return {@link TransitionResult} transition result containing the status
+     * of the execution
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    default TransitionResult<S, E> tryExecute(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        try {
+            return execute(statefulObject, event, variables);
+        } catch (LifecycleNotFoundException e) {
+            return TransitionResult.miss(TransitionStatus.NO_LIFECYCLE);
+        } catch (TransitionNotFoundException e) {
+            return TransitionResult.miss(TransitionStatus.NO_TRANSITION);
+        } catch (AmbiguousTransitionException e) {
+            return TransitionResult.miss(TransitionStatus.AMBIGUOUS);
+        }
+    }
+
+    /**
+     * Executes transitions of the stateful objects according the same event.
+     * The transition of each distinct lifecycle and source state is resolved once
+     * and is reused for the rest of the stateful objects, so the bulk execution
+     * is cheaper when the collection is grouped by lifecycle and state.
+     * <p>
+     * The results are passed to the consumer one by one. The passed result and
+     * its state context are reused for the next stateful object, so they are
+     * valid only until the consumer returns and must not be retained.
+     * If the transition is not found then the exception is thrown
+     * and the rest of the stateful objects are not processed.
+     * <p>
+     * By default each stateful object is executed by {@link #execute(StatefulObject, Object, Map)},
+     * so the lifecycle managers implemented before the method was added keep working
+     * without the reuse of the resolved transitions.
+     *
+     * @param statefulObjects objects which state should be changed with
+     *                        corresponding actions execution
+     * @param event           a signal which helps to define the target states
+     * @param variables       any external data which is necessary during transitions performance.
+     *                        The map is shared by all transitions and must not be modified until they finish
+     * @param consumer        the consumer of the results
+     * @throws TransitionNotFoundException  if no transition was found for some
+     *                                      stateful object's source state and event
+     * @throws AmbiguousTransitionException if there are more then one matching transitions
+     * @throws NullPointerException         if any of arguments or stateful objects is {@code null}
+     */
+    default void executeAll(Collection<? extends StatefulObject<S>> statefulObjects,
+                            E event,
+                            Map<String, Object> variables,
+                            Consumer<? super TransitionResult<S, E>> consumer) {
+        Objects.requireNonNull(statefulObjects, "StatefulObjects must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+        Objects.requireNonNull(consumer, "consumer must not be null!");
+
+        for (StatefulObject<S> statefulObject : statefulObjects) {
+            consumer.accept(execute(statefulObject, event, variables));
+        }
+    }
+
+    /**
+     * Returns a lazy cursor which executes transitions of the stateful objects
+     * according the same event. Nothing is executed by this method itself:
+     * the transition of the next stateful object is executed when the next
+     * result is requested from the returned iterator, so the results of the whole
+     * collection are never kept in memory at once. If the iterator isn't consumed
+     * to the end then the rest of the stateful objects keep their states.
+     * Transitions are resolved the same way
+     * as by the {@link #executeAll(Collection, Object, Map, Consumer)}.
+     * By default each stateful object is executed by {@link #execute(StatefulObject, Object, Map)}.
+     *
+     * @param statefulObjects objects which state should be changed with
+     *                        corresponding actions execution
+     * @param event           a signal which helps to define the target states
+     * @param variables       any external data which is necessary during transitions performance.
+     *                        The map is shared by all transitions and must not be modified until they finish
+     * @return the iterator over the results. {@link Iterator#next()} throws
+     * {@link TransitionNotFoundException} and {@link AmbiguousTransitionException}
+     * if the transition of the next stateful object can't be resolved
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    default Iterator<TransitionResult<S, E>> executeAllLazily(Collection<? extends StatefulObject<S>> statefulObjects,
+                                                              E event,
+                                                              Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObjects, "StatefulObjects must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        Iterator<? extends StatefulObject<S>> statefulObjectIterator = statefulObjects.iterator();
+        return new Iterator<TransitionResult<S, E>>() {
+
+            @Override
+            public boolean hasNext() {
+                return statefulObjectIterator.hasNext();
+            }
+
+            @Override
+            public TransitionResult<S, E> next() {
+                if (!statefulObjectIterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return execute(statefulObjectIterator.next(), event, variables);
+            }
+        };
+    }
 }
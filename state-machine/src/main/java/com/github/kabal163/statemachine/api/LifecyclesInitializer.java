@@ -2,6 +2,7 @@ package com.github.kabal163.statemachine.api;
 
 import com.github.kabal163.statemachine.JavaConfigLifecyclesInitializer;
 import com.github.kabal163.statemachine.Lifecycle;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
 
 import java.util.Collection;
 import java.util.Map;
@@ -20,7 +21,9 @@ public interface LifecyclesInitializer {
      *
      * @param configurations describes lifecycles for stateful objects
      * @return built lifecycles
-     * @throws NullPointerException if configurations is null or empty collection
+     * @throws NullPointerException         if configurations is null or empty collection
+     * @throws AmbiguousTransitionException if a configuration describes more then one transition
+     *                                      with the same source state and event
      */
     <S, E> Map<String, Lifecycle<S, E>> initialize(Collection<LifecycleConfiguration<S, E>> configurations);
 }
@@ -3,6 +3,8 @@ package com.github.kabal163.statemachine.api;
 import com.github.kabal163.statemachine.exception.ContextVariableNotFoundException;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -10,15 +12,50 @@ import java.util.Objects;
 /**
  * Contains information about the transition. It helps to share
  * information between actions and conditions.
+ * <p>
+ * The map of variables passed to the context is not copied. It is used as
+ * a read-only parent scope, and the variables put during the transition go
+ * to the context's own overlay which is allocated on the first write. So the
+ * passed map must not be modified while the context is in use.
+ * <p>
+ * The operations used by the lifecycle manager to reuse the context, drain
+ * the posted events and track the phase of the transition are protected, so the conditions
+ * and the actions which receive the context can't call them.
  *
  * @param <S> type of the state of the {@link StatefulObject stateful object}
  * @param <E> type of event
  */
 public class StateContext<S, E> {
 
-    private final StatefulObject<S> statefulObject;
-    private final E event;
-    private final Map<String, Object> variables;
+    private StatefulObject<S> statefulObject;
+    private E event;
+    private Map<String, Object> variables;
+
+    /**
+     * Variables put during the transition. They shadow the {@code variables}.
+     * Allocated on the first write
+     */
+    @Nullable
+    private Map<String, Object> overlay;
+
+    /**
+     * Variables put by the {@link ContextKey context keys} indexed by their slots.
+     * Allocated on the first use
+     */
+    @Nullable
+    private Object[] slots;
+
+    /**
+     * Events posted by the actions. Allocated on the first post
+     */
+    @Nullable
+    private ArrayDeque<E> postedEvents;
+
+    /**
+     * Whether the conditions are met and the actions are being executed.
+     * Tells a failed condition from a failed action
+     */
+    private boolean actionsStarted;
 
     public StateContext(StatefulObject<S> statefulObject,
                         E event,
@@ -29,20 +66,149 @@ public class StateContext<S, E> {
 
         this.statefulObject = statefulObject;
         this.event = event;
-        this.variables = new HashMap<>(variables);
+        this.variables = variables;
     }
 
+    /**
+     * Prepares the context for the next transition, so the same instance
+     * can be reused without allocations. Used only by the
+     * {@link LifecycleManager lifecycle manager}
+     *
+     * @param statefulObject the stateful object of the next transition
+     * @param event          the event of the next transition
+     * @param variables      the variables of the next transition
+     */
+    protected void reset(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "variables must not be null!");
+
+        this.statefulObject = statefulObject;
+        this.event = event;
+        this.variables = variables;
+        if (overlay != null) {
+            overlay.clear();
+        }
+        if (slots != null) {
+            Arrays.fill(slots, null);
+        }
+        if (postedEvents != null) {
+            postedEvents.clear();
+        }
+        actionsStarted = false;
+    }
+
+    /**
+     * Marks that the conditions are met and the actions are being executed.
+     * Used only by the {@link LifecycleManager lifecycle manager}
+     */
+    protected void startActions() {
+        actionsStarted = true;
+    }
+
+    /**
+     * Used only by the {@link LifecycleManager lifecycle manager}
+     *
+     * @return true if the conditions were met and the actions were started
+     */
+    protected boolean isActionsStarted() {
+        return actionsStarted;
+    }
+
+    /**
+     * Posts the follow-up event of the same stateful object. The posted events
+     * are executed one by one after the current transition is committed, instead
+     * of calling the lifecycle manager recursively from the action. Their transitions
+     * share this context, so the variables put by the previous transitions
+     * are visible to the next ones, and {@link #getEvent()} returns the event
+     * of the transition being executed. When the chain is over, the context
+     * has the event of the committed transition again. If the current transition
+     * is not committed then the posted events are discarded.
+     *
+     * @param event the follow-up event
+     * @throws NullPointerException if the event is {@code null}
+     */
+    public void postEvent(E event) {
+        Objects.requireNonNull(event, "event must not be null!");
+
+        if (postedEvents == null) {
+            postedEvents = new ArrayDeque<>();
+        }
+        postedEvents.add(event);
+    }
+
+    /**
+     * Takes the next posted event and makes it the event of the context.
+     * Used only by the {@link LifecycleManager lifecycle manager}
+     *
+     * @return the next posted event or {@code null} if there are no posted events
+     */
+    @Nullable
+    protected E pollPostedEvent() {
+        E next = postedEvents == null ? null : postedEvents.poll();
+        if (next != null) {
+            event = next;
+        }
+        return next;
+    }
+
+    /**
+     * Makes the event the event of the context again, e.g. the event of the committed
+     * transition after its posted events are executed. Used only by the
+     * {@link LifecycleManager lifecycle manager}
+     *
+     * @param event the event of the context
+     */
+    protected void restoreEvent(E event) {
+        this.event = Objects.requireNonNull(event, "event must not be null!");
+    }
+
+    /**
+     * Discards the posted events. Used only by the
+     * {@link LifecycleManager lifecycle manager}
+     *
+     * @return the number of the discarded events
+     */
+    protected int clearPostedEvents() {
+        if (postedEvents == null) {
+            return 0;
+        }
+        int discarded = postedEvents.size();
+        postedEvents.clear();
+        return discarded;
+    }
+
+    /**
+     * Puts the variable by the name. If there is the {@link ContextKey context key}
+     * with the same name then the variable becomes visible through the key as well.
+     *
+     * @param key   the name of the variable
+     * @param value the value of the variable
+     */
     public void putVariable(String key, Object value) {
-        variables.put(key, value);
+        if (overlay == null) {
+            overlay = new HashMap<>();
+        }
+        overlay.put(key, value);
+        clearSlot(key);
     }
 
     public void putIfAbsentVariable(String key, Object value) {
-        variables.putIfAbsent(key, value);
+        ContextKey<?> contextKey = findContextKey(key);
+        if (contextKey != null && getSlot(contextKey) != null) {
+            return;
+        }
+        if (lookup(key) == null) {
+            putVariable(key, value);
+        }
     }
 
     public <T> T getVariableOrElseThrow(String key, Class<T> type) {
-        ContextVariableNotFoundException exception = new ContextVariableNotFoundException("Expected that StateContext contains a key but it doesn't! The key: " + key);
-        return getVariableOrElseThrow(key, type, exception);
+        T variable = getVariable(key, type);
+        if (variable == null) {
+            throw variableNotFound(key);
+        }
+        return variable;
     }
 
     public <T> T getVariableOrElseThrow(String key, Class<T> type, RuntimeException exception) {
@@ -56,17 +222,75 @@ public class StateContext<S, E> {
     @Nullable
     @SuppressWarnings("unchecked")
     public  <T> T getVariable(String key, Class<T> type) {
-        Object value = this.variables.get(key);
+        ContextKey<?> contextKey = findContextKey(key);
+        Object value = contextKey == null ? null : getSlot(contextKey);
+        if (value == null) {
+            value = lookup(key);
+        }
         if (value == null) {
             return null;
         }
-        if (!type.isAssignableFrom(value.getClass())) {
-            throw new IllegalArgumentException("Incorrect type specified for variable '" +
-                    key + "'. Expected [" + type + "] but actual type is [" + value.getClass() + "]");
+        checkType(key, type, value);
+        return (T) value;
+    }
+
+    /**
+     * Puts the variable to the slot of the key.
+     *
+     * @param key   the key of the variable
+     * @param value the value of the variable
+     * @param <T>   type of the variable
+     */
+    public <T> void put(ContextKey<T> key, T value) {
+        int slot = key.getSlot();
+        if (slots == null || slot >= slots.length) {
+            slots = slots == null
+                    ? new Object[Math.max(ContextKey.count(), slot + 1)]
+                    : Arrays.copyOf(slots, Math.max(ContextKey.count(), slot + 1));
+        }
+        slots[slot] = value;
+    }
+
+    public <T> void putIfAbsent(ContextKey<T> key, T value) {
+        if (get(key) == null) {
+            put(key, value);
+        }
+    }
+
+    /**
+     * Returns the variable by the key. If the slot of the key is empty then the variable
+     * put by the name of the key is read from the map of variables. The read doesn't modify
+     * the context, so the actions of a {@link com.github.kabal163.statemachine.TransitionConfigurer#actionGroup group}
+     * may read the variables concurrently.
+     *
+     * @param key the key of the variable
+     * @param <T> type of the variable
+     * @return the variable or {@code null} if there is no such variable
+     * @throws IllegalArgumentException if the variable put by the name has another type
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(ContextKey<T> key) {
+        Object value = getSlot(key);
+        if (value != null) {
+            return (T) value;
+        }
+        value = lookup(key.getName());
+        if (value == null) {
+            return null;
         }
+        checkType(key.getName(), key.getType(), value);
         return (T) value;
     }
 
+    public <T> T getOrElseThrow(ContextKey<T> key) {
+        T variable = get(key);
+        if (variable == null) {
+            throw variableNotFound(key.getName());
+        }
+        return variable;
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends StatefulObject<S>> T getStatefulObject() {
         return (T) statefulObject;
@@ -75,4 +299,44 @@ public class StateContext<S, E> {
     public E getEvent() {
         return event;
     }
+
+    @Nullable
+    private Object lookup(String key) {
+        if (overlay != null && overlay.containsKey(key)) {
+            return overlay.get(key);
+        }
+        return variables.get(key);
+    }
+
+    @Nullable
+    private Object getSlot(ContextKey<?> key) {
+        int slot = key.getSlot();
+        return slots == null || slot >= slots.length ? null : slots[slot];
+    }
+
+    private void clearSlot(String name) {
+        if (slots == null) {
+            return;
+        }
+        ContextKey<?> contextKey = ContextKey.find(name);
+        if (contextKey != null && contextKey.getSlot() < slots.length) {
+            slots[contextKey.getSlot()] = null;
+        }
+    }
+
+    @Nullable
+    private ContextKey<?> findContextKey(String name) {
+        return slots == null ? null : ContextKey.find(name);
+    }
+
+    private static void checkType(String key, Class<?> type, Object value) {
+        if (!type.isAssignableFrom(value.getClass())) {
+            throw new IllegalArgumentException("Incorrect type specified for variable '" +
+                    key + "'. Expected [" + type + "] but actual type is [" + value.getClass() + "]");
+        }
+    }
+
+    private static ContextVariableNotFoundException variableNotFound(String key) {
+        return new ContextVariableNotFoundException("Expected that StateContext contains a key but it doesn't! The key: " + key);
+    }
 }
@@ -0,0 +1,58 @@
+package com.github.kabal163.statemachine.api;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * The event which should be applied to the stateful object. Requests are used
+ * to execute transitions of several stateful objects as one unit.
+ *
+ * @param <S> type of the state of the {@link StatefulObject stateful object}
+ * @param <E> type of event
+ */
+public final class TransitionRequest<S, E> {
+
+    private final StatefulObject<S> statefulObject;
+    private final E event;
+    private final Map<String, Object> variables;
+
+    private TransitionRequest(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        this.statefulObject = statefulObject;
+        this.event = event;
+        this.variables = variables;
+    }
+
+    /**
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    public static <S, E> TransitionRequest<S, E> of(StatefulObject<S> statefulObject, E event) {
+        return of(statefulObject, event, emptyMap());
+    }
+
+    /**
+     * @param variables any external data which is necessary during transition performance.
+     *                  The map is not copied, so it must not be modified until the transition finishes
+     * @throws NullPointerException if any of arguments is {@code null}
+     */
+    public static <S, E> TransitionRequest<S, E> of(StatefulObject<S> statefulObject, E event, Map<String, Object> variables) {
+        Objects.requireNonNull(statefulObject, "StatefulObject must not be null!");
+        Objects.requireNonNull(event, "event must not be null!");
+        Objects.requireNonNull(variables, "Map of variables must not be null!");
+
+        return new TransitionRequest<>(statefulObject, event, variables);
+    }
+
+    public StatefulObject<S> getStatefulObject() {
+        return statefulObject;
+    }
+
+    public E getEvent() {
+        return event;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+}
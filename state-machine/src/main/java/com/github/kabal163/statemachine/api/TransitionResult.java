@@ -1,11 +1,20 @@
 package com.github.kabal163.statemachine.api;
 
+import com.github.kabal163.statemachine.exception.StateConflictException;
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
+
 import javax.annotation.Nullable;
 
 /**
  * Contains the main information about executed transition.
  * If there were no exceptions then {@code exception} field
  * will be {@code null}.
+ * <p>
+ * A compact result doesn't retain the state context, so the stateful object
+ * and the variables of the transition are not kept reachable by the result.
+ * Compact results of the transitions finished without exceptions are shared
+ * between executions, so the result is immutable. The {@link #miss(TransitionStatus) results}
+ * of the transitions which weren't found are shared as well.
  *
  * @param <S> type of the state of the {@link StatefulObject stateful object}
  * @param <E> type of event
@@ -13,19 +22,33 @@ import javax.annotation.Nullable;
 public class TransitionResult<S, E> {
 
     /**
-     * Whether the transition was successful or not
+     * The shared results of the expected misses indexed by the ordinal of the status
      */
-    private final boolean succeeded;
+    private static final TransitionResult<?, ?>[] MISSES = new TransitionResult<?, ?>[TransitionStatus.values().length];
+
+    static {
+        MISSES[TransitionStatus.NO_LIFECYCLE.ordinal()] = new TransitionResult<>(TransitionStatus.NO_LIFECYCLE, null, null, null, null);
+        MISSES[TransitionStatus.NO_TRANSITION.ordinal()] = new TransitionResult<>(TransitionStatus.NO_TRANSITION, null, null, null, null);
+        MISSES[TransitionStatus.AMBIGUOUS.ordinal()] = new TransitionResult<>(TransitionStatus.AMBIGUOUS, null, null, null, null);
+    }
 
     /**
-     * The shared context of the transition
+     * The outcome of the transition
      */
+    private final TransitionStatus status;
+
+    /**
+     * The shared context of the transition.
+     * {@code null} if the result is compact
+     */
+    @Nullable
     private final StateContext<S, E> stateContext;
 
     /**
      * The state which stateful object has at the moment
-     * of start the transition
+     * of start the transition. {@code null} if the transition wasn't found
      */
+    @Nullable
     private final S sourceState;
 
     /**
@@ -34,21 +57,41 @@ public class TransitionResult<S, E> {
      * doesn't match the actual state of the stateful object after
      * transition execution due to exceptions.
      */
+    @Nullable
     private final S targetState;
 
     /**
      * Any exception which happened during actions or conditions execution
+     * or {@link StateConflictException} if the target state wasn't committed
+     * due to the concurrent change of the state.
      * {@code null} if nothing happened
      */
     @Nullable
     private final Exception exception;
 
     public TransitionResult(boolean succeeded,
-                            StateContext<S, E> stateContext,
+                            @Nullable StateContext<S, E> stateContext,
                             S sourceState,
                             S targetState,
                             @Nullable Exception exception) {
-        this.succeeded = succeeded;
+        this(statusOf(succeeded, exception), stateContext, sourceState, targetState, exception);
+    }
+
+    /**
+     * @param status       the outcome of the transition
+     * @param stateContext the context of the transition or {@code null} for compact results
+     *                     and if the transition wasn't found
+     * @param sourceState  the state of the stateful object at the moment of start the transition
+     *                     or {@code null} if the transition wasn't found
+     * @param targetState  the target state or {@code null} if the transition wasn't found
+     * @param exception    the exception thrown by a condition or an action
+     */
+    public TransitionResult(TransitionStatus status,
+                            @Nullable StateContext<S, E> stateContext,
+                            @Nullable S sourceState,
+                            @Nullable S targetState,
+                            @Nullable Exception exception) {
+        this.status = status;
         this.stateContext = stateContext;
         this.sourceState = sourceState;
         this.targetState = targetState;
@@ -56,17 +99,33 @@ public class TransitionResult<S, E> {
     }
 
     public boolean isSucceeded() {
-        return succeeded;
+        return status == TransitionStatus.OK;
+    }
+
+    public TransitionStatus getStatus() {
+        return status;
     }
 
+    /**
+     * @return the context of the transition or {@code null} if the result is compact
+     */
+    @Nullable
     public StateContext<S, E> getStateContext() {
         return stateContext;
     }
 
+    /**
+     * @return the source state or {@code null} if the transition wasn't found
+     */
+    @Nullable
     public S getSourceState() {
         return sourceState;
     }
 
+    /**
+     * @return the target state or {@code null} if the transition wasn't found
+     */
+    @Nullable
     public S getTargetState() {
         return targetState;
     }
@@ -75,4 +134,39 @@ public class TransitionResult<S, E> {
     public Exception getException() {
         return exception;
     }
+
+    /**
+     * Returns the shared result of the transition which wasn't found. The result
+     * has neither the state context nor the source and the target states, the stateful
+     * object keeps its state.
+     *
+     * @param status {@link TransitionStatus#NO_LIFECYCLE}, {@link TransitionStatus#NO_TRANSITION}
+     *               or {@link TransitionStatus#AMBIGUOUS}
+     * @return the shared result with the status
+     * @throws IllegalArgumentException if the status is not a miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, E> TransitionResult<S, E> miss(TransitionStatus status) {
+        TransitionResult<?, ?> result = MISSES[status.ordinal()];
+        if (result == null) {
+            throw new IllegalArgumentException("The status is not a miss: " + status);
+        }
+        return (TransitionResult<S, E>) result;
+    }
+
+    /**
+     * @return the status of the transition which finished with the given outcome
+     */
+    protected static TransitionStatus statusOf(boolean succeeded, @Nullable Exception exception) {
+        if (succeeded) {
+            return TransitionStatus.OK;
+        }
+        if (exception == null) {
+            return TransitionStatus.GUARD_REJECTED;
+        }
+        if (exception instanceof StateConflictException) {
+            return TransitionStatus.CONFLICT;
+        }
+        return exception instanceof TransitionTimeoutException ? TransitionStatus.TIMED_OUT : TransitionStatus.ACTION_FAILED;
+    }
 }
@@ -0,0 +1,66 @@
+package com.github.kabal163.statemachine.api;
+
+/**
+ * The outcome of a transition execution. Expected misses, like the absence of
+ * a transition for the current state and the event, are reported by the status
+ * of the {@link TransitionResult transition result} returned by
+ * {@link LifecycleManager#tryExecute(StatefulObject, Object) tryExecute}
+ * instead of exceptions.
+ */
+public enum TransitionStatus {
+
+    /**
+     * The transition is performed and the stateful object has the target state
+     */
+    OK,
+
+    /**
+     * There is no lifecycle with the name of the stateful object's lifecycle
+     */
+    NO_LIFECYCLE,
+
+    /**
+     * There is no transition for the stateful object's state and the event
+     */
+    NO_TRANSITION,
+
+    /**
+     * There is more then one transition for the stateful object's state and the event.
+     * The lifecycles built by the library reject such transitions when they are built,
+     * so the status is reported only for the lifecycles which scan their transitions,
+     * see {@link com.github.kabal163.statemachine.Lifecycle#getTransition(Object, Object)}
+     */
+    AMBIGUOUS,
+
+    /**
+     * One of the conditions rejected the transition
+     */
+    GUARD_REJECTED,
+
+    /**
+     * One of the conditions threw an exception, so the actions are not executed
+     */
+    CONDITION_FAILED,
+
+    /**
+     * One of the actions threw an exception
+     */
+    ACTION_FAILED,
+
+    /**
+     * The state of the {@link AtomicStatefulObject atomic stateful object} was changed
+     * concurrently, so the target state is not committed
+     */
+    CONFLICT,
+
+    /**
+     * The transition or one of its actions exceeded the deadline, so the target state is not committed
+     */
+    TIMED_OUT,
+
+    /**
+     * The transition is not performed because another transition
+     * of the same {@link TransitionRequest atomic group} failed
+     */
+    ABORTED
+}
@@ -5,4 +5,8 @@ public class AmbiguousTransitionException extends TransitionException {
     public AmbiguousTransitionException(String message) {
         super(message);
     }
+
+    public AmbiguousTransitionException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
@@ -5,4 +5,8 @@ public class LifecycleNotFoundException extends TransitionException {
     public LifecycleNotFoundException(String message) {
         super(message);
     }
+
+    public LifecycleNotFoundException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
@@ -0,0 +1,12 @@
+package com.github.kabal163.statemachine.exception;
+
+public class StateConflictException extends TransitionException {
+
+    public StateConflictException(String message) {
+        super(message);
+    }
+
+    public StateConflictException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
+}
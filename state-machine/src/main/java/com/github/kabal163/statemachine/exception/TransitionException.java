@@ -5,4 +5,13 @@ public class TransitionException extends RuntimeException {
     public TransitionException(String message) {
         super(message);
     }
+
+    /**
+     * @param message            the detail message
+     * @param writableStackTrace if false then the stack trace is not filled in,
+     *                           so the exception is cheap to create
+     */
+    public TransitionException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
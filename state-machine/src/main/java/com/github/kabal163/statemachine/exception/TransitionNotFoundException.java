@@ -5,4 +5,8 @@ public class TransitionNotFoundException extends TransitionException {
     public TransitionNotFoundException(String message) {
         super(message);
     }
+
+    public TransitionNotFoundException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
@@ -0,0 +1,11 @@
+package com.github.kabal163.statemachine.exception;
+
+/**
+ * Thrown when a transition or an action exceeds its deadline.
+ */
+public class TransitionTimeoutException extends TransitionException {
+
+    public TransitionTimeoutException(String message) {
+        super(message);
+    }
+}
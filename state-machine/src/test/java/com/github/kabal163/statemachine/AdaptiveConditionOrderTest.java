@@ -0,0 +1,53 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.StateContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConditionOrderTest {
+
+    //@formatter:off
+    @Mock StateContext<TestState, TestEvent> context;
+    //@formatter:on
+
+    final Condition<TestState, TestEvent> successCondition = context -> true;
+    final Condition<TestState, TestEvent> failedCondition = context -> false;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("When create AdaptiveConditionOrder " +
+            "Then the order is the initial one")
+    void whenCreate_thenOrderIsInitial() {
+        AdaptiveConditionOrder<TestState, TestEvent> order = new AdaptiveConditionOrder<>(
+                new Condition[]{successCondition, failedCondition});
+
+        assertThat(order.getOrder()).containsExactly(successCondition, failedCondition);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given the second condition rejects each transition " +
+            "When call AdaptiveConditionOrder.evaluate many times " +
+            "Then the rejecting condition is moved first and result is the same")
+    void givenSecondConditionRejects_whenEvaluateManyTimes_thenRejectingConditionIsMovedFirst() {
+        AdaptiveConditionOrder<TestState, TestEvent> order = new AdaptiveConditionOrder<>(
+                new Condition[]{successCondition, failedCondition});
+
+        for (int i = 0; i < AdaptiveConditionOrder.SAMPLE_RATE * AdaptiveConditionOrder.REORDER_PERIOD * 4; i++) {
+            assertThat(order.evaluate(context)).isFalse();
+        }
+
+        assertThat(order.getOrder()).containsExactly(failedCondition, successCondition);
+    }
+}
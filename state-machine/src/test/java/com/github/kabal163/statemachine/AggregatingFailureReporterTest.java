@@ -0,0 +1,147 @@
+package com.github.kabal163.statemachine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+
+class AggregatingFailureReporterTest {
+
+    AggregatingFailureReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new AggregatingFailureReporter(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reporter.close();
+    }
+
+    @Test
+    @DisplayName("Given the same failure is reported 3 times " +
+            "When call AggregatingFailureReporter.summarize " +
+            "Then returns one line with the count 3")
+    void givenSameFailureReportedThreeTimes_whenCallSummarize_thenReturnsOneLineWithCount() {
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), emptyList());
+        for (int i = 0; i < 3; i++) {
+            reporter.transitionFailed("lifecycle", transition, EVENT, i, new IllegalStateException());
+        }
+
+        List<String> actual = reporter.summarize();
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0))
+                .contains("lifecycle", STATE.name(), EVENT.name(), IllegalStateException.class.getName())
+                .endsWith(": 3 times");
+    }
+
+    @Test
+    @DisplayName("Given the same event failure is reported twice " +
+            "When call AggregatingFailureReporter.summarize " +
+            "Then returns one line with the count 2")
+    void givenSameEventFailureReportedTwice_whenCallSummarize_thenReturnsOneLineWithCount() {
+        reporter.eventFailed("lifecycle", EVENT, 1, new IllegalStateException());
+        reporter.eventFailed("lifecycle", EVENT, 2, new IllegalStateException());
+
+        List<String> actual = reporter.summarize();
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0))
+                .contains("lifecycle", EVENT.name(), IllegalStateException.class.getName())
+                .endsWith(": 2 times");
+    }
+
+    @Test
+    @DisplayName("Given different failures are reported " +
+            "When call AggregatingFailureReporter.summarize " +
+            "Then returns a line per failure")
+    void givenDifferentFailures_whenCallSummarize_thenReturnsLinePerFailure() {
+        reporter.transitionNotFound("lifecycle", STATE, EVENT, 1);
+        reporter.transitionNotFound("lifecycle", ANOTHER_STATE, EVENT, 2);
+        reporter.lifecycleNotFound("unknown");
+
+        assertThat(reporter.summarize()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Given the summary is taken " +
+            "When call AggregatingFailureReporter.summarize again " +
+            "Then returns nothing because the counters are reset")
+    void givenSummaryTaken_whenCallSummarizeAgain_thenReturnsEmptyList() {
+        reporter.lifecycleNotFound("unknown");
+        reporter.summarize();
+
+        assertThat(reporter.summarize()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given more distinct failures than the limit are reported " +
+            "When call AggregatingFailureReporter.summarize " +
+            "Then returns the lines within the limit and the count of the rest")
+    void givenFailuresOverLimit_whenCallSummarize_thenReturnsOverflowCount() {
+        try (AggregatingFailureReporter limitedReporter = new AggregatingFailureReporter(Duration.ofHours(1), 2)) {
+            limitedReporter.lifecycleNotFound("first");
+            limitedReporter.lifecycleNotFound("second");
+            limitedReporter.lifecycleNotFound("third");
+            limitedReporter.lifecycleNotFound("fourth");
+            limitedReporter.lifecycleNotFound("first");
+
+            List<String> actual = limitedReporter.summarize();
+
+            assertThat(actual).hasSize(3);
+            assertThat(actual).anyMatch(line -> line.contains("first") && line.endsWith(": 2 times"));
+            assertThat(actual).anyMatch(line -> line.contains("second") && line.endsWith(": 1 times"));
+            assertThat(actual).anyMatch(line -> line.contains("limit of 2") && line.endsWith(": 2 times"));
+        }
+    }
+
+    @Test
+    @DisplayName("Given the limit of distinct failures is reached and the summary is taken " +
+            "When report new failures and call AggregatingFailureReporter.summarize " +
+            "Then the new failures are counted because the previous ones are dropped")
+    void givenLimitReachedAndSummaryTaken_whenReportNewFailures_thenNewFailuresAreCounted() {
+        try (AggregatingFailureReporter limitedReporter = new AggregatingFailureReporter(Duration.ofHours(1), 2)) {
+            limitedReporter.lifecycleNotFound("first");
+            limitedReporter.lifecycleNotFound("second");
+            limitedReporter.summarize();
+
+            limitedReporter.lifecycleNotFound("third");
+            limitedReporter.lifecycleNotFound("fourth");
+
+            assertThat(limitedReporter.summarize())
+                    .hasSize(2)
+                    .noneMatch(line -> line.contains("limit"));
+        }
+    }
+
+    @Test
+    @DisplayName("Given limit of distinct failures is zero " +
+            "When create AggregatingFailureReporter " +
+            "Then throws IllegalArgumentException")
+    void givenZeroLimit_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new AggregatingFailureReporter(Duration.ofHours(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given window is zero " +
+            "When create AggregatingFailureReporter " +
+            "Then throws IllegalArgumentException")
+    void givenZeroWindow_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new AggregatingFailureReporter(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.LifecycleManager;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncLifecycleManagerImplTest {
+
+    @Mock
+    LifecycleManager<TestState, TestEvent> lifecycleManagerMock;
+
+    @Mock
+    StatefulObject<TestState> statefulObjectMock;
+
+    List<Runnable> tasks;
+
+    AsyncLifecycleManagerImpl<TestState, TestEvent> asyncLifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        tasks = new ArrayList<>();
+        asyncLifecycleManager = new AsyncLifecycleManagerImpl<>(lifecycleManagerMock, tasks::add);
+    }
+
+    @Test
+    @DisplayName("Given executor " +
+            "When call AsyncLifecycleManagerImpl.execute " +
+            "Then the transition is executed by the executor and the future is completed with its result")
+    void givenExecutor_whenCallExecute_thenTransitionIsExecutedByExecutor() throws Exception {
+        TransitionResult<TestState, TestEvent> result = new TransitionResult<>(true, null, STATE, ANOTHER_STATE, null);
+        when(lifecycleManagerMock.execute(statefulObjectMock, EVENT, emptyMap())).thenReturn(result);
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = asyncLifecycleManager.execute(statefulObjectMock, EVENT);
+
+        assertThat(actual).isNotDone();
+        verify(lifecycleManagerMock, never()).execute(any(), any(), any());
+        tasks.forEach(Runnable::run);
+        assertThat(actual.get()).isSameAs(result);
+    }
+
+    @Test
+    @DisplayName("Given LifecycleManager.execute throws an exception " +
+            "When call AsyncLifecycleManagerImpl.execute " +
+            "Then the future is completed exceptionally")
+    void givenLifecycleManagerThrowsException_whenCallExecute_thenFutureIsCompletedExceptionally() {
+        TransitionNotFoundException exception = new TransitionNotFoundException("There is no matching transition!");
+        when(lifecycleManagerMock.execute(statefulObjectMock, EVENT, emptyMap())).thenThrow(exception);
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = asyncLifecycleManager.execute(statefulObjectMock, EVENT);
+        tasks.forEach(Runnable::run);
+
+        assertThatThrownBy(actual::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(exception);
+    }
+
+    @Test
+    @DisplayName("Given no transition " +
+            "When call AsyncLifecycleManagerImpl.tryExecute " +
+            "Then the future is completed with the result of LifecycleManager.tryExecute")
+    void givenNoTransition_whenCallTryExecute_thenFutureIsCompletedWithStatus() throws Exception {
+        TransitionResult<TestState, TestEvent> result = new TransitionResult<>(TransitionStatus.NO_TRANSITION, null, STATE, null, null);
+        when(lifecycleManagerMock.tryExecute(statefulObjectMock, EVENT, emptyMap())).thenReturn(result);
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = asyncLifecycleManager.tryExecute(statefulObjectMock, EVENT, emptyMap());
+        tasks.forEach(Runnable::run);
+
+        assertThat(actual.get().getStatus()).isEqualTo(TransitionStatus.NO_TRANSITION);
+    }
+
+    @Test
+    @DisplayName("Given LifecycleManagerImpl and async action which is not done " +
+            "When call AsyncLifecycleManagerImpl.tryExecute " +
+            "Then the executor's thread isn't blocked and the future is completed when the stage completes")
+    void givenAsyncActionIsNotDone_whenCallTryExecute_thenExecutorThreadIsNotBlocked() throws Exception {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(TestStatefulObject.LIFECYCLE_NAME)
+                .transitions(Set.of(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction))))
+                .build();
+        LifecycleManagerImpl<TestState, TestEvent> lifecycleManager =
+                new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(TestStatefulObject.LIFECYCLE_NAME, lifecycle)));
+        asyncLifecycleManager = new AsyncLifecycleManagerImpl<>(lifecycleManager, tasks::add);
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = asyncLifecycleManager.tryExecute(statefulObject, EVENT, emptyMap());
+        tasks.forEach(Runnable::run);
+
+        assertThat(actual).isNotDone();
+        stage.complete(null);
+        assertThat(actual.get().getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(statefulObject.getState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given StatefulObject is null " +
+            "When call AsyncLifecycleManagerImpl.execute " +
+            "Then throws NullPointerException")
+    void givenStatefulObjectIsNull_whenCallExecute_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> asyncLifecycleManager.execute(null, EVENT))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("must not be null");
+    }
+
+    @Test
+    @DisplayName("Given Java 21 or later " +
+            "When call AsyncLifecycleManagerImpl.execute with the virtual thread per task executor " +
+            "Then the transition is executed by a virtual thread")
+    void givenVirtualThreadsAreSupported_whenCallExecute_thenTransitionIsExecutedByVirtualThread() throws Exception {
+        assumeTrue(VirtualThreadExecutors.isSupported());
+        ExecutorService executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+        List<Thread> threads = new ArrayList<>();
+        when(lifecycleManagerMock.execute(statefulObjectMock, EVENT, emptyMap())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return new TransitionResult<>(true, null, STATE, ANOTHER_STATE, null);
+        });
+        asyncLifecycleManager = new AsyncLifecycleManagerImpl<>(lifecycleManagerMock, executor);
+
+        try {
+            asyncLifecycleManager.execute(statefulObjectMock, EVENT).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(threads).hasSize(1);
+        assertThat(Thread.class.getMethod("isVirtual").invoke(threads.get(0))).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Given Java older than 21 " +
+            "When call VirtualThreadExecutors.newVirtualThreadPerTaskExecutor " +
+            "Then throws UnsupportedOperationException")
+    void givenVirtualThreadsAreNotSupported_whenCreateExecutor_thenThrowsUnsupportedOperationException() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThat(VirtualThreadExecutors.isSupported()).isFalse();
+        assertThatThrownBy(VirtualThreadExecutors::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
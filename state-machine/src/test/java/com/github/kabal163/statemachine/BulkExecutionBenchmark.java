@@ -0,0 +1,83 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static com.github.kabal163.statemachine.TestStatefulObject.LIFECYCLE_NAME;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Measures the throughput of {@link LifecycleManagerImpl#executeAllParallel parallel bulk executions}
+ * on fork/join pools of different parallelism and its scaling relative to the
+ * sequential {@link LifecycleManagerImpl#executeAll bulk execution}. It's not a test,
+ * run it manually:
+ * <pre>{@code
+ * java -cp <test classpath> com.github.kabal163.statemachine.BulkExecutionBenchmark [objects] [rounds]
+ * }</pre>
+ */
+public class BulkExecutionBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Condition<TestState, TestEvent> condition = context -> context.getStatefulObject().getId() != null;
+        Action<TestState, TestEvent> action = context -> context.getStatefulObject().getId().hashCode();
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(condition), List.of(action)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(condition), List.of(action))))
+                .build();
+        TransitionProvider<TestState, TestEvent> transitionProvider = new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle));
+
+        List<TestStatefulObject> statefulObjects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            statefulObjects.add(new TestStatefulObject(String.valueOf(i)));
+        }
+
+        LifecycleManagerImpl<TestState, TestEvent> sequential = new LifecycleManagerImpl<>(transitionProvider);
+        double baseline = measure(rounds, size, () -> sequential.executeAll(statefulObjects, EVENT, emptyMap(), result -> {
+        }));
+        System.out.printf("sequential: %,.0f transitions/s%n", baseline);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= processors; parallelism = nextParallelism(parallelism, processors)) {
+            ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+            LifecycleManagerImpl<TestState, TestEvent> parallel = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                    .transitionProvider(transitionProvider)
+                    .forkJoinPool(forkJoinPool)
+                    .build();
+            double throughput = measure(rounds, size, () -> parallel.executeAllParallel(statefulObjects, EVENT, emptyMap()));
+            System.out.printf("parallelism %2d: %,.0f transitions/s, scaling x%.2f%n", parallelism, throughput, throughput / baseline);
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * @return transitions per second of the best round after the warm up round
+     */
+    private static double measure(int rounds, int size, Runnable bulkExecution) {
+        bulkExecution.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            bulkExecution.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return size * 1_000_000_000.0 / best;
+    }
+
+    private static int nextParallelism(int parallelism, int processors) {
+        return parallelism == processors ? processors + 1 : Math.min(parallelism * 2, processors);
+    }
+}
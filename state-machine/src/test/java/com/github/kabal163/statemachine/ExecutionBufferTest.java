@@ -0,0 +1,108 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.StateContext;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static com.github.kabal163.statemachine.TestStatefulObject.LIFECYCLE_NAME;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionBufferTest {
+
+    static final int WARM_UP_ITERATIONS = 200_000;
+    static final int MEASURED_ITERATIONS = 100_000;
+
+    LifecycleManagerImpl<TestState, TestEvent> lifecycleManager;
+    ExecutionBuffer<TestState, TestEvent> buffer;
+    TestStatefulObject statefulObject;
+
+    @BeforeEach
+    void setUp() {
+        Condition<TestState, TestEvent> condition = new AlwaysTrue();
+        Action<TestState, TestEvent> action = new Counter();
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(condition), List.of(action)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(condition), List.of(action))))
+                .build();
+
+        lifecycleManager = new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)));
+        buffer = new ExecutionBuffer<>();
+        statefulObject = new TestStatefulObject();
+    }
+
+    @Test
+    @DisplayName("Given the same buffer " +
+            "When call LifecycleManagerImpl.execute twice " +
+            "Then returns the same result instance filled with the last transition")
+    void givenSameBuffer_whenExecuteTwice_thenReturnsSameResultWithLastTransition() {
+        TransitionResult<TestState, TestEvent> first = lifecycleManager.execute(statefulObject, EVENT, singletonMap("key", "value"), buffer);
+        TransitionResult<TestState, TestEvent> second = lifecycleManager.execute(statefulObject, EVENT, emptyMap(), buffer);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.isSucceeded()).isTrue();
+        assertThat(second.getSourceState()).isEqualTo(ANOTHER_STATE);
+        assertThat(second.getTargetState()).isEqualTo(STATE);
+        assertThat(second.getStateContext().getVariable("key", String.class)).isNull();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given warmed up lifecycle manager and buffer " +
+            "When call LifecycleManagerImpl.execute without variables " +
+            "Then nothing is allocated")
+    void givenWarmedUpBuffer_whenExecuteWithoutVariables_thenNothingIsAllocated() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        Map<String, Object> noVariables = emptyMap();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            lifecycleManager.execute(statefulObject, EVENT, noVariables, buffer);
+        }
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            lifecycleManager.execute(statefulObject, EVENT, noVariables, buffer);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        // tolerates a few bytes allocated by the measurement itself, but not a single byte per transition
+        assertThat(allocated).isLessThan(MEASURED_ITERATIONS);
+    }
+
+    static class AlwaysTrue implements Condition<TestState, TestEvent> {
+
+        @Override
+        public boolean evaluate(StateContext<TestState, TestEvent> context) {
+            return true;
+        }
+    }
+
+    static class Counter implements Action<TestState, TestEvent> {
+
+        long count;
+
+        @Override
+        public void execute(StateContext<TestState, TestEvent> context) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LifecycleImplTest {
+
+    static final String LIFECYCLE_NAME = "lifecycle";
+
+    @Test
+    @DisplayName("Given transitions is null " +
+            "When call LifecycleImpl.Builder.build " +
+            "Then throws NullPointerException")
+    void givenTransitionsIsNull_whenBuild_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .build())
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("must not be null");
+    }
+
+    @Test
+    @DisplayName("Given two transitions with same source state and event " +
+            "When call LifecycleImpl.Builder.build " +
+            "Then throws AmbiguousTransitionException")
+    void givenTwoTransitionsWithSameSourceStateAndEvent_whenBuild_thenThrowsAmbiguousTransitionException() {
+        Set<Transition<TestState, TestEvent>> transitions = Set.of(
+                transition(STATE, ANOTHER_STATE, EVENT),
+                transition(STATE, STATE, EVENT));
+
+        assertThatThrownBy(() -> LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(transitions)
+                .build())
+                .isInstanceOf(AmbiguousTransitionException.class)
+                .hasMessageContaining("more then one transition");
+    }
+
+    @Test
+    @DisplayName("Given transition with matching source state and event " +
+            "When call LifecycleImpl.getTransition " +
+            "Then returns the transition")
+    void givenMatchingTransition_whenGetTransition_thenReturnsTheTransition() {
+        Transition<TestState, TestEvent> expected = transition(STATE, ANOTHER_STATE, EVENT);
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        expected,
+                        transition(STATE, STATE, ANOTHER_EVENT),
+                        transition(ANOTHER_STATE, STATE, EVENT)))
+                .build();
+
+        Transition<TestState, TestEvent> actual = lifecycle.getTransition(STATE, EVENT);
+
+        assertThat(actual).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Given no transition with matching source state and event " +
+            "When call LifecycleImpl.getTransition " +
+            "Then returns null")
+    void givenNoMatchingTransition_whenGetTransition_thenReturnsNull() {
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(transition(STATE, ANOTHER_STATE, EVENT)))
+                .build();
+
+        Transition<TestState, TestEvent> actual = lifecycle.getTransition(ANOTHER_STATE, EVENT);
+
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    @DisplayName("Given a lifecycle implementing only the name and the transitions " +
+            "When call Lifecycle.getTransition " +
+            "Then the transitions are scanned and the ambiguous match throws AmbiguousTransitionException")
+    void givenLegacyLifecycle_whenGetTransition_thenTransitionsAreScanned() {
+        Transition<TestState, TestEvent> expected = transition(STATE, ANOTHER_STATE, EVENT);
+        Set<Transition<TestState, TestEvent>> transitions = Set.of(
+                expected,
+                transition(ANOTHER_STATE, STATE, EVENT),
+                transition(ANOTHER_STATE, ANOTHER_STATE, EVENT));
+        Lifecycle<TestState, TestEvent> lifecycle = new Lifecycle<>() {
+            @Override
+            public String getName() {
+                return LIFECYCLE_NAME;
+            }
+
+            @Override
+            public Set<Transition<TestState, TestEvent>> getTransitions() {
+                return transitions;
+            }
+        };
+
+        assertThat(lifecycle.getTransition(STATE, EVENT)).isSameAs(expected);
+        assertThat(lifecycle.getTransition(STATE, ANOTHER_EVENT)).isNull();
+        assertThatThrownBy(() -> lifecycle.getTransition(ANOTHER_STATE, EVENT))
+                .isInstanceOf(AmbiguousTransitionException.class);
+    }
+
+    private static Transition<TestState, TestEvent> transition(TestState source, TestState target, TestEvent event) {
+        return new Transition<>(source, target, event, emptySet(), emptyList());
+    }
+}
@@ -6,27 +6,59 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.AtomicStatefulObject;
+import com.github.kabal163.statemachine.api.Condition;
 import com.github.kabal163.statemachine.api.StateContext;
 import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionRequest;
 import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
 import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
-
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
+import com.github.kabal163.statemachine.exception.StateConflictException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+import com.github.kabal163.statemachine.exception.TransitionTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.filter;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
 import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
 import static com.github.kabal163.statemachine.TestState.STATE;
+import static com.github.kabal163.statemachine.TestStatefulObject.LIFECYCLE_NAME;
 
 class LifecycleManagerImplTest {
 
@@ -492,4 +524,1001 @@ class LifecycleManagerImplTest {
         assertThatThrownBy(() -> lifecycleManager.execute(statefulObject, EVENT))
                 .isInstanceOf(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given LifecycleManagerImpl with compact results " +
+            "When call LifecycleManagerImpl.execute twice " +
+            "Then returns the same shared result without state context")
+    void givenCompactResults_whenCallExecuteTwice_thenReturnsSameSharedResultWithoutStateContext() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), emptyList());
+        when(transitionProviderMock.getTransition(statefulObject, EVENT)).thenReturn(transition);
+        LifecycleManagerImpl<TestState, TestEvent> compactLifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(transitionProviderMock)
+                .compactResults(true)
+                .build();
+
+        TransitionResult<TestState, TestEvent> first = compactLifecycleManager.execute(statefulObject, EVENT);
+        TransitionResult<TestState, TestEvent> second = compactLifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.isSucceeded()).isTrue();
+        assertThat(second.getStateContext()).isNull();
+        assertThat(second.getSourceState()).isEqualTo(STATE);
+        assertThat(second.getTargetState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given LifecycleManagerImpl with compact results and action throws an exception " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then returns failed result with the exception and without state context")
+    void givenCompactResultsAndActionThrowsException_whenCallExecute_thenReturnsResultWithExceptionWithoutStateContext() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        RuntimeException expected = new RuntimeException("action failed");
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), List.of(context -> {
+            throw expected;
+        }));
+        when(transitionProviderMock.getTransition(statefulObject, EVENT)).thenReturn(transition);
+        LifecycleManagerImpl<TestState, TestEvent> compactLifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(transitionProviderMock)
+                .compactResults(true)
+                .build();
+
+        TransitionResult<TestState, TestEvent> actual = compactLifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.isSucceeded()).isFalse();
+        assertThat(actual.getStateContext()).isNull();
+        assertThat(actual.getException()).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Given TransitionProvider is not specified " +
+            "When call LifecycleManagerImpl.Builder.build " +
+            "Then throws NullPointerException")
+    void givenTransitionProviderIsNotSpecified_whenBuild_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> LifecycleManagerImpl.<TestState, TestEvent>builder().build())
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("must not be null");
+    }
+
+    @Test
+    @DisplayName("Given TransitionProvider.findLifecycle returns null " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then returns result with NO_LIFECYCLE status")
+    void givenNoLifecycle_whenCallTryExecute_thenReturnsNoLifecycleStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.NO_LIFECYCLE);
+        assertThat(actual.isSucceeded()).isFalse();
+        assertThat(actual.getSourceState()).isNull();
+        assertThat(actual.getException()).isNull();
+        verify(transitionProviderMock, never()).getTransition(any(), any());
+    }
+
+    @Test
+    @DisplayName("Given no lifecycle and no transition " +
+            "When call LifecycleManagerImpl.tryExecute several times " +
+            "Then returns the same miss results")
+    void givenMisses_whenCallTryExecute_thenReturnsSharedMissResults() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        StatefulObject<TestState> anotherStatefulObject = mock(StatefulObject.class);
+        Lifecycle<TestState, TestEvent> lifecycle = mock(Lifecycle.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        when(anotherStatefulObject.getState()).thenReturn(ANOTHER_STATE);
+        when(transitionProviderMock.findLifecycle(anotherStatefulObject)).thenReturn(lifecycle);
+
+        TransitionResult<TestState, TestEvent> noLifecycle = lifecycleManager.tryExecute(statefulObject, EVENT);
+        TransitionResult<TestState, TestEvent> noTransition = lifecycleManager.tryExecute(anotherStatefulObject, EVENT);
+
+        assertThat(lifecycleManager.tryExecute(statefulObject, EVENT)).isSameAs(noLifecycle)
+                .isSameAs(TransitionResult.miss(TransitionStatus.NO_LIFECYCLE));
+        assertThat(lifecycleManager.tryExecute(anotherStatefulObject, EVENT)).isSameAs(noTransition)
+                .isSameAs(TransitionResult.miss(TransitionStatus.NO_TRANSITION));
+    }
+
+    @Test
+    @DisplayName("Given TransitionProvider implemented without lifecycle lookup " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then resolves the transition through TransitionProvider.getTransition")
+    void givenLegacyTransitionProvider_whenCallTryExecute_thenResolvesTransitionThroughGetTransition() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        StatefulObject<TestState> unknownStatefulObject = mock(StatefulObject.class);
+        StatefulObject<TestState> withoutLifecycle = mock(StatefulObject.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        when(unknownStatefulObject.getState()).thenReturn(STATE);
+        when(withoutLifecycle.getState()).thenReturn(STATE);
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), emptyList());
+        TransitionProvider<TestState, TestEvent> legacyProvider = (object, event) -> {
+            if (object == statefulObject) {
+                return transition;
+            }
+            if (object == withoutLifecycle) {
+                throw new LifecycleNotFoundException("No lifecycle");
+            }
+            throw new TransitionNotFoundException("No transition");
+        };
+        LifecycleManagerImpl<TestState, TestEvent> legacyLifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(legacyProvider)
+                .build();
+
+        assertThat(legacyLifecycleManager.tryExecute(statefulObject, EVENT).getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(legacyLifecycleManager.tryExecute(unknownStatefulObject, EVENT).getStatus()).isEqualTo(TransitionStatus.NO_TRANSITION);
+        assertThat(legacyLifecycleManager.tryExecute(withoutLifecycle, EVENT).getStatus()).isEqualTo(TransitionStatus.NO_LIFECYCLE);
+        verify(statefulObject).setState(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given condition throws an exception " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then returns result with CONDITION_FAILED status")
+    void givenConditionThrowsException_whenCallTryExecute_thenReturnsConditionFailedStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(context -> {
+            throw new IllegalStateException("condition failed");
+        }), emptyList());
+        LifecycleManagerImpl<TestState, TestEvent> legacyLifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider((object, event) -> transition)
+                .build();
+
+        TransitionResult<TestState, TestEvent> actual = legacyLifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.CONDITION_FAILED);
+        assertThat(actual.getException()).isInstanceOf(IllegalStateException.class);
+        verify(statefulObject, never()).setState(any());
+    }
+
+    @Test
+    @DisplayName("Given action throws an exception " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then returns result with ACTION_FAILED status")
+    void givenActionThrowsException_whenCallTryExecute_thenReturnsActionFailedStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), List.of(context -> {
+            throw new IllegalStateException("action failed");
+        }));
+        LifecycleManagerImpl<TestState, TestEvent> legacyLifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider((object, event) -> transition)
+                .build();
+
+        TransitionResult<TestState, TestEvent> actual = legacyLifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.ACTION_FAILED);
+        assertThat(actual.getException()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Given Lifecycle.getTransition returns null " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then returns result with NO_TRANSITION status")
+    void givenNoTransition_whenCallTryExecute_thenReturnsNoTransitionStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        Lifecycle<TestState, TestEvent> lifecycle = mock(Lifecycle.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        when(transitionProviderMock.findLifecycle(statefulObject)).thenReturn(lifecycle);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.NO_TRANSITION);
+        assertThat(actual.getTargetState()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given matching transition " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then executes the transition and returns result with OK status")
+    void givenMatchingTransition_whenCallTryExecute_thenReturnsOkStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        Lifecycle<TestState, TestEvent> lifecycle = mock(Lifecycle.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        when(transitionProviderMock.findLifecycle(statefulObject)).thenReturn(lifecycle);
+        when(lifecycle.getTransition(STATE, EVENT)).thenReturn(transitionMock);
+        when(transitionMock.getTargetState()).thenReturn(ANOTHER_STATE);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        verify(statefulObject).setState(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given condition rejects the transition " +
+            "When call LifecycleManagerImpl.tryExecute " +
+            "Then returns result with GUARD_REJECTED status")
+    void givenConditionRejects_whenCallTryExecute_thenReturnsGuardRejectedStatus() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        Lifecycle<TestState, TestEvent> lifecycle = mock(Lifecycle.class);
+        when(statefulObject.getState()).thenReturn(STATE);
+        when(transitionProviderMock.findLifecycle(statefulObject)).thenReturn(lifecycle);
+        when(lifecycle.getTransition(STATE, EVENT)).thenReturn(transitionMock);
+        when(transitionMock.transit(any())).thenReturn(false);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.tryExecute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.GUARD_REJECTED);
+    }
+
+    @Test
+    @DisplayName("Given Transition.transit throws an exception and FailureReporter is specified " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the failure is reported to the FailureReporter")
+    void givenTransitionThrowsExceptionAndFailureReporter_whenCallExecute_thenFailureIsReported() {
+        FailureReporter failureReporter = mock(FailureReporter.class);
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        RuntimeException exception = new RuntimeException();
+        when(statefulObject.getLifecycleName()).thenReturn("lifecycle");
+        when(statefulObject.getId()).thenReturn("id");
+        when(transitionProviderMock.getTransition(statefulObject, EVENT)).thenReturn(transitionMock);
+        when(transitionMock.transit(any())).thenThrow(exception);
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(transitionProviderMock)
+                .failureReporter(failureReporter)
+                .build();
+
+        lifecycleManager.execute(statefulObject, EVENT);
+
+        verify(failureReporter).transitionFailed("lifecycle", transitionMock, EVENT, "id", exception);
+    }
+
+    @Test
+    @DisplayName("Given stateful objects with the same lifecycle and state " +
+            "When call LifecycleManagerImpl.executeAll with consumer " +
+            "Then the transition is resolved once and each result is passed to the consumer")
+    void givenObjectsWithSameLifecycleAndState_whenCallExecuteAll_thenTransitionIsResolvedOnce() {
+        List<StatefulObject<TestState>> statefulObjects = asList(
+                statefulObject("lifecycle", STATE),
+                statefulObject("lifecycle", STATE),
+                statefulObject("lifecycle", STATE));
+        when(transitionProviderMock.getTransition(any(), any())).thenReturn(transitionMock);
+        when(transitionMock.getTargetState()).thenReturn(ANOTHER_STATE);
+        List<TestState> targetStates = new ArrayList<>();
+
+        lifecycleManager.executeAll(statefulObjects, EVENT, emptyMap(), result -> targetStates.add(result.getTargetState()));
+
+        assertThat(targetStates).containsExactly(ANOTHER_STATE, ANOTHER_STATE, ANOTHER_STATE);
+        verify(transitionProviderMock, times(1)).getTransition(any(), any());
+        statefulObjects.forEach(statefulObject -> verify(statefulObject).setState(ANOTHER_STATE));
+    }
+
+    @Test
+    @DisplayName("Given stateful objects with different states " +
+            "When call LifecycleManagerImpl.executeAll with consumer " +
+            "Then the transition is resolved once per state")
+    void givenObjectsWithDifferentStates_whenCallExecuteAll_thenTransitionIsResolvedOncePerState() {
+        List<StatefulObject<TestState>> statefulObjects = asList(
+                statefulObject("lifecycle", STATE),
+                statefulObject("lifecycle", ANOTHER_STATE),
+                statefulObject("lifecycle", STATE),
+                statefulObject("lifecycle", ANOTHER_STATE));
+        when(transitionProviderMock.getTransition(any(), any())).thenReturn(transitionMock);
+
+        lifecycleManager.executeAll(statefulObjects, EVENT, emptyMap(), result -> {
+        });
+
+        verify(transitionProviderMock, times(2)).getTransition(any(), any());
+    }
+
+    @Test
+    @DisplayName("Given stateful objects " +
+            "When call LifecycleManagerImpl.executeAllLazily " +
+            "Then transitions are executed only when the results are requested")
+    void givenObjects_whenCallExecuteAllLazily_thenTransitionsAreExecutedLazily() {
+        StatefulObject<TestState> first = statefulObject("lifecycle", STATE);
+        StatefulObject<TestState> second = statefulObject("lifecycle", STATE);
+        when(transitionProviderMock.getTransition(any(), any())).thenReturn(transitionMock);
+        when(transitionMock.getTargetState()).thenReturn(ANOTHER_STATE);
+
+        Iterator<TransitionResult<TestState, TestEvent>> results = lifecycleManager.executeAllLazily(asList(first, second), EVENT, emptyMap());
+        verify(transitionMock, never()).transit(any());
+
+        TransitionResult<TestState, TestEvent> actual = results.next();
+
+        assertThat(actual.isSucceeded()).isTrue();
+        verify(first).setState(ANOTHER_STATE);
+        verify(second, never()).setState(any());
+        assertThat(results.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given stateful objects " +
+            "When call LifecycleManagerImpl.executeAllLazily and the cursor is abandoned " +
+            "Then only the consumed stateful objects change their states")
+    void givenObjects_whenCallExecuteAllLazilyAndCursorIsAbandoned_thenRestKeepStates() {
+        TestStatefulObject first = new TestStatefulObject();
+        TestStatefulObject second = new TestStatefulObject();
+        TestStatefulObject third = new TestStatefulObject();
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of())));
+
+        Iterator<TransitionResult<TestState, TestEvent>> results = lifecycleManager.executeAllLazily(asList(first, second, third), EVENT, emptyMap());
+        results.next();
+        results.next();
+
+        assertThat(first.getState()).isEqualTo(ANOTHER_STATE);
+        assertThat(second.getState()).isEqualTo(ANOTHER_STATE);
+        assertThat(third.getState()).isEqualTo(STATE);
+        assertThat(results.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given many stateful objects and a fork/join pool " +
+            "When call LifecycleManagerImpl.executeAllParallel " +
+            "Then each stateful object is executed once and the stats of the chunks are merged")
+    void givenManyObjects_whenCallExecuteAllParallel_thenEachObjectIsExecutedOnceAndStatsAreMerged() {
+        int size = 10_000;
+        LongAdder executedActions = new LongAdder();
+        LongAdder consumedResults = new LongAdder();
+        Condition<TestState, TestEvent> evenIds = context -> Integer.parseInt(context.getStatefulObject().getId()) % 2 == 0;
+        Action<TestState, TestEvent> action = context -> executedActions.increment();
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(evenIds), List.of(action))))
+                .build();
+        List<TestStatefulObject> statefulObjects = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            statefulObjects.add(new TestStatefulObject(String.valueOf(i)));
+        }
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)))
+                .forkJoinPool(forkJoinPool)
+                .build();
+
+        BulkExecutionStats actual;
+        try {
+            actual = lifecycleManager.executeAllParallel(statefulObjects, EVENT, emptyMap(), result -> consumedResults.increment());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        assertThat(actual.getTotal()).isEqualTo(size);
+        assertThat(actual.getSucceeded()).isEqualTo(size / 2);
+        assertThat(actual.getRejected()).isEqualTo(size / 2);
+        assertThat(actual.getFailed()).isZero();
+        assertThat(executedActions.sum()).isEqualTo(size / 2);
+        assertThat(consumedResults.sum()).isEqualTo(size);
+        assertThat(statefulObjects)
+                .filteredOn(statefulObject -> statefulObject.getState() == ANOTHER_STATE)
+                .hasSize(size / 2);
+    }
+
+    @Test
+    @DisplayName("Given the same stateful object is in the list twice " +
+            "When call LifecycleManagerImpl.executeAllParallel " +
+            "Then throws IllegalArgumentException and nothing is executed")
+    void givenDuplicateObject_whenCallExecuteAllParallel_thenThrowsIllegalArgumentException() {
+        Action<TestState, TestEvent> action = mock(Action.class);
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(action))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        assertThatThrownBy(() -> lifecycleManager.executeAllParallel(asList(statefulObject, new TestStatefulObject("another"), statefulObject), EVENT, emptyMap()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(action, never()).execute(any());
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given AtomicStatefulObject keeps the source state " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the target state is committed by compareAndSetState")
+    void givenAtomicStatefulObjectKeepsSourceState_whenCallExecute_thenTargetStateIsCommittedByCompareAndSet() {
+        AtomicStatefulObject<TestState> statefulObject = mock(AtomicStatefulObject.class);
+        when(statefulObject.compareAndSetState(STATE, ANOTHER_STATE)).thenReturn(true);
+        when(transitionProviderMock.getTransition(statefulObject, EVENT)).thenReturn(transitionMock);
+        when(transitionMock.getSourceState()).thenReturn(STATE);
+        when(transitionMock.getTargetState()).thenReturn(ANOTHER_STATE);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        verify(statefulObject).compareAndSetState(STATE, ANOTHER_STATE);
+        verify(statefulObject, never()).setState(any());
+    }
+
+    @Test
+    @DisplayName("Given the state of AtomicStatefulObject is changed concurrently " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then returns result with CONFLICT status and StateConflictException")
+    void givenAtomicStatefulObjectStateChangedConcurrently_whenCallExecute_thenReturnsConflict() {
+        AtomicStatefulObject<TestState> statefulObject = mock(AtomicStatefulObject.class);
+        when(statefulObject.compareAndSetState(STATE, ANOTHER_STATE)).thenReturn(false);
+        when(transitionProviderMock.getTransition(statefulObject, EVENT)).thenReturn(transitionMock);
+        when(transitionMock.getSourceState()).thenReturn(STATE);
+        when(transitionMock.getTargetState()).thenReturn(ANOTHER_STATE);
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.CONFLICT);
+        assertThat(actual.isSucceeded()).isFalse();
+        assertThat(actual.getException()).isInstanceOf(StateConflictException.class);
+        verify(statefulObject, never()).setState(any());
+    }
+
+    @Test
+    @DisplayName("Given all conditions are met " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then actions of all transitions are executed and all states are committed")
+    void givenAllConditionsAreMet_whenCallExecuteAtomically_thenAllStatesAreCommitted() {
+        List<String> executed = new ArrayList<>();
+        lifecycleManager = atomicLifecycleManager(context -> true, context -> executed.add(context.getStatefulObject().getId()));
+        TestStatefulObject order = new TestStatefulObject("order");
+        TestStatefulObject shipment = new TestStatefulObject("shipment");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.OK, TransitionStatus.OK);
+        assertThat(executed).containsExactly("order", "shipment");
+        assertThat(order.getState()).isEqualTo(ANOTHER_STATE);
+        assertThat(shipment.getState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given condition of one transition rejects it " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then no action is executed and no state is committed")
+    void givenOneConditionRejects_whenCallExecuteAtomically_thenNothingIsExecuted() {
+        List<String> executed = new ArrayList<>();
+        lifecycleManager = atomicLifecycleManager(
+                context -> !"shipment".equals(context.getStatefulObject().getId()),
+                context -> executed.add(context.getStatefulObject().getId()));
+        TestStatefulObject order = new TestStatefulObject("order");
+        TestStatefulObject shipment = new TestStatefulObject("shipment");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.GUARD_REJECTED);
+        assertThat(executed).isEmpty();
+        assertThat(order.getState()).isEqualTo(STATE);
+        assertThat(shipment.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given action of the second transition throws an exception " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then no state is committed")
+    void givenActionThrowsException_whenCallExecuteAtomically_thenNoStateIsCommitted() {
+        RuntimeException exception = new RuntimeException();
+        lifecycleManager = atomicLifecycleManager(context -> true, context -> {
+            if ("shipment".equals(context.getStatefulObject().getId())) {
+                throw exception;
+            }
+        });
+        TestStatefulObject order = new TestStatefulObject("order");
+        TestStatefulObject shipment = new TestStatefulObject("shipment");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.ACTION_FAILED);
+        assertThat(actual.get(1).getException()).isSameAs(exception);
+        assertThat(order.getState()).isEqualTo(STATE);
+        assertThat(shipment.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given state of a stateful object is changed after its transition is resolved " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then returns CONFLICT status and no action is executed")
+    void givenStateChangedAfterResolution_whenCallExecuteAtomically_thenReturnsConflict() {
+        List<String> executed = new ArrayList<>();
+        TestStatefulObject shipment = new TestStatefulObject("shipment");
+        lifecycleManager = atomicLifecycleManager(
+                context -> {
+                    shipment.setState(ANOTHER_STATE);
+                    return true;
+                },
+                context -> executed.add(context.getStatefulObject().getId()));
+        TestStatefulObject order = new TestStatefulObject("order");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.CONFLICT);
+        assertThat(actual.get(1).getException()).isInstanceOf(StateConflictException.class);
+        assertThat(executed).isEmpty();
+        assertThat(order.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given the state of the second AtomicStatefulObject is changed outside of the group during the actions " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then the committed state of the first one is rolled back and the second one gets CONFLICT status")
+    void givenStateChangedDuringActions_whenCallExecuteAtomically_thenCommittedStatesAreRolledBack() {
+        AtomicTestStatefulObject order = new AtomicTestStatefulObject("order");
+        AtomicTestStatefulObject shipment = new AtomicTestStatefulObject("shipment");
+        lifecycleManager = atomicLifecycleManager(context -> true, context -> {
+            if (context.getStatefulObject() == shipment) {
+                shipment.setState(ANOTHER_STATE);
+            }
+        });
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.CONFLICT);
+        assertThat(actual.get(1).getException()).isInstanceOf(StateConflictException.class);
+        assertThat(order.getState()).isEqualTo(STATE);
+        assertThat(order.compareAndSetCount).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given LifecycleManagerImpl with compact results " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then the results don't retain the state contexts")
+    void givenCompactResults_whenCallExecuteAtomically_thenResultsAreCompact() {
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of());
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(provider(transition))
+                .compactResults(true)
+                .build();
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(new TestStatefulObject("order"), EVENT),
+                TransitionRequest.of(new TestStatefulObject("shipment"), EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.OK, TransitionStatus.OK);
+        assertThat(actual).extracting(TransitionResult::getStateContext).containsOnlyNulls();
+        assertThat(actual.get(0)).isSameAs(actual.get(1));
+    }
+
+    @Test
+    @DisplayName("Given LifecycleManagerImpl with compact results and condition of one transition rejects it " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then the results of the aborted group don't retain the state contexts")
+    void givenCompactResultsAndConditionRejects_whenCallExecuteAtomically_thenResultsAreCompact() {
+        Transition<TestState, TestEvent> transition = new Transition<>(STATE, ANOTHER_STATE, EVENT,
+                Set.of(context -> !"shipment".equals(context.getStatefulObject().getId())), List.of());
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(provider(transition))
+                .compactResults(true)
+                .build();
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(new TestStatefulObject("order"), EVENT),
+                TransitionRequest.of(new TestStatefulObject("shipment"), EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.GUARD_REJECTED);
+        assertThat(actual).extracting(TransitionResult::getStateContext).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("Given the same stateful object is requested twice " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then throws IllegalArgumentException")
+    void givenSameStatefulObjectTwice_whenCallExecuteAtomically_thenThrowsIllegalArgumentException() {
+        lifecycleManager = atomicLifecycleManager(context -> true, context -> {
+        });
+        TestStatefulObject order = new TestStatefulObject("order");
+        List<TransitionRequest<TestState, TestEvent>> requests = asList(TransitionRequest.of(order, EVENT), TransitionRequest.of(order, EVENT));
+
+        assertThatThrownBy(() -> lifecycleManager.executeAtomically(requests))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given action posts a follow-up event " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the follow-up transition is executed after the transition is committed")
+    void givenActionPostsEvent_whenCallExecute_thenFollowUpTransitionIsExecuted() {
+        List<TestState> statesSeenByFollowUp = new ArrayList<>();
+        Action<TestState, TestEvent> postAnotherEvent = context -> context.postEvent(ANOTHER_EVENT);
+        Action<TestState, TestEvent> recordState = context -> statesSeenByFollowUp.add(context.getStatefulObject().getState());
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(postAnotherEvent)),
+                new Transition<>(ANOTHER_STATE, STATE, ANOTHER_EVENT, Set.of(), List.of(recordState))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(actual.getTargetState()).isEqualTo(ANOTHER_STATE);
+        assertThat(statesSeenByFollowUp).containsExactly(ANOTHER_STATE);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+        assertThat(actual.getStateContext().getEvent()).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Given condition shared by the transition and the follow-up transition " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the condition is evaluated again for the follow-up transition")
+    void givenSharedConditionInEventChain_whenCallExecute_thenConditionIsEvaluatedForEachTransition() {
+        List<TestState> statesSeenByCondition = new ArrayList<>();
+        Condition<TestState, TestEvent> condition = context -> statesSeenByCondition.add(context.getStatefulObject().getState());
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(condition), List.of(context -> context.postEvent(ANOTHER_EVENT))),
+                new Transition<>(ANOTHER_STATE, STATE, ANOTHER_EVENT, Set.of(condition), List.of())));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(statesSeenByCondition).containsExactly(STATE, ANOTHER_STATE);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given posted event matches more than one transition " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the ambiguity is reported with the exception")
+    void givenPostedEventIsAmbiguous_whenCallExecute_thenAmbiguityIsReported() {
+        FailureReporter failureReporter = mock(FailureReporter.class);
+        AmbiguousTransitionException exception = new AmbiguousTransitionException("ambiguous");
+        Lifecycle<TestState, TestEvent> lifecycle = mock(Lifecycle.class);
+        when(lifecycle.getName()).thenReturn(LIFECYCLE_NAME);
+        when(lifecycle.getTransition(STATE, EVENT)).thenReturn(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(context -> context.postEvent(ANOTHER_EVENT))));
+        when(lifecycle.getTransition(ANOTHER_STATE, ANOTHER_EVENT)).thenThrow(exception);
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)))
+                .failureReporter(failureReporter)
+                .build();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(new TestStatefulObject(), EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        verify(failureReporter).transitionAmbiguous(LIFECYCLE_NAME, ANOTHER_STATE, ANOTHER_EVENT, "id", exception);
+        verify(failureReporter, never()).transitionNotFound(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Given action of atomic group posts a follow-up event " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then the follow-up transition is executed after the group is committed")
+    void givenActionPostsEvent_whenCallExecuteAtomically_thenFollowUpTransitionIsExecuted() {
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(context -> context.postEvent(ANOTHER_EVENT))),
+                new Transition<>(ANOTHER_STATE, STATE, ANOTHER_EVENT, Set.of(), List.of())));
+        TestStatefulObject order = new TestStatefulObject("order");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(List.of(TransitionRequest.of(order, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.OK);
+        assertThat(order.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given actions post events to each other endlessly " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the chain is truncated by the limit and reported")
+    void givenEndlessEventChain_whenCallExecute_thenChainIsTruncatedAndReported() {
+        FailureReporter failureReporter = mock(FailureReporter.class);
+        int[] executed = new int[1];
+        Action<TestState, TestEvent> postEvent = context -> {
+            executed[0]++;
+            context.postEvent(EVENT);
+        };
+        lifecycleManager = LifecycleManagerImpl.<TestState, TestEvent>builder()
+                .transitionProvider(provider(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(postEvent)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of(postEvent))))
+                .failureReporter(failureReporter)
+                .maxEventChainLength(3)
+                .build();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(new TestStatefulObject(), EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(executed[0]).isEqualTo(4);
+        verify(failureReporter).eventChainTruncated(eq(LIFECYCLE_NAME), eq("id"), eq(3), anyInt());
+    }
+
+    @Test
+    @DisplayName("Given action posts an event and the condition rejects the transition " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the posted event is discarded")
+    void givenTransitionIsRejected_whenCallExecute_thenPostedEventIsDiscarded() {
+        Condition<TestState, TestEvent> postAndReject = context -> {
+            context.postEvent(ANOTHER_EVENT);
+            return false;
+        };
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(postAndReject), List.of()),
+                new Transition<>(STATE, ANOTHER_STATE, ANOTHER_EVENT, Set.of(), List.of())));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.GUARD_REJECTED);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given async action is not done " +
+            "When call LifecycleManagerImpl.executeAsync " +
+            "Then the target state is committed only when the stage completes")
+    void givenAsyncActionIsNotDone_whenCallExecuteAsync_thenStateIsCommittedWhenStageCompletes() throws Exception {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAsync(statefulObject, EVENT, emptyMap());
+
+        assertThat(actual).isNotDone();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+
+        stage.complete(null);
+
+        assertThat(actual.get().getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(statefulObject.getState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given async action is not done " +
+            "When call LifecycleManagerImpl.tryExecuteAsync " +
+            "Then the future is completed with OK status only when the stage completes")
+    void givenAsyncActionIsNotDone_whenCallTryExecuteAsync_thenFutureIsCompletedWhenStageCompletes() throws Exception {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.tryExecuteAsync(statefulObject, EVENT, emptyMap());
+
+        assertThat(actual).isNotDone();
+        stage.complete(null);
+        assertThat(actual.get().getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(statefulObject.getState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given no transition " +
+            "When call LifecycleManagerImpl.tryExecuteAsync " +
+            "Then returns completed future with NO_TRANSITION status")
+    void givenNoTransition_whenCallTryExecuteAsync_thenReturnsCompletedFutureWithNoTransitionStatus() {
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of())));
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> actual =
+                lifecycleManager.tryExecuteAsync(new TestStatefulObject(), EVENT, emptyMap());
+
+        assertThat(actual).isCompletedWithValue(TransitionResult.miss(TransitionStatus.NO_TRANSITION));
+    }
+
+    @Test
+    @DisplayName("Given stage of async action fails " +
+            "When call LifecycleManagerImpl.executeAsync " +
+            "Then the result contains the exception and the state is not committed")
+    void givenAsyncActionFails_whenCallExecuteAsync_thenResultContainsException() throws Exception {
+        IllegalStateException exception = new IllegalStateException();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> CompletableFuture.failedFuture(exception);
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.executeAsync(statefulObject, EVENT, emptyMap()).get();
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.ACTION_FAILED);
+        assertThat(actual.getException()).isSameAs(exception);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given async action exceeds its timeout " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the stage is cancelled and the result is timed out")
+    void givenActionExceedsTimeout_whenCallExecute_thenResultIsTimedOut() {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> hungAction = context -> stage;
+        Action<TestState, TestEvent> action = TimeLimitedAction.of(hungAction, Duration.ofMillis(50));
+        lifecycleManager = new LifecycleManagerImpl<>(provider(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(action))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.TIMED_OUT);
+        assertThat(actual.getException()).isInstanceOf(TransitionTimeoutException.class);
+        assertThat(stage).isCancelled();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+        assertThat(Thread.interrupted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given transition with timeout has a synchronous action exceeding the deadline " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the action is not interrupted, the next action is not started and the result is timed out")
+    void givenTimedTransitionWithSlowSyncAction_whenCallExecute_thenActionIsNotInterruptedAndNextIsNotStarted() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean nextStarted = new AtomicBoolean();
+        Action<TestState, TestEvent> slowAction = context -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        };
+        Action<TestState, TestEvent> nextAction = context -> nextStarted.set(true);
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(slowAction, nextAction), false, Duration.ofMillis(50))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.TIMED_OUT);
+        assertThat(interrupted).isFalse();
+        assertThat(nextStarted).isFalse();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+        assertThat(Thread.interrupted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given caller is interrupted while waiting for async action of transition with timeout " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the stage is cancelled and the interrupt is kept")
+    void givenCallerInterrupted_whenCallExecuteTimedTransition_thenStageIsCancelledAndInterruptIsKept() {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction), false, Duration.ofMinutes(1))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        Thread.currentThread().interrupt();
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.ACTION_FAILED);
+        assertThat(stage).isCancelled();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given transition with timeout finishes in time " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the transition is performed and the thread is not interrupted later")
+    void givenTransitionFinishesInTime_whenCallExecute_thenThreadIsNotInterrupted() throws InterruptedException {
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(context -> { }), false, Duration.ofMillis(50))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+        Thread.sleep(100);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.OK);
+        assertThat(Thread.interrupted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given async action never completes and transition has timeout " +
+            "When call LifecycleManagerImpl.executeAsync " +
+            "Then the result is timed out and the stage is cancelled")
+    void givenAsyncActionNeverCompletes_whenCallExecuteAsync_thenResultIsTimedOut() throws Exception {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction), false, Duration.ofMillis(50))));
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.executeAsync(statefulObject, EVENT, emptyMap())
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.TIMED_OUT);
+        assertThatThrownBy(() -> stage.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given transition with timeout contains action group with a hung action " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the caller is released at the deadline and the hung action is interrupted")
+    void givenTimedTransitionWithHungActionGroup_whenCallExecute_thenCallerIsReleasedAndActionIsInterrupted() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch interrupted = new CountDownLatch(1);
+            Action<TestState, TestEvent> hungAction = context -> {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            };
+            Action<TestState, TestEvent> group = new ParallelActionGroup<>(executor, List.of(hungAction));
+            lifecycleManager = new LifecycleManagerImpl<>(provider(
+                    new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(group), false, Duration.ofMillis(100))));
+            TestStatefulObject statefulObject = new TestStatefulObject();
+
+            long start = System.nanoTime();
+            TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(statefulObject, EVENT);
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+            assertThat(actual.getStatus()).isEqualTo(TransitionStatus.TIMED_OUT);
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(statefulObject.getState()).isEqualTo(STATE);
+            assertThat(Thread.interrupted()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Given transition with timeout contains async action which never completes " +
+            "When call LifecycleManagerImpl.execute " +
+            "Then the result is timed out and the stage is cancelled")
+    void givenTimedTransitionWithHungAsyncAction_whenCallExecute_thenResultIsTimedOutAndStageIsCancelled() {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(asyncAction), false, Duration.ofMillis(50))));
+
+        TransitionResult<TestState, TestEvent> actual = lifecycleManager.execute(new TestStatefulObject(), EVENT);
+
+        assertThat(actual.getStatus()).isEqualTo(TransitionStatus.TIMED_OUT);
+        assertThat(stage).isCancelled();
+        assertThat(Thread.interrupted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given transition with timeout has a hung async action " +
+            "When call LifecycleManagerImpl.executeAtomically " +
+            "Then the request is timed out, the rest are aborted and no state is committed")
+    void givenTimedTransitionWithHungAction_whenCallExecuteAtomically_thenRequestIsTimedOut() {
+        AsyncAction<TestState, TestEvent> hungAction = context -> "shipment".equals(context.getStatefulObject().getId())
+                ? new CompletableFuture<>()
+                : CompletableFuture.completedFuture(null);
+        lifecycleManager = new LifecycleManagerImpl<>(provider(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(hungAction), false, Duration.ofMillis(50))));
+        TestStatefulObject order = new TestStatefulObject("order");
+        TestStatefulObject shipment = new TestStatefulObject("shipment");
+
+        List<TransitionResult<TestState, TestEvent>> actual = lifecycleManager.executeAtomically(asList(
+                TransitionRequest.of(order, EVENT),
+                TransitionRequest.of(shipment, EVENT)));
+
+        assertThat(actual).extracting(TransitionResult::getStatus).containsExactly(TransitionStatus.ABORTED, TransitionStatus.TIMED_OUT);
+        assertThat(order.getState()).isEqualTo(STATE);
+        assertThat(shipment.getState()).isEqualTo(STATE);
+        assertThat(Thread.interrupted()).isFalse();
+    }
+
+    @SafeVarargs
+    private static TransitionProvider<TestState, TestEvent> provider(Transition<TestState, TestEvent>... transitions) {
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(transitions))
+                .build();
+        return new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle));
+    }
+
+    private static LifecycleManagerImpl<TestState, TestEvent> atomicLifecycleManager(Condition<TestState, TestEvent> condition,
+                                                                                    Action<TestState, TestEvent> action) {
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(condition), List.of(action))))
+                .build();
+        return new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)));
+    }
+
+    static class AtomicTestStatefulObject extends TestStatefulObject implements AtomicStatefulObject<TestState> {
+
+        int compareAndSetCount;
+
+        AtomicTestStatefulObject(String id) {
+            super(id);
+        }
+
+        @Override
+        public synchronized boolean compareAndSetState(TestState expected, TestState next) {
+            compareAndSetCount++;
+            if (getState() != expected) {
+                return false;
+            }
+            setState(next);
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StatefulObject<TestState> statefulObject(String lifecycleName, TestState state) {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getLifecycleName()).thenReturn(lifecycleName);
+        when(statefulObject.getState()).thenReturn(state);
+        return statefulObject;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.kabal163.statemachine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LockStripesTest {
+
+    @Test
+    @DisplayName("Given keys of the same stripe " +
+            "When call LockStripes.lock " +
+            "Then the stripe is locked once")
+    void givenKeysOfSameStripe_whenCallLock_thenStripeIsLockedOnce() {
+        LockStripes lockStripes = new LockStripes(1);
+
+        int[] actual = lockStripes.lock(new Object[]{"order", "shipment"});
+        lockStripes.unlock(actual);
+
+        assertThat(actual).containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("Given two threads lock overlapping groups in the opposite order " +
+            "When call LockStripes.lock repeatedly " +
+            "Then the threads don't deadlock")
+    void givenOppositeOrder_whenCallLockRepeatedly_thenNoDeadlock() throws InterruptedException {
+        LockStripes lockStripes = new LockStripes(64);
+        int iterations = 10_000;
+        AtomicInteger done = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(2);
+        Runnable forward = () -> lockRepeatedly(lockStripes, new Object[]{1, 2, 3}, iterations, done, finished);
+        Runnable backward = () -> lockRepeatedly(lockStripes, new Object[]{3, 2, 1}, iterations, done, finished);
+
+        new Thread(forward).start();
+        new Thread(backward).start();
+
+        assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(done.get()).isEqualTo(2 * iterations);
+    }
+
+    @Test
+    @DisplayName("Given the number of stripes is not a power of two " +
+            "When create LockStripes " +
+            "Then throws IllegalArgumentException")
+    void givenNotPowerOfTwo_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new LockStripes(3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void lockRepeatedly(LockStripes lockStripes,
+                                       Object[] keys,
+                                       int iterations,
+                                       AtomicInteger done,
+                                       CountDownLatch finished) {
+        for (int i = 0; i < iterations; i++) {
+            int[] stripes = lockStripes.lock(keys);
+            done.incrementAndGet();
+            lockStripes.unlock(stripes);
+        }
+        finished.countDown();
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static com.github.kabal163.statemachine.TestStatefulObject.LIFECYCLE_NAME;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailboxLifecycleManagerImplTest {
+
+    static final int OBJECTS = 100;
+    static final int EVENTS_PER_OBJECT = 1_000;
+
+    /**
+     * Not thread-safe on purpose: the counts are exact only if
+     * the transitions of each stateful object are serialized
+     */
+    Map<String, int[]> transitionsById;
+
+    ForkJoinPool forkJoinPool;
+    MailboxLifecycleManagerImpl<TestState, TestEvent> mailboxLifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        transitionsById = new HashMap<>();
+        for (int i = 0; i < OBJECTS; i++) {
+            transitionsById.put(String.valueOf(i), new int[1]);
+        }
+        Action<TestState, TestEvent> count = context -> transitionsById.get(context.getStatefulObject().<String>getId())[0]++;
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(count)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of(count))))
+                .build();
+
+        forkJoinPool = new ForkJoinPool(4);
+        mailboxLifecycleManager = new MailboxLifecycleManagerImpl<>(
+                new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle))),
+                forkJoinPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Given many threads fire events at the same stateful objects " +
+            "When call MailboxLifecycleManagerImpl.execute " +
+            "Then the transitions of each stateful object are serialized and idle mailboxes are removed")
+    void givenConcurrentEvents_whenCallExecute_thenTransitionsAreSerializedPerObject() throws Exception {
+        List<StatefulObject<TestState>> statefulObjects = new ArrayList<>();
+        for (int i = 0; i < OBJECTS; i++) {
+            statefulObjects.add(new TestStatefulObject(String.valueOf(i)));
+        }
+        int producers = 4;
+        List<CompletableFuture<TransitionResult<TestState, TestEvent>>> futures = new ArrayList<>();
+        List<List<CompletableFuture<TransitionResult<TestState, TestEvent>>>> futuresByProducer = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            List<CompletableFuture<TransitionResult<TestState, TestEvent>>> producerFutures = new ArrayList<>();
+            futuresByProducer.add(producerFutures);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < EVENTS_PER_OBJECT / producers; i++) {
+                    for (StatefulObject<TestState> statefulObject : statefulObjects) {
+                        producerFutures.add(mailboxLifecycleManager.execute(statefulObject, EVENT));
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        futuresByProducer.forEach(futures::addAll);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertThat(transitionsById.values()).allSatisfy(count -> assertThat(count[0]).isEqualTo(EVENTS_PER_OBJECT));
+        assertThat(statefulObjects).allSatisfy(statefulObject -> assertThat(statefulObject.getState()).isEqualTo(STATE));
+        awaitNoMailboxes();
+    }
+
+    @Test
+    @DisplayName("Given events are enqueued for the same stateful object " +
+            "When call MailboxLifecycleManagerImpl.execute " +
+            "Then the transitions are executed in the order of enqueuing")
+    void givenSequentialEvents_whenCallExecute_thenTransitionsAreExecutedInOrder() throws Exception {
+        StatefulObject<TestState> statefulObject = new TestStatefulObject("0");
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> first = mailboxLifecycleManager.execute(statefulObject, EVENT);
+        CompletableFuture<TransitionResult<TestState, TestEvent>> second = mailboxLifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getTargetState()).isEqualTo(ANOTHER_STATE);
+        assertThat(second.get(10, TimeUnit.SECONDS).getTargetState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given no transition for the event " +
+            "When call MailboxLifecycleManagerImpl.execute and tryExecute " +
+            "Then execute completes exceptionally and tryExecute completes with the status")
+    void givenNoTransition_whenCallExecuteAndTryExecute_thenMissIsReported() throws Exception {
+        StatefulObject<TestState> statefulObject = new TestStatefulObject("0");
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> executed = mailboxLifecycleManager.execute(statefulObject, ANOTHER_EVENT);
+        CompletableFuture<TransitionResult<TestState, TestEvent>> tried = mailboxLifecycleManager.tryExecute(statefulObject, ANOTHER_EVENT, emptyMap());
+
+        assertThat(tried.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(TransitionStatus.NO_TRANSITION);
+        assertThatThrownBy(executed::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TransitionNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Given a transition throws an Error " +
+            "When call MailboxLifecycleManagerImpl.execute " +
+            "Then its future completes exceptionally and the next events of the mailbox are still executed")
+    void givenTransitionThrowsError_whenCallExecute_thenMailboxIsReleased() throws Exception {
+        Action<TestState, TestEvent> fail = context -> {
+            if (context.getVariable("fail", Boolean.class) != null) {
+                throw new AssertionError("fail");
+            }
+        };
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(fail)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of(fail))))
+                .build();
+        mailboxLifecycleManager = new MailboxLifecycleManagerImpl<>(
+                new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle))),
+                forkJoinPool);
+        StatefulObject<TestState> statefulObject = new TestStatefulObject("0");
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> failed = mailboxLifecycleManager.execute(statefulObject, EVENT, Map.of("fail", true));
+        CompletableFuture<TransitionResult<TestState, TestEvent>> next = mailboxLifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(next.get(10, TimeUnit.SECONDS).isSucceeded()).isTrue();
+        assertThatThrownBy(failed::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        awaitNoMailboxes();
+    }
+
+    @Test
+    @DisplayName("Given the executor rejects the drain " +
+            "When call MailboxLifecycleManagerImpl.execute " +
+            "Then the future is completed exceptionally, the mailbox is removed and the next events are executed")
+    void givenExecutorRejects_whenCallExecute_thenFutureIsCompletedExceptionallyAndMailboxIsRemoved() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        Executor executor = command -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            command.run();
+        };
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of())))
+                .build();
+        mailboxLifecycleManager = new MailboxLifecycleManagerImpl<>(
+                new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle))),
+                executor);
+        TestStatefulObject statefulObject = new TestStatefulObject("1");
+
+        CompletableFuture<TransitionResult<TestState, TestEvent>> rejected = mailboxLifecycleManager.execute(statefulObject, EVENT);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(mailboxLifecycleManager.getMailboxCount()).isZero();
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+
+        rejecting.set(false);
+
+        assertThat(mailboxLifecycleManager.execute(statefulObject, EVENT).get(10, TimeUnit.SECONDS).getStatus())
+                .isEqualTo(TransitionStatus.OK);
+        assertThat(statefulObject.getState()).isEqualTo(ANOTHER_STATE);
+        assertThat(mailboxLifecycleManager.getMailboxCount()).isZero();
+    }
+
+    private void awaitNoMailboxes() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (mailboxLifecycleManager.getMailboxCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(mailboxLifecycleManager.getMailboxCount()).isZero();
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.Condition;
+import com.github.kabal163.statemachine.api.LifecycleConfiguration;
+import com.github.kabal163.statemachine.api.StateContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MethodHandleTransitionCompilerTest {
+
+    static final String LIFECYCLE_NAME = "lifecycle";
+
+    //@formatter:off
+    @Mock StateContext<TestState, TestEvent> context;
+
+    @Mock Action<TestState, TestEvent> firstAction;
+    @Mock Action<TestState, TestEvent> secondAction;
+
+    @Mock Condition<TestState, TestEvent> successCondition;
+    @Mock Condition<TestState, TestEvent> failedCondition;
+    //@formatter:on
+
+    MethodHandleTransitionCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(successCondition.evaluate(context)).thenReturn(true);
+        when(failedCondition.evaluate(context)).thenReturn(false);
+
+        compiler = new MethodHandleTransitionCompiler();
+    }
+
+    @Test
+    @DisplayName("When call MethodHandleTransitionCompiler.compile " +
+            "Then returns generated subclass of Transition with the same attributes")
+    void whenCompile_thenReturnsGeneratedTransitionWithTheSameAttributes() {
+        Transition<TestState, TestEvent> actual = compile(new Transition<>(
+                STATE,
+                ANOTHER_STATE,
+                EVENT,
+                Set.of(successCondition),
+                List.of(firstAction)));
+
+        assertThat(actual.getClass()).isNotEqualTo(Transition.class);
+        assertThat(actual.getSourceState()).isEqualTo(STATE);
+        assertThat(actual.getTargetState()).isEqualTo(ANOTHER_STATE);
+        assertThat(actual.getEvent()).isEqualTo(EVENT);
+        assertThat(actual.getConditions()).containsExactly(successCondition);
+        assertThat(actual.getActions()).containsExactly(firstAction);
+    }
+
+    @Test
+    @DisplayName("Given all conditions return true " +
+            "When call compiled Transition.transit " +
+            "Then executes the actions in the initial order and returns true")
+    void givenAllConditionsReturnTrue_whenCallCompiledTransit_thenExecutesActionsInOrderAndReturnsTrue() {
+        Transition<TestState, TestEvent> transition = compile(new Transition<>(
+                STATE,
+                ANOTHER_STATE,
+                EVENT,
+                Set.of(successCondition),
+                List.of(firstAction, secondAction)));
+
+        boolean actual = transition.transit(context);
+
+        assertThat(actual).isTrue();
+        InOrder inOrder = Mockito.inOrder(firstAction, secondAction);
+        inOrder.verify(firstAction).execute(context);
+        inOrder.verify(secondAction).execute(context);
+    }
+
+    @Test
+    @DisplayName("Given one of multiple conditions returns false " +
+            "When call compiled Transition.transit " +
+            "Then doesn't execute the actions and returns false")
+    void givenOneOfConditionsReturnsFalse_whenCallCompiledTransit_thenDoesNotExecuteActionsAndReturnsFalse() {
+        Transition<TestState, TestEvent> transition = compile(new Transition<>(
+                STATE,
+                ANOTHER_STATE,
+                EVENT,
+                Set.of(successCondition, failedCondition),
+                List.of(firstAction)));
+
+        boolean actual = transition.transit(context);
+
+        assertThat(actual).isFalse();
+        verify(firstAction, never()).execute(context);
+    }
+
+    @Test
+    @DisplayName("Given action throws exception " +
+            "When call compiled Transition.transit " +
+            "Then throws the same exception")
+    void givenActionThrowsException_whenCallCompiledTransit_thenThrowsTheSameException() {
+        IllegalStateException expected = new IllegalStateException("action failed");
+        Mockito.doThrow(expected).when(firstAction).execute(context);
+        Transition<TestState, TestEvent> transition = compile(new Transition<>(
+                STATE,
+                ANOTHER_STATE,
+                EVENT,
+                emptySet(),
+                List.of(firstAction, secondAction)));
+
+        assertThatThrownBy(() -> transition.transit(context))
+                .isSameAs(expected);
+        verify(secondAction, never()).execute(context);
+    }
+
+    @Test
+    @DisplayName("Given transition without conditions and actions " +
+            "When call compiled Transition.transit " +
+            "Then returns true")
+    void givenTransitionWithoutConditionsAndActions_whenCallCompiledTransit_thenReturnsTrue() {
+        Transition<TestState, TestEvent> transition = compile(new Transition<>(
+                STATE,
+                ANOTHER_STATE,
+                EVENT,
+                emptySet(),
+                emptyList()));
+
+        assertThat(transition.transit(context)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given several transitions of a lifecycle " +
+            "When call MethodHandleTransitionCompiler.compile " +
+            "Then all of them are instances of the same generated class")
+    void givenSeveralTransitions_whenCompile_thenTransitionsShareGeneratedClass() {
+        Set<Transition<TestState, TestEvent>> compiled = compiler.compile(LIFECYCLE_NAME, Set.of(
+                new Transition<>(STATE, ANOTHER_STATE, EVENT, emptySet(), List.of(firstAction)),
+                new Transition<>(ANOTHER_STATE, STATE, EVENT, emptySet(), List.of(secondAction))));
+
+        assertThat(compiled).hasSize(2);
+        assertThat(compiled).extracting(Object::getClass).containsOnly(compiled.iterator().next().getClass());
+    }
+
+    @Test
+    @DisplayName("Given lifecycle with more transitions than fit into a generated class " +
+            "When call compiled Transition.transit of each transition " +
+            "Then each transition executes its own action")
+    void givenLargeLifecycle_whenCallCompiledTransit_thenEachTransitionExecutesItsOwnAction() {
+        int size = MethodHandleTransitionCompiler.MAX_TRANSITIONS_PER_CLASS + 100;
+        int[] executed = new int[size];
+        Set<Transition<Integer, Integer>> transitions = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            int state = i;
+            transitions.add(new Transition<>(state, state + 1, 0, emptySet(), List.of(context -> executed[state]++)));
+        }
+        StateContext<Integer, Integer> integerContext = Mockito.mock(StateContext.class);
+
+        Set<Transition<Integer, Integer>> compiled = compiler.compile(LIFECYCLE_NAME, transitions);
+        for (Transition<Integer, Integer> transition : compiled) {
+            assertThat(transition.transit(integerContext)).isTrue();
+        }
+
+        assertThat(compiled).hasSize(size);
+        assertThat(compiled).extracting(Object::getClass).doesNotContain(Transition.class);
+        assertThat(compiled.stream().map(Object::getClass).distinct()).hasSize(2);
+        assertThat(executed).containsOnly(1);
+    }
+
+    @Test
+    @DisplayName("Given JavaConfigLifecyclesInitializer with MethodHandleTransitionCompiler " +
+            "When call JavaConfigLifecyclesInitializer.initialize " +
+            "Then lifecycle contains compiled transitions")
+    void givenInitializerWithCompiler_whenInitialize_thenLifecycleContainsCompiledTransitions() {
+        LifecycleConfiguration<TestState, TestEvent> configuration = new TestLifecycleConfiguration(firstAction);
+
+        Map<String, Lifecycle<TestState, TestEvent>> lifecycles = new JavaConfigLifecyclesInitializer(compiler)
+                .initialize(singletonList(configuration));
+        Transition<TestState, TestEvent> actual = lifecycles.values().iterator().next().getTransition(STATE, EVENT);
+
+        assertThat(actual).isNotNull();
+        assertThat(actual.getClass()).isNotEqualTo(Transition.class);
+        assertThat(actual.transit(context)).isTrue();
+        verify(firstAction).execute(context);
+    }
+
+    static class TestLifecycleConfiguration implements LifecycleConfiguration<TestState, TestEvent> {
+
+        final Action<TestState, TestEvent> action;
+
+        TestLifecycleConfiguration(Action<TestState, TestEvent> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void configureTransitions(TransitionConfigurer<TestState, TestEvent> configurer) {
+            configurer
+                    .with()
+                    .sourceState(STATE)
+                    .targetState(ANOTHER_STATE)
+                    .event(EVENT)
+                    .action(action);
+        }
+
+        @Override
+        public String getLifecycleName() {
+            return LIFECYCLE_NAME;
+        }
+    }
+
+    @Test
+    @DisplayName("Given conditions return true and action throws exception " +
+            "When call compiled Transition.transit " +
+            "Then the context is marked as started the actions only after the conditions")
+    void givenActionThrowsException_whenCallCompiledTransit_thenContextIsMarkedActionsStarted() {
+        ManagedStateContext<TestState, TestEvent> realContext = new ManagedStateContext<>(new TestStatefulObject(), EVENT, emptyMap());
+        Condition<TestState, TestEvent> condition = context -> {
+            assertThat(realContext.isActionsStarted()).isFalse();
+            return true;
+        };
+        Transition<TestState, TestEvent> transition = compile(new Transition<>(
+                STATE, ANOTHER_STATE, EVENT, Set.of(condition), List.of(context -> {
+                    throw new IllegalStateException("action failed");
+                })));
+
+        assertThatThrownBy(() -> transition.transit(realContext))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(realContext.isActionsStarted()).isTrue();
+    }
+
+    private Transition<TestState, TestEvent> compile(Transition<TestState, TestEvent> transition) {
+        return compiler.compile(LIFECYCLE_NAME, Set.of(transition)).iterator().next();
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.StateContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelActionGroupTest {
+
+    //@formatter:off
+    @Mock StateContext<TestState, TestEvent> context;
+    //@formatter:on
+
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Given actions waiting for each other " +
+            "When call ParallelActionGroup.execute " +
+            "Then executes the actions concurrently")
+    void givenActionsWaitingForEachOther_whenCallExecute_thenExecutesActionsConcurrently() {
+        CountDownLatch started = new CountDownLatch(2);
+        Action<TestState, TestEvent> action = context -> {
+            started.countDown();
+            await(started);
+        };
+        ParallelActionGroup<TestState, TestEvent> group = new ParallelActionGroup<>(executor, List.of(action, action));
+
+        group.execute(context);
+
+        assertThat(started.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given one of the actions fails " +
+            "When call ParallelActionGroup.executeAsync " +
+            "Then completes exceptionally without waiting and interrupts the running action")
+    void givenFailedAction_whenCallExecuteAsync_thenCompletesExceptionallyAndInterruptsRunningAction() throws InterruptedException {
+        CountDownLatch blockedStarted = new CountDownLatch(1);
+        CountDownLatch blockedFinished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Action<TestState, TestEvent> blocked = context -> {
+            blockedStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            blockedFinished.countDown();
+        };
+        Action<TestState, TestEvent> failed = context -> {
+            await(blockedStarted);
+            throw new IllegalStateException("failed");
+        };
+        ParallelActionGroup<TestState, TestEvent> group = new ParallelActionGroup<>(executor, List.of(blocked, failed));
+
+        CompletableFuture<Void> actual = group.executeAsync(context).toCompletableFuture();
+
+        assertThatThrownBy(actual::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(blockedFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given the first action fails " +
+            "When call ParallelActionGroup.execute " +
+            "Then throws the exception of the action and doesn't start the pending actions")
+    void givenFirstActionFails_whenCallExecute_thenThrowsExceptionAndSkipsPendingActions() {
+        AtomicBoolean executed = new AtomicBoolean();
+        Action<TestState, TestEvent> failed = context -> {
+            throw new IllegalStateException("failed");
+        };
+        ParallelActionGroup<TestState, TestEvent> group = new ParallelActionGroup<>(Runnable::run, List.of(failed, context -> executed.set(true)));
+
+        assertThatThrownBy(() -> group.execute(context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failed");
+        assertThat(executed).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.RingBufferEventProcessor.WaitStrategy;
+import com.github.kabal163.statemachine.api.Action;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static com.github.kabal163.statemachine.TestStatefulObject.LIFECYCLE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RingBufferEventProcessorTest {
+
+    static final int EVENTS = 100_000;
+
+    LifecycleManagerImpl<TestState, TestEvent> lifecycleManager;
+    long[] executedActions;
+
+    @BeforeEach
+    void setUp() {
+        executedActions = new long[1];
+        Action<TestState, TestEvent> count = context -> executedActions[0]++;
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of(count)),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of(count))))
+                .build();
+        lifecycleManager = new LifecycleManagerImpl<>(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    @DisplayName("Given wait strategy and small ring " +
+            "When call RingBufferEventProcessor.publish many times and close " +
+            "Then all events are executed in the order of publishing")
+    void givenWaitStrategy_whenPublishManyEvents_thenAllEventsAreExecutedInOrder(WaitStrategy waitStrategy) {
+        TestStatefulObject statefulObject = new TestStatefulObject();
+        long[] succeeded = new long[1];
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .waitStrategy(waitStrategy)
+                .bufferSize(64)
+                .resultHandler(result -> {
+                    if (result.isSucceeded()) {
+                        succeeded[0]++;
+                    }
+                })
+                .build();
+        processor.start();
+
+        for (int i = 0; i < EVENTS; i++) {
+            processor.publish(statefulObject, EVENT);
+        }
+        processor.close();
+
+        assertThat(executedActions[0]).isEqualTo(EVENTS);
+        assertThat(succeeded[0]).isEqualTo(EVENTS);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given there is no transition for the event " +
+            "When call RingBufferEventProcessor.publish " +
+            "Then the event is skipped and the next events are executed")
+    void givenNoTransition_whenPublish_thenEventIsSkipped() {
+        TestStatefulObject statefulObject = new TestStatefulObject();
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .build();
+        processor.start();
+
+        processor.publish(statefulObject, ANOTHER_EVENT);
+        processor.publish(statefulObject, EVENT);
+        processor.close();
+
+        assertThat(statefulObject.getState()).isEqualTo(ANOTHER_STATE);
+    }
+
+    @Test
+    @DisplayName("Given the processor is closed " +
+            "When call RingBufferEventProcessor.publish " +
+            "Then throws IllegalStateException")
+    void givenClosedProcessor_whenPublish_thenThrowsIllegalStateException() {
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .build();
+        processor.start();
+        processor.close();
+
+        assertThatThrownBy(() -> processor.publish(new TestStatefulObject(), EVENT))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Given the result handler throws an Error " +
+            "When call RingBufferEventProcessor.publish " +
+            "Then the processor is closed and the next publish throws IllegalStateException instead of waiting forever")
+    void givenResultHandlerThrowsError_whenPublish_thenThrowsIllegalStateException() {
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .bufferSize(4)
+                .resultHandler(result -> {
+                    throw new AssertionError("fail");
+                })
+                .threadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setUncaughtExceptionHandler((t, e) -> {
+                    });
+                    return thread;
+                })
+                .build();
+        processor.start();
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                processor.publish(statefulObject, EVENT);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        processor.close();
+    }
+
+    @Test
+    @DisplayName("Given the result handler throws a RuntimeException " +
+            "When call RingBufferEventProcessor.publish " +
+            "Then the failure is reported by the failure reporter and the next events are executed")
+    void givenResultHandlerThrowsRuntimeException_whenPublish_thenFailureIsReported() {
+        FailureReporter failureReporter = mock(FailureReporter.class);
+        Lifecycle<TestState, TestEvent> lifecycle = LifecycleImpl.<TestState, TestEvent>builder()
+                .name(LIFECYCLE_NAME)
+                .transitions(Set.of(
+                        new Transition<>(STATE, ANOTHER_STATE, EVENT, Set.of(), List.of()),
+                        new Transition<>(ANOTHER_STATE, STATE, EVENT, Set.of(), List.of())))
+                .build();
+        IllegalStateException exception = new IllegalStateException("handler failed");
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(LifecycleManagerImpl.<TestState, TestEvent>builder()
+                        .transitionProvider(new TransitionProviderImpl<>(Map.of(LIFECYCLE_NAME, lifecycle)))
+                        .failureReporter(failureReporter)
+                        .build())
+                .resultHandler(result -> {
+                    if (result.getTargetState() == ANOTHER_STATE) {
+                        throw exception;
+                    }
+                })
+                .build();
+        processor.start();
+        TestStatefulObject statefulObject = new TestStatefulObject();
+
+        processor.publish(statefulObject, EVENT);
+        processor.publish(statefulObject, EVENT);
+        processor.close();
+
+        verify(failureReporter).eventFailed(LIFECYCLE_NAME, EVENT, statefulObject.getId(), exception);
+        assertThat(statefulObject.getState()).isEqualTo(STATE);
+    }
+
+    @Test
+    @DisplayName("Given the calling thread is interrupted " +
+            "When call RingBufferEventProcessor.close " +
+            "Then returns and keeps the interrupt status")
+    void givenInterruptedThread_whenCallClose_thenKeepsInterruptStatus() {
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .build();
+        processor.start();
+
+        Thread.currentThread().interrupt();
+        processor.close();
+
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given buffer size is not a power of two " +
+            "When call RingBufferEventProcessor.Builder.build " +
+            "Then throws IllegalArgumentException")
+    void givenBufferSizeIsNotPowerOfTwo_whenBuild_thenThrowsIllegalArgumentException() {
+        RingBufferEventProcessor.Builder<TestState, TestEvent> builder = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .bufferSize(1000);
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given warmed up processor " +
+            "When call RingBufferEventProcessor.publish without variables " +
+            "Then the producer allocates nothing")
+    void givenWarmedUpProcessor_whenPublish_thenProducerAllocatesNothing() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        TestStatefulObject statefulObject = new TestStatefulObject();
+        RingBufferEventProcessor<TestState, TestEvent> processor = RingBufferEventProcessor.<TestState, TestEvent>builder()
+                .lifecycleManager(lifecycleManager)
+                .waitStrategy(WaitStrategy.YIELD)
+                .build();
+        processor.start();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < EVENTS; i++) {
+            processor.publish(statefulObject, EVENT);
+        }
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < EVENTS; i++) {
+            processor.publish(statefulObject, EVENT);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        processor.close();
+
+        // tolerates a few bytes allocated by the measurement itself, but not a single byte per event
+        assertThat(allocated).isLessThan(EVENTS);
+    }
+}
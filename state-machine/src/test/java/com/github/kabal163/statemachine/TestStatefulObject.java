@@ -0,0 +1,42 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.StatefulObject;
+
+import static com.github.kabal163.statemachine.TestState.STATE;
+
+public class TestStatefulObject implements StatefulObject<TestState> {
+
+    public static final String LIFECYCLE_NAME = "lifecycle";
+
+    private final String id;
+    private volatile TestState state = STATE;
+
+    public TestStatefulObject() {
+        this("id");
+    }
+
+    public TestStatefulObject(String id) {
+        this.id = id;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public TestState getState() {
+        return state;
+    }
+
+    @Override
+    public void setState(TestState state) {
+        this.state = state;
+    }
+
+    @Override
+    public String getLifecycleName() {
+        return LIFECYCLE_NAME;
+    }
+}
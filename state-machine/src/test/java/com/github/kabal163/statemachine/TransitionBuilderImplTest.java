@@ -1,6 +1,7 @@
 package com.github.kabal163.statemachine;
 
 import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
 import com.github.kabal163.statemachine.api.Condition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
@@ -30,6 +32,7 @@ class TransitionBuilderImplTest {
     //@formatted:off
     @Mock Action<TestState, TestEvent> action;
     @Mock Condition<TestState, TestEvent> condition;
+    @Mock AsyncAction<TestState, TestEvent> asyncAction;
     //@formatted:on
 
     @BeforeEach
@@ -266,6 +269,85 @@ class TransitionBuilderImplTest {
                 .isSortedAccordingTo(Comparator.comparingInt(expected::indexOf));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given conditions added with particular order " +
+            "When call TransitionBuilderImpl.buildTransitions " +
+            "Then returns transition with conditions which have the same order")
+    void givenConditionsAddedWithParticularOrder_whenCallBuildTransitions_thenReturnsTransitionWithConditionsWhichHaveTheSameOrder() {
+        final List<Condition<TestState, TestEvent>> expected = List.of(
+                Mockito.mock(Condition.class),
+                Mockito.mock(Condition.class),
+                Mockito.mock(Condition.class),
+                Mockito.mock(Condition.class),
+                Mockito.mock(Condition.class)
+        );
+
+        transitionBuilder
+                .with()
+                .sourceState(STATE)
+                .targetState(ANOTHER_STATE)
+                .event(EVENT);
+        expected.forEach(transitionBuilder::condition);
+
+        Set<Condition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions().stream()
+                .findFirst()
+                .orElseThrow()
+                .getConditions();
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given conditions added with cost " +
+            "When call TransitionBuilderImpl.buildTransitions " +
+            "Then returns transition with conditions sorted by cost and then by order of declaration")
+    void givenConditionsAddedWithCost_whenCallBuildTransitions_thenReturnsTransitionWithConditionsSortedByCost() {
+        Condition<TestState, TestEvent> expensive = Mockito.mock(Condition.class);
+        Condition<TestState, TestEvent> cheap = Mockito.mock(Condition.class);
+        Condition<TestState, TestEvent> anotherCheap = Mockito.mock(Condition.class);
+
+        transitionBuilder
+                .with()
+                .sourceState(STATE)
+                .targetState(ANOTHER_STATE)
+                .event(EVENT)
+                .condition(expensive, 100)
+                .condition(condition)
+                .condition(cheap, -1)
+                .condition(anotherCheap, -1);
+
+        Set<Condition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions().stream()
+                .findFirst()
+                .orElseThrow()
+                .getConditions();
+
+        assertThat(actual).containsExactly(cheap, anotherCheap, condition, expensive);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given transition configured with adaptive condition order " +
+            "When call TransitionBuilderImpl.buildTransitions " +
+            "Then returns transition with adaptive condition order")
+    void givenAdaptiveConditionOrder_whenCallBuildTransitions_thenReturnsTransitionWithAdaptiveConditionOrder() {
+        transitionBuilder
+                .with()
+                .sourceState(STATE)
+                .targetState(ANOTHER_STATE)
+                .event(EVENT)
+                .condition(condition)
+                .condition(Mockito.mock(Condition.class))
+                .adaptiveConditionOrder();
+
+        Transition<TestState, TestEvent> actual = transitionBuilder.buildTransitions().stream()
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(actual.isAdaptiveConditionOrder()).isTrue();
+    }
+
     @Test
     @DisplayName("Given forget to call method TransitionBuilderImpl.with before describing a transition " +
             "When call TransitionBuilderImpl.sourceState " +
@@ -341,6 +423,85 @@ class TransitionBuilderImplTest {
                 .hasMessageContaining("must not be null");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given action group between actions " +
+            "When call TransitionBuilderImpl.buildTransitions " +
+            "Then returns transition with the group as a single action in the order of declaration")
+    void givenActionGroupBetweenActions_whenCallBuildTransitions_thenReturnsTransitionWithGroupInOrder() {
+        Action<TestState, TestEvent> first = Mockito.mock(Action.class);
+        Action<TestState, TestEvent> last = Mockito.mock(Action.class);
+
+        transitionBuilder
+                .with()
+                .sourceState(STATE)
+                .targetState(ANOTHER_STATE)
+                .event(EVENT)
+                .action(first)
+                .actionGroup(Runnable::run, action, Mockito.mock(Action.class))
+                .action(last);
+
+        List<Action<TestState, TestEvent>> actual = transitionBuilder.buildTransitions().stream()
+                .findFirst()
+                .orElseThrow()
+                .getActions();
+
+        assertThat(actual).hasSize(3);
+        assertThat(actual.get(0)).isSameAs(first);
+        assertThat(actual.get(1)).isInstanceOf(ParallelActionGroup.class);
+        assertThat(((ParallelActionGroup<TestState, TestEvent>) actual.get(1)).getActions()).hasSize(2).startsWith(action);
+        assertThat(actual.get(2)).isSameAs(last);
+    }
+
+    @Test
+    @DisplayName("Given transition configured with timeout and action with timeout " +
+            "When call TransitionBuilderImpl.buildTransitions " +
+            "Then returns transition with the timeout and the time limited action")
+    void givenTimeouts_whenCallBuildTransitions_thenReturnsTransitionWithTimeouts() {
+        transitionBuilder
+                .with()
+                .sourceState(STATE)
+                .targetState(ANOTHER_STATE)
+                .event(EVENT)
+                .timeout(Duration.ofSeconds(1))
+                .action(asyncAction, Duration.ofMillis(100));
+
+        Transition<TestState, TestEvent> actual = transitionBuilder.buildTransitions().stream()
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(actual.getTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(actual.getActions()).singleElement().isInstanceOf(TimeLimitedAction.class);
+        assertThat(((TimeLimitedAction<TestState, TestEvent>) actual.getActions().get(0)).getAction()).isSameAs(asyncAction);
+    }
+
+    @Test
+    @DisplayName("Given synchronous action " +
+            "When call TransitionBuilderImpl.action with timeout " +
+            "Then throws IllegalArgumentException")
+    void givenSyncAction_whenCallActionWithTimeout_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> transitionBuilder.with().action(action, Duration.ofMillis(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given zero timeout " +
+            "When call TransitionBuilderImpl.timeout " +
+            "Then throws IllegalArgumentException")
+    void givenZeroTimeout_whenCallTimeout_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> transitionBuilder.with().timeout(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given no actions " +
+            "When call TransitionBuilderImpl.actionGroup " +
+            "Then throws IllegalArgumentException")
+    void givenNoActions_whenCallActionGroup_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> transitionBuilder.with().actionGroup(Runnable::run))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("Given action is null " +
             "When call TransitionBuilderImpl.action " +
@@ -0,0 +1,147 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
+import com.github.kabal163.statemachine.api.Condition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the default methods which keep the configurers implemented
+ * before the methods were added working
+ */
+class TransitionConfigurerTest {
+
+    TransitionBuilderImpl<TestState, TestEvent> transitionBuilder;
+    TransitionConfigurer<TestState, TestEvent> configurer;
+
+    @BeforeEach
+    void setUp() {
+        transitionBuilder = new TransitionBuilderImpl<>();
+        configurer = new LegacyConfigurer(transitionBuilder);
+    }
+
+    @Test
+    @DisplayName("Given configurer without the cost hints " +
+            "When call TransitionConfigurer.condition with the cost " +
+            "Then the condition is defined without the cost")
+    @SuppressWarnings("unchecked")
+    void givenConfigurerWithoutCost_whenCallConditionWithCost_thenConditionIsDefinedWithoutCost() {
+        Condition<TestState, TestEvent> condition = mock(Condition.class);
+
+        configurer.with().sourceState(STATE).targetState(ANOTHER_STATE).event(EVENT).condition(condition, 10);
+
+        Set<Transition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions();
+        assertThat(actual.iterator().next().getConditions()).containsExactly(condition);
+    }
+
+    @Test
+    @DisplayName("Given configurer without the adaptive condition order " +
+            "When call TransitionConfigurer.adaptiveConditionOrder " +
+            "Then the hint is ignored")
+    void givenConfigurerWithoutAdaptiveOrder_whenCallAdaptiveConditionOrder_thenHintIsIgnored() {
+        configurer.with().sourceState(STATE).targetState(ANOTHER_STATE).event(EVENT).adaptiveConditionOrder();
+
+        Set<Transition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions();
+        assertThat(actual.iterator().next().isAdaptiveConditionOrder()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given configurer without the action groups " +
+            "When call TransitionConfigurer.actionGroup " +
+            "Then the group is defined as a single action")
+    @SuppressWarnings("unchecked")
+    void givenConfigurerWithoutActionGroups_whenCallActionGroup_thenGroupIsDefinedAsAction() {
+        Action<TestState, TestEvent> first = mock(Action.class);
+        Action<TestState, TestEvent> second = mock(Action.class);
+
+        configurer.with().sourceState(STATE).targetState(ANOTHER_STATE).event(EVENT).actionGroup(Runnable::run, first, second);
+
+        Set<Transition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions();
+        assertThat(actual.iterator().next().getActions()).singleElement().isInstanceOf(ParallelActionGroup.class);
+    }
+
+    @Test
+    @DisplayName("Given configurer without the time limited actions " +
+            "When call TransitionConfigurer.action with timeout " +
+            "Then the time limited action is defined as a single action")
+    @SuppressWarnings("unchecked")
+    void givenConfigurerWithoutTimeLimitedActions_whenCallActionWithTimeout_thenActionIsDefined() {
+        AsyncAction<TestState, TestEvent> action = mock(AsyncAction.class);
+
+        configurer.with().sourceState(STATE).targetState(ANOTHER_STATE).event(EVENT).action(action, Duration.ofMillis(100));
+
+        Set<Transition<TestState, TestEvent>> actual = transitionBuilder.buildTransitions();
+        assertThat(actual.iterator().next().getActions()).singleElement().isInstanceOf(TimeLimitedAction.class);
+    }
+
+    @Test
+    @DisplayName("Given configurer without the transition timeout " +
+            "When call TransitionConfigurer.timeout " +
+            "Then throws UnsupportedOperationException")
+    void givenConfigurerWithoutTimeout_whenCallTimeout_thenThrowsUnsupportedOperationException() {
+        TransitionConfigurer<TestState, TestEvent> transition = configurer.with().sourceState(STATE);
+
+        assertThatThrownBy(() -> transition.timeout(Duration.ofSeconds(1)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    /**
+     * Implements only the methods which the configurer had from the beginning
+     */
+    static class LegacyConfigurer implements TransitionConfigurer<TestState, TestEvent> {
+
+        final TransitionConfigurer<TestState, TestEvent> delegate;
+
+        LegacyConfigurer(TransitionConfigurer<TestState, TestEvent> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> with() {
+            delegate.with();
+            return this;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> sourceState(TestState state) {
+            delegate.sourceState(state);
+            return this;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> targetState(TestState state) {
+            delegate.targetState(state);
+            return this;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> event(TestEvent event) {
+            delegate.event(event);
+            return this;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> condition(Condition<TestState, TestEvent> condition) {
+            delegate.condition(condition);
+            return this;
+        }
+
+        @Override
+        public TransitionConfigurer<TestState, TestEvent> action(Action<TestState, TestEvent> action) {
+            delegate.action(action);
+            return this;
+        }
+    }
+}
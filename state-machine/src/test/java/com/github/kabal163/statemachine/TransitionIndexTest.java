@@ -0,0 +1,122 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransitionIndexTest {
+
+    @Test
+    @DisplayName("Given enum states and events " +
+            "When call TransitionIndex.of " +
+            "Then returns EnumTransitionIndex")
+    void givenEnumStatesAndEvents_whenOf_thenReturnsEnumTransitionIndex() {
+        TransitionIndex<TestState, TestEvent> actual = TransitionIndex.of(Set.of(
+                transition(STATE, ANOTHER_STATE, EVENT)));
+
+        assertThat(actual).isInstanceOf(EnumTransitionIndex.class);
+    }
+
+    @Test
+    @DisplayName("Given string states and events " +
+            "When call TransitionIndex.of " +
+            "Then returns HashTransitionIndex")
+    void givenStringStatesAndEvents_whenOf_thenReturnsHashTransitionIndex() {
+        TransitionIndex<String, String> actual = TransitionIndex.of(Set.of(
+                transition("NEW", "APPROVED", "APPROVE")));
+
+        assertThat(actual).isInstanceOf(HashTransitionIndex.class);
+    }
+
+    @Test
+    @DisplayName("Given no transitions " +
+            "When call TransitionIndex.get " +
+            "Then returns null")
+    void givenNoTransitions_whenGet_thenReturnsNull() {
+        TransitionIndex<TestState, TestEvent> index = TransitionIndex.of(emptySet());
+
+        assertThat(index.get(STATE, EVENT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given enum states and events " +
+            "When call TransitionIndex.get " +
+            "Then returns transition matching source state and event")
+    void givenEnumStatesAndEvents_whenGet_thenReturnsMatchingTransition() {
+        Transition<TestState, TestEvent> first = transition(STATE, ANOTHER_STATE, EVENT);
+        Transition<TestState, TestEvent> second = transition(STATE, STATE, ANOTHER_EVENT);
+        TransitionIndex<TestState, TestEvent> index = TransitionIndex.of(Set.of(first, second));
+
+        assertThat(index.get(STATE, EVENT)).isSameAs(first);
+        assertThat(index.get(STATE, ANOTHER_EVENT)).isSameAs(second);
+        assertThat(index.get(ANOTHER_STATE, EVENT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given string states and events " +
+            "When call TransitionIndex.get " +
+            "Then returns transition matching source state and event")
+    void givenStringStatesAndEvents_whenGet_thenReturnsMatchingTransition() {
+        Transition<String, String> first = transition("NEW", "APPROVED", "APPROVE");
+        Transition<String, String> second = transition("NEW", "REJECTED", "REJECT");
+        TransitionIndex<String, String> index = TransitionIndex.of(Set.of(first, second));
+
+        assertThat(index.get("NEW", "APPROVE")).isSameAs(first);
+        assertThat(index.get("NEW", "REJECT")).isSameAs(second);
+        assertThat(index.get("APPROVED", "APPROVE")).isNull();
+    }
+
+    @Test
+    @DisplayName("Given state of another enum with the same ordinal " +
+            "When call EnumTransitionIndex.get " +
+            "Then returns null")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void givenStateOfAnotherEnum_whenGet_thenReturnsNull() {
+        TransitionIndex index = TransitionIndex.of(Set.of(transition(STATE, ANOTHER_STATE, EVENT)));
+
+        assertThat(index.get(EVENT, EVENT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given two enum transitions with same source state and event " +
+            "When call TransitionIndex.of " +
+            "Then throws AmbiguousTransitionException")
+    void givenTwoEnumTransitionsWithSameSourceStateAndEvent_whenOf_thenThrowsAmbiguousTransitionException() {
+        Set<Transition<TestState, TestEvent>> transitions = Set.of(
+                transition(STATE, ANOTHER_STATE, EVENT),
+                transition(STATE, STATE, EVENT));
+
+        assertThatThrownBy(() -> TransitionIndex.of(transitions))
+                .isInstanceOf(AmbiguousTransitionException.class)
+                .hasMessageContaining("more then one transition");
+    }
+
+    @Test
+    @DisplayName("Given two string transitions with same source state and event " +
+            "When call TransitionIndex.of " +
+            "Then throws AmbiguousTransitionException")
+    void givenTwoStringTransitionsWithSameSourceStateAndEvent_whenOf_thenThrowsAmbiguousTransitionException() {
+        Set<Transition<String, String>> transitions = Set.of(
+                transition("NEW", "APPROVED", "APPROVE"),
+                transition("NEW", "REJECTED", "APPROVE"));
+
+        assertThatThrownBy(() -> TransitionIndex.of(transitions))
+                .isInstanceOf(AmbiguousTransitionException.class)
+                .hasMessageContaining("more then one transition");
+    }
+
+    private static <S, E> Transition<S, E> transition(S source, S target, E event) {
+        return new Transition<>(source, target, event, emptySet(), emptyList());
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.kabal163.statemachine;
+
+import com.github.kabal163.statemachine.api.AsyncLifecycleManager;
+import com.github.kabal163.statemachine.api.StatefulObject;
+import com.github.kabal163.statemachine.api.TransitionRequest;
+import com.github.kabal163.statemachine.api.TransitionResult;
+import com.github.kabal163.statemachine.api.TransitionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
+import static com.github.kabal163.statemachine.TestState.STATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransitionProcessorTest {
+
+    static final int MAX_CONCURRENCY = 2;
+
+    @Mock
+    AsyncLifecycleManager<TestState, TestEvent> lifecycleManagerMock;
+
+    @Mock
+    Flow.Subscription subscriptionMock;
+
+    @Mock
+    StatefulObject<TestState> statefulObjectMock;
+
+    List<CompletableFuture<TransitionResult<TestState, TestEvent>>> futures;
+    CollectingSubscriber subscriber;
+
+    TransitionProcessor<TestState, TestEvent> processor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        futures = new ArrayList<>();
+        when(lifecycleManagerMock.tryExecute(any(), any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<TransitionResult<TestState, TestEvent>> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+
+        processor = new TransitionProcessor<>(lifecycleManagerMock, MAX_CONCURRENCY, Runnable::run);
+        subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        processor.onSubscribe(subscriptionMock);
+    }
+
+    @Test
+    @DisplayName("Given TransitionProcessor is subscribed " +
+            "When requests are in flight " +
+            "Then more requests are demanded only when the transitions finish")
+    void givenInFlightRequests_whenTransitionFinishes_thenOneMoreRequestIsDemanded() {
+        verify(subscriptionMock).request(MAX_CONCURRENCY);
+
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+        verify(subscriptionMock, never()).request(1);
+
+        futures.get(0).complete(succeeded());
+
+        verify(subscriptionMock).request(1);
+        assertThat(subscriber.results).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Given upstream completes while transitions are in flight " +
+            "When the transitions finish " +
+            "Then subscribers are completed after all results are published")
+    void givenUpstreamCompletes_whenInFlightTransitionsFinish_thenSubscribersAreCompleted() {
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+        processor.onComplete();
+        assertThat(subscriber.completed).isFalse();
+
+        futures.get(0).complete(succeeded());
+
+        assertThat(subscriber.results).hasSize(1);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given the execution fails unexpectedly " +
+            "When the transition finishes " +
+            "Then upstream is cancelled and subscribers receive the error")
+    void givenExecutionFails_whenTransitionFinishes_thenUpstreamIsCancelledAndErrorIsPublished() {
+        IllegalStateException exception = new IllegalStateException();
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+
+        futures.get(0).completeExceptionally(exception);
+
+        verify(subscriptionMock).cancel();
+        assertThat(subscriber.error).isSameAs(exception);
+    }
+
+    @Test
+    @DisplayName("Given upstream is connected before the subscriber " +
+            "When the subscriber subscribes " +
+            "Then nothing is requested from the upstream until the subscriber requests the results")
+    void givenUpstreamConnectedFirst_whenSubscriberSubscribes_thenUpstreamIsRequestedForDemand() {
+        Flow.Subscription upstream = mock(Flow.Subscription.class);
+        CollectingSubscriber lateSubscriber = new CollectingSubscriber(0);
+        processor = new TransitionProcessor<>(lifecycleManagerMock, MAX_CONCURRENCY, Runnable::run);
+
+        processor.onSubscribe(upstream);
+        processor.subscribe(lateSubscriber);
+        verify(upstream, never()).request(anyLong());
+
+        lateSubscriber.subscription.request(1);
+        verify(upstream).request(1);
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+        futures.get(0).complete(succeeded());
+
+        assertThat(lateSubscriber.results).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Given slow subscriber requesting one result at a time " +
+            "When the transitions finish " +
+            "Then the upstream is requested only for the outstanding demand of the subscriber")
+    void givenSlowSubscriber_whenTransitionsFinish_thenUpstreamIsRequestedOnlyForDemand() {
+        Flow.Subscription upstream = mock(Flow.Subscription.class);
+        CollectingSubscriber slowSubscriber = new CollectingSubscriber(1);
+        processor = new TransitionProcessor<>(lifecycleManagerMock, MAX_CONCURRENCY, Runnable::run);
+        processor.subscribe(slowSubscriber);
+        processor.onSubscribe(upstream);
+        verify(upstream).request(1);
+
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+        futures.get(0).complete(succeeded());
+
+        assertThat(slowSubscriber.results).hasSize(1);
+        verify(upstream, times(1)).request(anyLong());
+
+        slowSubscriber.subscription.request(1);
+
+        verify(upstream, times(2)).request(1);
+    }
+
+    @Test
+    @DisplayName("Given AsyncLifecycleManager.tryExecute throws an exception synchronously " +
+            "When call TransitionProcessor.onNext " +
+            "Then upstream is cancelled and the subscriber receives the error")
+    void givenTryExecuteThrows_whenCallOnNext_thenUpstreamIsCancelledAndErrorIsPublished() {
+        IllegalStateException exception = new IllegalStateException();
+        when(lifecycleManagerMock.tryExecute(any(), any(), any())).thenThrow(exception);
+
+        processor.onNext(TransitionRequest.of(statefulObjectMock, EVENT));
+
+        verify(subscriptionMock).cancel();
+        assertThat(subscriber.error).isSameAs(exception);
+    }
+
+    @Test
+    @DisplayName("Given TransitionProcessor has a subscriber " +
+            "When another subscriber subscribes " +
+            "Then the other subscriber receives IllegalStateException")
+    void givenSubscriber_whenAnotherSubscriberSubscribes_thenItReceivesError() {
+        CollectingSubscriber anotherSubscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        processor.subscribe(anotherSubscriber);
+
+        assertThat(anotherSubscriber.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static TransitionResult<TestState, TestEvent> succeeded() {
+        return new TransitionResult<>(TransitionStatus.OK, null, STATE, ANOTHER_STATE, null);
+    }
+
+    static class CollectingSubscriber implements Flow.Subscriber<TransitionResult<TestState, TestEvent>> {
+
+        final List<TransitionResult<TestState, TestEvent>> results = new ArrayList<>();
+        final long initialDemand;
+        volatile Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(TransitionResult<TestState, TestEvent> item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
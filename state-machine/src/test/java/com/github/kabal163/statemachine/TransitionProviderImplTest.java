@@ -5,8 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.github.kabal163.statemachine.api.LifecycleHandleAware;
 import com.github.kabal163.statemachine.api.StatefulObject;
-import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
 import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
 import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
 
@@ -16,8 +16,11 @@ import java.util.Set;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
@@ -44,6 +47,12 @@ class TransitionProviderImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
+        when(transition1.getSourceState()).thenReturn(STATE);
+        when(transition1.getEvent()).thenReturn(EVENT);
+        when(transition2.getSourceState()).thenReturn(ANOTHER_STATE);
+        when(transition2.getEvent()).thenReturn(EVENT);
+        when(transition3.getSourceState()).thenReturn(STATE);
+        when(transition3.getEvent()).thenReturn(EVENT);
         transitionProvider = new TransitionProviderImpl<>(getLifecycles());
     }
 
@@ -111,8 +120,6 @@ class TransitionProviderImplTest {
             "Then returns not null")
     void whenCallGetTransition_thenReturnsNotNull() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition1.getSourceState()).thenReturn(STATE);
-        when(transition1.getEvent()).thenReturn(EVENT);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_1);
         when(statefulObject.getState()).thenReturn(STATE);
 
@@ -127,8 +134,6 @@ class TransitionProviderImplTest {
             "Then throws TransitionNotFoundException")
     void givenNotMatchingSourceState_whenGetTransition_thenThrowsTransitionNotFoundException() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition3.getSourceState()).thenReturn(STATE);
-        when(transition3.getEvent()).thenReturn(EVENT);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
         when(statefulObject.getState()).thenReturn(ANOTHER_STATE);
 
@@ -143,8 +148,6 @@ class TransitionProviderImplTest {
             "Then throws TransitionNotFoundException")
     void givenNotMatchingEvent_whenGetTransition_thenThrowsTransitionNotFoundException() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition3.getSourceState()).thenReturn(STATE);
-        when(transition3.getEvent()).thenReturn(EVENT);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
         when(statefulObject.getState()).thenReturn(STATE);
 
@@ -154,21 +157,17 @@ class TransitionProviderImplTest {
     }
 
     @Test
-    @DisplayName("Given two transitions with same source state and event " +
+    @DisplayName("Given transitions with the same event but different source states " +
             "When call TransitionProviderImpl.getTransition " +
-            "Then throws AmbiguousTransitionException")
-    void givenTwoTransitionsWithSameSourceStateAndEvent_whenGetTransition_thenThrowsAmbiguousTransitionException() {
+            "Then returns the transition matching the source state")
+    void givenTransitionsWithSameEventButDifferentSourceStates_whenGetTransition_thenReturnsTransitionMatchingSourceState() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition1.getSourceState()).thenReturn(STATE);
-        when(transition1.getEvent()).thenReturn(EVENT);
-        when(transition2.getSourceState()).thenReturn(STATE);
-        when(transition2.getEvent()).thenReturn(EVENT);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_1);
-        when(statefulObject.getState()).thenReturn(STATE);
+        when(statefulObject.getState()).thenReturn(ANOTHER_STATE);
 
-        assertThatThrownBy(() -> transitionProvider.getTransition(statefulObject, EVENT))
-                .isInstanceOf(AmbiguousTransitionException.class)
-                .hasMessageContaining("more then one transition");
+        Transition<TestState, TestEvent> actual = transitionProvider.getTransition(statefulObject, EVENT);
+
+        assertThat(actual).isSameAs(transition2);
     }
 
     @Test
@@ -176,8 +175,6 @@ class TransitionProviderImplTest {
             "Then StatefulObject.getState must be call at least once")
     void whenGetTransition_thenStatefulObject$getStateMustBeCalledAtLeastOnce() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition1.getSourceState()).thenReturn(STATE);
-        when(transition1.getEvent()).thenReturn(EVENT);
         when(statefulObject.getState()).thenReturn(STATE);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_1);
 
@@ -191,8 +188,6 @@ class TransitionProviderImplTest {
             "Then StatefulObject.getLifecycleName must be call at least once")
     void whenGetTransition_thenStatefulObject$getLifecycleNameMustBeCalledAtLeastOnce() {
         StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
-        when(transition1.getSourceState()).thenReturn(STATE);
-        when(transition1.getEvent()).thenReturn(EVENT);
         when(statefulObject.getState()).thenReturn(STATE);
         when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_1);
 
@@ -201,6 +196,136 @@ class TransitionProviderImplTest {
         verify(statefulObject, atLeastOnce()).getLifecycleName();
     }
 
+    @Test
+    @DisplayName("When call TransitionProviderImpl.getLifecycleHandle " +
+            "Then returns handle with the lifecycle name")
+    void whenGetLifecycleHandle_thenReturnsHandleWithLifecycleName() {
+        LifecycleHandle actual = transitionProvider.getLifecycleHandle(LIFECYCLE_NAME_1);
+
+        assertThat(actual.getName()).isEqualTo(LIFECYCLE_NAME_1);
+    }
+
+    @Test
+    @DisplayName("Given non existent lifecycle name " +
+            "When call TransitionProviderImpl.getLifecycleHandle " +
+            "Then throws LifecycleNotFoundException")
+    void givenNonExistentLifecycleName_whenGetLifecycleHandle_thenThrowsLifecycleNotFoundException() {
+        assertThatThrownBy(() -> transitionProvider.getLifecycleHandle("nonExistent"))
+                .isInstanceOf(LifecycleNotFoundException.class)
+                .hasMessageContaining("There is no such lifecycle");
+    }
+
+    @Test
+    @DisplayName("Given a provider implemented without the lifecycle handles " +
+            "When call TransitionProvider.getLifecycleHandle " +
+            "Then throws UnsupportedOperationException")
+    void givenProviderWithoutHandles_whenGetLifecycleHandle_thenThrowsUnsupportedOperationException() {
+        TransitionProvider<TestState, TestEvent> provider = new TransitionProvider<>() {
+            @Override
+            public Transition<TestState, TestEvent> getTransition(StatefulObject<TestState> statefulObject, TestEvent event) {
+                return transition1;
+            }
+
+            @Override
+            public Lifecycle<TestState, TestEvent> findLifecycle(StatefulObject<TestState> statefulObject) {
+                return null;
+            }
+        };
+
+        assertThatThrownBy(() -> provider.getLifecycleHandle(LIFECYCLE_NAME_1))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Given LifecycleHandleAware without cached handle " +
+            "When call TransitionProviderImpl.getTransition " +
+            "Then the resolved handle is cached in the stateful object")
+    void givenLifecycleHandleAwareWithoutHandle_whenGetTransition_thenHandleIsCached() {
+        LifecycleHandleAware<TestState> statefulObject = mock(LifecycleHandleAware.class);
+        when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
+        when(statefulObject.getState()).thenReturn(STATE);
+
+        transitionProvider.getTransition(statefulObject, EVENT);
+
+        verify(statefulObject, times(1)).setLifecycleHandle(transitionProvider.getLifecycleHandle(LIFECYCLE_NAME_2));
+    }
+
+    @Test
+    @DisplayName("Given LifecycleHandleAware with cached handle " +
+            "When call TransitionProviderImpl.getTransition " +
+            "Then the lifecycle name is not resolved")
+    void givenLifecycleHandleAwareWithHandle_whenGetTransition_thenLifecycleNameIsNotResolved() {
+        LifecycleHandleAware<TestState> statefulObject = mock(LifecycleHandleAware.class);
+        when(statefulObject.getLifecycleHandle()).thenReturn(transitionProvider.getLifecycleHandle(LIFECYCLE_NAME_2));
+        when(statefulObject.getState()).thenReturn(STATE);
+
+        Transition<TestState, TestEvent> actual = transitionProvider.getTransition(statefulObject, EVENT);
+
+        assertThat(actual).isSameAs(transition3);
+        verify(statefulObject, never()).getLifecycleName();
+        verify(statefulObject, never()).setLifecycleHandle(any());
+    }
+
+    @Test
+    @DisplayName("Given LifecycleHandleAware with handle issued by another provider " +
+            "When call TransitionProviderImpl.getTransition " +
+            "Then the handle is resolved again by the lifecycle name")
+    void givenLifecycleHandleAwareWithForeignHandle_whenGetTransition_thenHandleIsResolvedByName() {
+        TransitionProviderImpl<TestState, TestEvent> anotherProvider = new TransitionProviderImpl<>(getLifecycles());
+        LifecycleHandleAware<TestState> statefulObject = mock(LifecycleHandleAware.class);
+        when(statefulObject.getLifecycleHandle()).thenReturn(anotherProvider.getLifecycleHandle(LIFECYCLE_NAME_1));
+        when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
+        when(statefulObject.getState()).thenReturn(STATE);
+
+        Transition<TestState, TestEvent> actual = transitionProvider.getTransition(statefulObject, EVENT);
+
+        assertThat(actual).isSameAs(transition3);
+        verify(statefulObject, times(1)).setLifecycleHandle(transitionProvider.getLifecycleHandle(LIFECYCLE_NAME_2));
+    }
+
+    @Test
+    @DisplayName("Given StatefulObject returns non existent lifecycle name " +
+            "When call TransitionProviderImpl.findLifecycle " +
+            "Then returns null")
+    void givenNonExistentLifecycleName_whenFindLifecycle_thenReturnsNull() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getLifecycleName()).thenReturn("nonExistent");
+
+        assertThat(transitionProvider.findLifecycle(statefulObject)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given StatefulObject returns existent lifecycle name " +
+            "When call TransitionProviderImpl.findLifecycle " +
+            "Then returns the lifecycle")
+    void givenExistentLifecycleName_whenFindLifecycle_thenReturnsLifecycle() {
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
+
+        Lifecycle<TestState, TestEvent> actual = transitionProvider.findLifecycle(statefulObject);
+
+        assertThat(actual).isNotNull();
+        assertThat(actual.getName()).isEqualTo(LIFECYCLE_NAME_2);
+    }
+
+    @Test
+    @DisplayName("Given TransitionProviderImpl with stackless exceptions " +
+            "When call TransitionProviderImpl.getTransition with not matching event " +
+            "Then throws TransitionNotFoundException without stack trace")
+    void givenStacklessExceptions_whenGetTransitionWithNotMatchingEvent_thenThrowsTransitionNotFoundExceptionWithoutStackTrace() {
+        TransitionProviderImpl<TestState, TestEvent> stacklessProvider = TransitionProviderImpl.<TestState, TestEvent>builder()
+                .lifecycles(getLifecycles())
+                .stacklessExceptions(true)
+                .build();
+        StatefulObject<TestState> statefulObject = mock(StatefulObject.class);
+        when(statefulObject.getLifecycleName()).thenReturn(LIFECYCLE_NAME_2);
+        when(statefulObject.getState()).thenReturn(STATE);
+
+        assertThatThrownBy(() -> stacklessProvider.getTransition(statefulObject, ANOTHER_EVENT))
+                .isInstanceOf(TransitionNotFoundException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
     private Map<String, Lifecycle<TestState, TestEvent>> getLifecycles() {
         Lifecycle<TestState, TestEvent> lifecycle1 = LifecycleImpl.<TestState, TestEvent>builder()
                 .name(LIFECYCLE_NAME_1)
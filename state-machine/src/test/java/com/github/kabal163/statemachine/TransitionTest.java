@@ -1,18 +1,23 @@
 package com.github.kabal163.statemachine;
 
 import com.github.kabal163.statemachine.api.Action;
+import com.github.kabal163.statemachine.api.AsyncAction;
 import com.github.kabal163.statemachine.api.Condition;
 import com.github.kabal163.statemachine.api.StateContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static com.github.kabal163.statemachine.TestEvent.EVENT;
 import static com.github.kabal163.statemachine.TestState.ANOTHER_STATE;
@@ -22,6 +27,8 @@ import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 class TransitionTest {
 
@@ -196,4 +203,95 @@ class TransitionTest {
         assertThat(actual)
                 .isSortedAccordingTo(Comparator.comparingInt(expected::indexOf));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given multiple conditions " +
+            "When call Transition.transit " +
+            "Then evaluates conditions in the initial order until the first rejection")
+    void givenMultipleConditions_whenCallTransit_thenEvaluatesConditionsInInitialOrderUntilFirstRejection() {
+        Condition<TestState, TestEvent> notEvaluatedCondition = Mockito.mock(Condition.class);
+        Set<Condition<TestState, TestEvent>> conditions = new LinkedHashSet<>(List.of(
+                successCondition,
+                failedCondition,
+                notEvaluatedCondition));
+        Transition<TestState, TestEvent> transition = new Transition<>(
+                anySourceState,
+                anyTargetState,
+                anyEvent,
+                conditions,
+                List.of(firstAction));
+
+        boolean actual = transition.transit(context);
+
+        assertThat(actual).isFalse();
+        InOrder inOrder = Mockito.inOrder(successCondition, failedCondition);
+        inOrder.verify(successCondition).evaluate(context);
+        inOrder.verify(failedCondition).evaluate(context);
+        Mockito.verify(notEvaluatedCondition, Mockito.never()).evaluate(context);
+        assertThat(transition.getConditions()).containsExactlyElementsOf(conditions);
+    }
+
+    @Test
+    @DisplayName("Given async action is not done " +
+            "When call Transition.transitAsync " +
+            "Then the next action is executed only when the stage of the async action completes")
+    void givenAsyncActionIsNotDone_whenCallTransitAsync_thenNextActionWaitsForStage() throws Exception {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> stage;
+        Transition<TestState, TestEvent> transition = new Transition<>(anySourceState, anyTargetState, anyEvent,
+                Set.of(successCondition), List.of(firstAction, asyncAction, secondAction));
+
+        CompletableFuture<Boolean> actual = transition.transitAsync(context);
+
+        assertThat(actual).isNotDone();
+        verify(firstAction).execute(context);
+        verify(secondAction, never()).execute(any());
+
+        stage.complete(null);
+
+        assertThat(actual.get()).isTrue();
+        verify(secondAction).execute(context);
+    }
+
+    @Test
+    @DisplayName("Given stage of async action fails " +
+            "When call Transition.transitAsync " +
+            "Then the future is completed exceptionally and the next actions are not executed")
+    void givenAsyncActionFails_whenCallTransitAsync_thenFutureIsCompletedExceptionally() {
+        IllegalStateException exception = new IllegalStateException();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> CompletableFuture.failedFuture(exception);
+        Transition<TestState, TestEvent> transition = new Transition<>(anySourceState, anyTargetState, anyEvent,
+                emptySet(), List.of(asyncAction, secondAction));
+
+        CompletableFuture<Boolean> actual = transition.transitAsync(context);
+
+        assertThatThrownBy(actual::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(exception);
+        verify(secondAction, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Given condition is not met " +
+            "When call Transition.transitAsync " +
+            "Then the future is completed with false and no action is executed")
+    void givenConditionIsNotMet_whenCallTransitAsync_thenFutureIsCompletedWithFalse() throws Exception {
+        Transition<TestState, TestEvent> transition = new Transition<>(anySourceState, anyTargetState, anyEvent,
+                Set.of(failedCondition), List.of(firstAction));
+
+        assertThat(transition.transitAsync(context).get()).isFalse();
+        verify(firstAction, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Given stage of async action fails " +
+            "When call AsyncAction.execute " +
+            "Then throws the exception of the stage")
+    void givenAsyncActionFails_whenCallExecute_thenThrowsExceptionOfStage() {
+        IllegalStateException exception = new IllegalStateException();
+        AsyncAction<TestState, TestEvent> asyncAction = context -> CompletableFuture.failedFuture(exception);
+
+        assertThatThrownBy(() -> asyncAction.execute(context)).isSameAs(exception);
+    }
+}
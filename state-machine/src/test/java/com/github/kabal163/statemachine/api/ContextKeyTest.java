@@ -0,0 +1,55 @@
+package com.github.kabal163.statemachine.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContextKeyTest {
+
+    @Test
+    @DisplayName("Given key is registered " +
+            "When call ContextKey.of with the same name and type " +
+            "Then returns the same key")
+    void givenRegisteredKey_whenCallOfWithSameNameAndType_thenReturnsSameKey() {
+        ContextKey<String> expected = ContextKey.of("contextKeyTest.same", String.class);
+
+        ContextKey<String> actual = ContextKey.of("contextKeyTest.same", String.class);
+
+        assertThat(actual).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Given two keys with different names " +
+            "When call ContextKey.of " +
+            "Then keys have different slots")
+    void givenDifferentNames_whenCallOf_thenKeysHaveDifferentSlots() {
+        ContextKey<String> first = ContextKey.of("contextKeyTest.first", String.class);
+        ContextKey<String> second = ContextKey.of("contextKeyTest.second", String.class);
+
+        assertThat(first.getSlot()).isNotEqualTo(second.getSlot());
+    }
+
+    @Test
+    @DisplayName("Given key is registered " +
+            "When call ContextKey.of with the same name and another type " +
+            "Then throws IllegalArgumentException")
+    void givenRegisteredKey_whenCallOfWithAnotherType_thenThrowsIllegalArgumentException() {
+        ContextKey.of("contextKeyTest.type", String.class);
+
+        assertThatThrownBy(() -> ContextKey.of("contextKeyTest.type", Integer.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is already registered");
+    }
+
+    @Test
+    @DisplayName("Given name is null " +
+            "When call ContextKey.of " +
+            "Then throws NullPointerException")
+    void givenNameIsNull_whenCallOf_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> ContextKey.of(null, String.class))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("must not be null");
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.kabal163.statemachine.api;
+
+import com.github.kabal163.statemachine.TestEvent;
+import com.github.kabal163.statemachine.TestState;
+import com.github.kabal163.statemachine.exception.AmbiguousTransitionException;
+import com.github.kabal163.statemachine.exception.LifecycleNotFoundException;
+import com.github.kabal163.statemachine.exception.TransitionNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.github.kabal163.statemachine.TestEvent.EVENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the default methods which keep the lifecycle managers implemented
+ * before the methods were added working
+ */
+class LifecycleManagerTest {
+
+    @Mock
+    StatefulObject<TestState> statefulObject;
+
+    LegacyLifecycleManager lifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        lifecycleManager = new LegacyLifecycleManager();
+    }
+
+    @Test
+    @DisplayName("Given execute returns the result " +
+            "When call LifecycleManager.tryExecute " +
+            "Then returns the same result")
+    @SuppressWarnings("unchecked")
+    void givenExecuteReturnsResult_whenCallTryExecute_thenReturnsTheSameResult() {
+        TransitionResult<TestState, TestEvent> expected = mock(TransitionResult.class);
+        lifecycleManager.result = expected;
+
+        assertThat(lifecycleManager.tryExecute(statefulObject, EVENT)).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Given execute throws the lookup exceptions " +
+            "When call LifecycleManager.tryExecute " +
+            "Then returns the miss results with the corresponding statuses")
+    void givenExecuteThrowsLookupExceptions_whenCallTryExecute_thenReturnsMissResults() {
+        lifecycleManager.exception = new LifecycleNotFoundException("No lifecycle");
+        assertThat(lifecycleManager.tryExecute(statefulObject, EVENT).getStatus()).isEqualTo(TransitionStatus.NO_LIFECYCLE);
+
+        lifecycleManager.exception = new TransitionNotFoundException("No transition");
+        assertThat(lifecycleManager.tryExecute(statefulObject, EVENT).getStatus()).isEqualTo(TransitionStatus.NO_TRANSITION);
+
+        lifecycleManager.exception = new AmbiguousTransitionException("Ambiguous transition");
+        assertThat(lifecycleManager.tryExecute(statefulObject, EVENT).getStatus()).isEqualTo(TransitionStatus.AMBIGUOUS);
+    }
+
+    @Test
+    @DisplayName("Given execute throws other exception " +
+            "When call LifecycleManager.tryExecute " +
+            "Then throws the same exception")
+    void givenExecuteThrowsOtherException_whenCallTryExecute_thenThrowsTheSameException() {
+        IllegalStateException expected = new IllegalStateException("failed");
+        lifecycleManager.exception = expected;
+
+        assertThatThrownBy(() -> lifecycleManager.tryExecute(statefulObject, EVENT)).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Given several stateful objects " +
+            "When call LifecycleManager.executeAll " +
+            "Then executes each of them and passes the results to the consumer")
+    @SuppressWarnings("unchecked")
+    void givenSeveralStatefulObjects_whenCallExecuteAll_thenExecutesEachOfThem() {
+        StatefulObject<TestState> anotherStatefulObject = mock(StatefulObject.class);
+        lifecycleManager.result = mock(TransitionResult.class);
+        List<TransitionResult<TestState, TestEvent>> results = new ArrayList<>();
+
+        lifecycleManager.executeAll(List.of(statefulObject, anotherStatefulObject), EVENT, Map.of(), results::add);
+
+        assertThat(lifecycleManager.executed).containsExactly(statefulObject, anotherStatefulObject);
+        assertThat(results).containsExactly(lifecycleManager.result, lifecycleManager.result);
+    }
+
+    @Test
+    @DisplayName("Given several stateful objects " +
+            "When call LifecycleManager.executeAllLazily " +
+            "Then executes each of them only when the next result is requested")
+    @SuppressWarnings("unchecked")
+    void givenSeveralStatefulObjects_whenCallExecuteAllLazily_thenExecutesOnRequest() {
+        StatefulObject<TestState> anotherStatefulObject = mock(StatefulObject.class);
+        lifecycleManager.result = mock(TransitionResult.class);
+
+        Iterator<TransitionResult<TestState, TestEvent>> actual =
+                lifecycleManager.executeAllLazily(List.of(statefulObject, anotherStatefulObject), EVENT, Map.of());
+
+        assertThat(lifecycleManager.executed).isEmpty();
+        assertThat(actual.next()).isSameAs(lifecycleManager.result);
+        assertThat(lifecycleManager.executed).containsExactly(statefulObject);
+        actual.next();
+        assertThat(actual.hasNext()).isFalse();
+        assertThatThrownBy(actual::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    /**
+     * Implements only the methods which the lifecycle manager had from the beginning
+     */
+    static class LegacyLifecycleManager implements LifecycleManager<TestState, TestEvent> {
+
+        TransitionResult<TestState, TestEvent> result;
+        RuntimeException exception;
+        List<StatefulObject<TestState>> executed = new ArrayList<>();
+
+        @Override
+        public TransitionResult<TestState, TestEvent> execute(StatefulObject<TestState> statefulObject, TestEvent event) {
+            return execute(statefulObject, event, Map.of());
+        }
+
+        @Override
+        public TransitionResult<TestState, TestEvent> execute(StatefulObject<TestState> statefulObject,
+                                                              TestEvent event,
+                                                              Map<String, Object> variables) {
+            executed.add(statefulObject);
+            if (exception != null) {
+                throw exception;
+            }
+            return result;
+        }
+    }
+}
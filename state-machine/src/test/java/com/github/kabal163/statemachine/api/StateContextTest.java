@@ -10,11 +10,13 @@ import com.github.kabal163.statemachine.TestEvent;
 import com.github.kabal163.statemachine.TestState;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static com.github.kabal163.statemachine.TestEvent.ANOTHER_EVENT;
 import static com.github.kabal163.statemachine.TestEvent.EVENT;
 
 class StateContextTest {
@@ -134,4 +136,155 @@ class StateContextTest {
                 .isInstanceOf(expected.getClass())
                 .hasMessageContaining(expected.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given variable is put by ContextKey " +
+            "When call StateContext.get with the key and with its name " +
+            "Then returns the variable")
+    void givenVariablePutByContextKey_whenCallGetVariable_thenReturnsVariable() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.typed", String.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+        context.put(key, "value");
+
+        assertThat(context.get(key)).isEqualTo("value");
+        assertThat(context.getVariable(key.getName(), String.class)).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Given variable is passed in the map by the name of ContextKey " +
+            "When call StateContext.get with the key " +
+            "Then returns the variable")
+    void givenVariablePassedByNameOfContextKey_whenCallGetVariableWithKey_thenReturnsVariable() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.map", String.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, singletonMap(key.getName(), "value"));
+
+        assertThat(context.get(key)).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Given variable is put by ContextKey " +
+            "When call StateContext.putVariable with the name of the key " +
+            "Then the key returns the new variable")
+    void givenVariablePutByContextKey_whenCallPutVariableWithName_thenKeyReturnsNewVariable() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.overwrite", String.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+        context.put(key, "value");
+        context.putVariable(key.getName(), "newValue");
+
+        assertThat(context.get(key)).isEqualTo("newValue");
+    }
+
+    @Test
+    @DisplayName("Given variable of another type is passed by the name of ContextKey " +
+            "When call StateContext.get with the key " +
+            "Then throws IllegalArgumentException")
+    void givenVariableOfAnotherType_whenCallGetVariableWithKey_thenThrowsIllegalArgumentException() {
+        ContextKey<Integer> key = ContextKey.of("stateContextTest.wrongType", Integer.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, singletonMap(key.getName(), "value"));
+
+        assertThatThrownBy(() -> context.get(key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Incorrect type specified for variable");
+    }
+
+    @Test
+    @DisplayName("Given key doesn't exist in StateContext " +
+            "When call StateContext.getOrElseThrow " +
+            "Then throws ContextVariableNotFoundException")
+    void givenKeyDoesntExistInStateContext_whenCallGetVariableOrElseThrowWithKey_thenThrowsContextVariableNotFoundException() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.absent", String.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+
+        assertThatThrownBy(() -> context.getOrElseThrow(key))
+                .isInstanceOf(ContextVariableNotFoundException.class)
+                .hasMessageContaining(key.getName());
+    }
+
+    @Test
+    @DisplayName("Given variable is put by ContextKey " +
+            "When call StateContext.reset " +
+            "Then the variable is removed")
+    void givenVariablePutByContextKey_whenCallReset_thenVariableIsRemoved() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.reset", String.class);
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+        context.put(key, "value");
+
+        context.reset(statefulObject, EVENT, emptyMap());
+
+        assertThat(context.get(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given StateContext is created with map of variables " +
+            "When call StateContext.putVariable " +
+            "Then the variable shadows the passed one and the passed map is not modified")
+    void givenMapOfVariables_whenCallPutVariable_thenVariableShadowsPassedOneAndMapIsNotModified() {
+        Map<String, Object> variables = Map.of("key", "value", "anotherKey", "anotherValue");
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, variables);
+
+        context.putVariable("key", "newValue");
+
+        assertThat(context.getVariable("key", String.class)).isEqualTo("newValue");
+        assertThat(context.getVariable("anotherKey", String.class)).isEqualTo("anotherValue");
+        assertThat(variables).containsEntry("key", "value");
+    }
+
+    @Test
+    @DisplayName("Given variable is put to StateContext " +
+            "When call StateContext.reset " +
+            "Then the context contains only the new variables")
+    void givenVariableIsPut_whenCallReset_thenContextContainsOnlyNewVariables() {
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, singletonMap("key", "value"));
+        context.putVariable("anotherKey", "anotherValue");
+
+        context.reset(statefulObject, EVENT, singletonMap("key", "newValue"));
+
+        assertThat(context.getVariable("key", String.class)).isEqualTo("newValue");
+        assertThat(context.getVariable("anotherKey", String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given events are posted to StateContext " +
+            "When call StateContext.pollPostedEvent " +
+            "Then returns the events in the order of posting and makes them the event of the context")
+    void givenPostedEvents_whenCallPollPostedEvent_thenReturnsEventsInOrder() {
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+        context.postEvent(ANOTHER_EVENT);
+        context.postEvent(EVENT);
+
+        assertThat(context.pollPostedEvent()).isEqualTo(ANOTHER_EVENT);
+        assertThat(context.getEvent()).isEqualTo(ANOTHER_EVENT);
+        assertThat(context.pollPostedEvent()).isEqualTo(EVENT);
+        assertThat(context.pollPostedEvent()).isNull();
+        assertThat(context.getEvent()).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Given event is posted to StateContext " +
+            "When call StateContext.reset " +
+            "Then the posted event is discarded")
+    void givenPostedEvent_whenCallReset_thenPostedEventIsDiscarded() {
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, emptyMap());
+        context.postEvent(ANOTHER_EVENT);
+
+        context.reset(statefulObject, EVENT, emptyMap());
+
+        assertThat(context.pollPostedEvent()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given variable is read by the context key " +
+            "When call StateContext.get again after the map of variables is changed " +
+            "Then returns the new value because the read doesn't modify the context")
+    void givenVariableReadByContextKey_whenCallGetAgain_thenReadIsNotCached() {
+        ContextKey<String> key = ContextKey.of("stateContextTest.notCached", String.class);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(key.getName(), "first");
+        StateContext<TestState, TestEvent> context = new StateContext<>(statefulObject, EVENT, variables);
+
+        assertThat(context.get(key)).isEqualTo("first");
+        variables.put(key.getName(), "second");
+
+        assertThat(context.get(key)).isEqualTo("second");
+    }
+}